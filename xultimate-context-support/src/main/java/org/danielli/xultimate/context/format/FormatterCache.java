@@ -0,0 +1,108 @@
+package org.danielli.xultimate.context.format;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.EvictionListener;
+
+/**
+ * 格式化器缓存。缓存模板源（或调用方指定的ID）对应的编译结果，超过最大个数后按LRU淘汰，并统计命中率。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ *
+ * @param <V> 编译结果，如模板、表达式。
+ */
+public class FormatterCache<V> {
+
+	private final ConcurrentLinkedHashMap<String, V> cache;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * 创建实例。
+	 *
+	 * @param maxSize 最大缓存个数。
+	 */
+	public FormatterCache(int maxSize) {
+		this.cache = new ConcurrentLinkedHashMap.Builder<String, V>().maximumWeightedCapacity(maxSize).listener(new EvictionListener<String, V>() {
+			@Override
+			public void onEviction(String key, V value) {
+				evictionCount.incrementAndGet();
+			}
+		}).build();
+	}
+
+	/**
+	 * 获取缓存的编译结果。
+	 *
+	 * @param key 模板源或调用方指定的ID。
+	 * @return 编译结果，不存在返回null。
+	 */
+	public V get(String key) {
+		V value = cache.get(key);
+		if (value == null) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return value;
+	}
+
+	/**
+	 * 缓存编译结果，已存在时返回已有的编译结果。
+	 *
+	 * @param key 模板源或调用方指定的ID。
+	 * @param value 编译结果。
+	 * @return 缓存中的编译结果。
+	 */
+	public V put(String key, V value) {
+		V previousValue = cache.putIfAbsent(key, value);
+		return previousValue == null ? value : previousValue;
+	}
+
+	/**
+	 * 移除缓存。
+	 *
+	 * @param key 模板源或调用方指定的ID。
+	 */
+	public void remove(String key) {
+		cache.remove(key);
+	}
+
+	/**
+	 * 清空缓存。
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	/**
+	 * 获取命中率。
+	 */
+	public double getHitRate() {
+		long hitCount = getHitCount();
+		long requestCount = hitCount + getMissCount();
+		return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+	}
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.danielli.xultimate.context.format.FormatException;
 import org.danielli.xultimate.context.format.Formatter;
+import org.danielli.xultimate.context.format.FormatterCache;
 import org.danielli.xultimate.ui.freemarker.FreeMarkerTemplateUtils;
 import org.danielli.xultimate.util.io.IOUtils;
 
@@ -12,7 +13,7 @@ import freemarker.template.Configuration;
 import freemarker.template.Template;
 
 /**
- * 格式化器。是FreeMarker的实现。
+ * 格式化器。是FreeMarker的实现。编译后的模板按模板源（或调用方指定的ID）缓存，缓存个数通过{@link #setCacheSize(int)}设置。
  * 
  * @author Daniel Li
  * @since 18 Jun 2013
@@ -26,26 +27,78 @@ public class FreeMarkerTemplateFormatter implements Formatter<String, Map<String
 	private Configuration configuration;
 	/** 模板名称 */
 	private static final String TMP_TEMPLATE_NAME = "tmp_template";
+	/** 模板缓存，为null时不缓存 */
+	private FormatterCache<Template> templateCache = new FormatterCache<>(1000);
 	
 	@Override
 	public String format(String source, Map<String, ? extends Object> parameter) throws FormatException {
-		StringReader reader = new StringReader(source);
+		return format(source, source, parameter);
+	}
+
+	/**
+	 * 格式化，编译后的模板以templateId为KEY缓存。
+	 *
+	 * @param templateId 模板ID，同一ID需对应同一模板源。
+	 * @param source 模板源。
+	 * @param parameter 模板参数。
+	 * @return 格式化结果。
+	 * @throws FormatException 格式化异常。
+	 */
+	public String format(String templateId, String source, Map<String, ? extends Object> parameter) throws FormatException {
 		try {
-			Template template = new Template(TMP_TEMPLATE_NAME, reader, configuration);
+			Template template = getTemplate(templateId, source);
 	    	return FreeMarkerTemplateUtils.processTemplateIntoString(template, parameter);
+		} catch (FormatException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new FormatException(e.getMessage(), e);
-		} finally {
-			IOUtils.closeQuietly(reader);
 		}
 	}
 
+	private Template getTemplate(String templateId, String source) throws Exception {
+		FormatterCache<Template> templateCache = this.templateCache;
+		Template template = (templateCache == null) ? null : templateCache.get(templateId);
+		if (template == null) {
+			StringReader reader = new StringReader(source);
+			try {
+				template = new Template(TMP_TEMPLATE_NAME, reader, configuration);
+			} finally {
+				IOUtils.closeQuietly(reader);
+			}
+			if (templateCache != null) {
+				template = templateCache.put(templateId, template);
+			}
+		}
+		return template;
+	}
+
 	/**
 	 * 设置FreeMarker配置器
-	 * 
+	 *
 	 * @param configuration FreeMarker配置器
 	 */
 	public void setConfiguration(Configuration configuration) {
 		this.configuration = configuration;
+		if (this.templateCache != null) {
+			this.templateCache.clear();
+		}
+	}
+
+	/**
+	 * 设置模板缓存个数，默认1000，小于等于0时不缓存。
+	 *
+	 * @param cacheSize 模板缓存个数。
+	 */
+	public void setCacheSize(int cacheSize) {
+		this.templateCache = (cacheSize > 0) ? new FormatterCache<Template>(cacheSize) : null;
+	}
+
+	/**
+	 * 获取模板缓存，用于查看命中率等统计信息。
+	 *
+	 * @return 模板缓存，不缓存时返回null。
+	 */
+	public FormatterCache<Template> getTemplateCache() {
+		return templateCache;
 	}
 }
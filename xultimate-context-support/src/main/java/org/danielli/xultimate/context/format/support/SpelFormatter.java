@@ -4,6 +4,7 @@ import java.util.Map;
 
 import org.danielli.xultimate.context.format.FormatException;
 import org.danielli.xultimate.context.format.Formatter;
+import org.danielli.xultimate.context.format.FormatterCache;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
@@ -11,7 +12,7 @@ import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
- * 格式化器。是SpEl的实现。
+ * 格式化器。是SpEl的实现。解析后的表达式按模板源（或调用方指定的ID）缓存，缓存个数通过{@link #setCacheSize(int)}设置。
  * 
  * @author Daniel Li
  * @since 18 Jun 2013
@@ -42,20 +43,48 @@ public class SpelFormatter implements Formatter<String, Map<String, ? extends Ob
 		
 	};
 	
+	/** 表达式缓存，为null时不缓存 */
+	private FormatterCache<Expression> expressionCache = new FormatterCache<>(1000);
+	
 	@Override
 	public String format(String source, Map<String, ? extends Object> parameter) throws FormatException {
+		return format(source, source, parameter);
+	}
+	
+	/**
+	 * 格式化，解析后的表达式以expressionId为KEY缓存。
+	 * 
+	 * @param expressionId 表达式ID，同一ID需对应同一模板源。
+	 * @param source 模板源。
+	 * @param parameter 模板参数。
+	 * @return 格式化结果。
+	 * @throws FormatException 格式化异常。
+	 */
+	public String format(String expressionId, String source, Map<String, ? extends Object> parameter) throws FormatException {
 		
 		EvaluationContext context = new StandardEvaluationContext();
 		for (Map.Entry<String, ? extends Object> entry : parameter.entrySet()) {
 			context.setVariable(entry.getKey(), entry.getValue());
 		}
 		try {
-			Expression expression = expressionParser.parseExpression(source, parserContext);
+			Expression expression = getExpression(expressionId, source);
 			return expression.getValue(context).toString();
 		} catch (Exception e) {
 			throw new FormatException(e.getMessage(), e);
 		}
 	}
+	
+	private Expression getExpression(String expressionId, String source) {
+		FormatterCache<Expression> expressionCache = this.expressionCache;
+		Expression expression = (expressionCache == null) ? null : expressionCache.get(expressionId);
+		if (expression == null) {
+			expression = expressionParser.parseExpression(source, parserContext);
+			if (expressionCache != null) {
+				expression = expressionCache.put(expressionId, expression);
+			}
+		}
+		return expression;
+	}
 
 	/**
 	 * 设置表达式解析器。
@@ -64,6 +93,27 @@ public class SpelFormatter implements Formatter<String, Map<String, ? extends Ob
 	 */
 	public void setExpressionParser(ExpressionParser expressionParser) {
 		this.expressionParser = expressionParser;
+		if (this.expressionCache != null) {
+			this.expressionCache.clear();
+		}
+	}
+	
+	/**
+	 * 设置表达式缓存个数，默认1000，小于等于0时不缓存。
+	 * 
+	 * @param cacheSize 表达式缓存个数。
+	 */
+	public void setCacheSize(int cacheSize) {
+		this.expressionCache = (cacheSize > 0) ? new FormatterCache<Expression>(cacheSize) : null;
+	}
+	
+	/**
+	 * 获取表达式缓存，用于查看命中率等统计信息。
+	 * 
+	 * @return 表达式缓存，不缓存时返回null。
+	 */
+	public FormatterCache<Expression> getExpressionCache() {
+		return expressionCache;
 	}
 
 }
@@ -0,0 +1,27 @@
+package org.danielli.xultimate.context.kvStore.db;
+
+/**
+ * K/V批量写入。写入操作在{@link #commit()}时原子提交，提交或放弃后需调用{@link #close()}释放资源。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public interface KeyValueBatch<K, V> {
+
+    void put(K key, V value) throws KeyValueStoreException;
+
+    void remove(K key) throws KeyValueStoreException;
+
+    /**
+     * 当前批次中的写入操作个数。
+     */
+    int count();
+
+    /**
+     * 原子提交当前批次，提交后批次被清空，可以继续写入。
+     */
+    void commit() throws KeyValueStoreException;
+
+    void close();
+
+}
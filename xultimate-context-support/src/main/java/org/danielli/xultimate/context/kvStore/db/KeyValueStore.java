@@ -21,6 +21,11 @@ public interface KeyValueStore<K, V> {
 
     void remove(K key) throws KeyValueStoreException;
 
+    /**
+     * 创建批量写入，批次内的写入操作在提交时原子生效。
+     */
+    KeyValueBatch<K, V> batch() throws KeyValueStoreException;
+
     KeyValueIterator<K, V> range(K from, K to, Comparator<K> comparator);
 
     KeyValueIterator<K, V> all();
@@ -1,5 +1,6 @@
 package org.danielli.xultimate.context.kvStore.db.support;
 
+import org.danielli.xultimate.context.kvStore.db.KeyValueBatch;
 import org.danielli.xultimate.context.kvStore.db.KeyValueStoreException;
 import org.danielli.xultimate.context.kvStore.db.KeyValueIterator;
 import org.danielli.xultimate.context.kvStore.db.KeyValueStore;
@@ -8,12 +9,12 @@ import org.springframework.util.Assert;
 
 import java.io.File;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
- * RocksDB K/V存储。
+ * RocksDB K/V存储。{@link #putAll(List)}和{@link #batch()}通过WriteBatch原子写入，
+ * 批量导入时可通过{@link #batch(WriteOptions)}使用关闭WAL等独立的写入选项。
  *
  * @author Daniel Li
  * @since 13 September 2015
@@ -36,6 +37,14 @@ public class RocksDbKeyValueStore implements KeyValueStore<byte[], byte[]> {
         }
     }
 
+    /**
+     * @param sync 是否每次写入同步刷盘。
+     * @param disableWAL 是否关闭WAL，关闭后进程崩溃时未刷盘的数据会丢失，适用于可重做的批量导入。
+     */
+    public RocksDbKeyValueStore(File dir, Options options, boolean sync, boolean disableWAL) {
+        this(dir, options, new WriteOptions().setSync(sync).setDisableWAL(disableWAL));
+    }
+
     @Override
     public byte[] get(byte[] key) throws KeyValueStoreException {
         Assert.notNull(key);
@@ -62,20 +71,14 @@ public class RocksDbKeyValueStore implements KeyValueStore<byte[], byte[]> {
 
     @Override
     public void putAll(List<KeyValueIterator.Entry<byte[], byte[]>> entries) throws KeyValueStoreException {
-        Iterator<KeyValueIterator.Entry<byte[], byte[]>> iter = entries.iterator();
-        while (iter.hasNext()) {
-            KeyValueIterator.Entry<byte[], byte[]> curr = iter.next();
-            try {
-                if (curr.getValue() == null) {
-                    this.db.remove(this.writeOptions, curr.getKey());
-                } else {
-                    byte[] key = curr.getKey();
-                    byte[] value = curr.getValue();
-                    this.db.put(this.writeOptions, key, value);
-                }
-            } catch (RocksDBException e) {
-                throw new KeyValueStoreException(e);
+        RocksDbBatch batch = this.batch();
+        try {
+            for (KeyValueIterator.Entry<byte[], byte[]> entry : entries) {
+                batch.put(entry.getKey(), entry.getValue());
             }
+            batch.commit();
+        } finally {
+            batch.close();
         }
     }
 
@@ -84,6 +87,19 @@ public class RocksDbKeyValueStore implements KeyValueStore<byte[], byte[]> {
         this.put(key, null);
     }
 
+    @Override
+    public RocksDbBatch batch() {
+        return new RocksDbKeyValueStore.RocksDbBatch(this.writeOptions);
+    }
+
+    /**
+     * 使用指定的写入选项创建批量写入。
+     */
+    public RocksDbBatch batch(WriteOptions writeOptions) {
+        Assert.notNull(writeOptions);
+        return new RocksDbKeyValueStore.RocksDbBatch(writeOptions);
+    }
+
     @Override
     public KeyValueIterator<byte[], byte[]> range(byte[] from, byte[] to, Comparator<byte[]> comparator) {
         Assert.notNull(from);
@@ -118,6 +134,67 @@ public class RocksDbKeyValueStore implements KeyValueStore<byte[], byte[]> {
         this.db.close();
     }
 
+    /**
+     * WriteBatch批量写入。
+     *
+     * @author Daniel Li
+     * @since 16 Oct 2026
+     */
+    public class RocksDbBatch implements KeyValueBatch<byte[], byte[]> {
+        private final WriteOptions writeOptions;
+        private WriteBatch writeBatch;
+
+        @Override
+        public void put(byte[] key, byte[] value) {
+            Assert.notNull(key);
+            if (value == null) {
+                this.writeBatch().remove(key);
+            } else {
+                this.writeBatch().put(key, value);
+            }
+        }
+
+        @Override
+        public void remove(byte[] key) {
+            this.put(key, null);
+        }
+
+        @Override
+        public int count() {
+            return this.writeBatch().count();
+        }
+
+        @Override
+        public void commit() {
+            try {
+                RocksDbKeyValueStore.this.db.write(this.writeOptions, this.writeBatch());
+                this.writeBatch.clear();
+            } catch (RocksDBException e) {
+                throw new KeyValueStoreException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.writeBatch != null) {
+                this.writeBatch.dispose();
+                this.writeBatch = null;
+            }
+        }
+
+        private WriteBatch writeBatch() {
+            if (this.writeBatch == null) {
+                throw new IllegalStateException("RocksDB batch is closed");
+            }
+            return this.writeBatch;
+        }
+
+        public RocksDbBatch(WriteOptions writeOptions) {
+            this.writeOptions = writeOptions;
+            this.writeBatch = new WriteBatch();
+        }
+    }
+
     /**
      * K/V迭代器。
      *
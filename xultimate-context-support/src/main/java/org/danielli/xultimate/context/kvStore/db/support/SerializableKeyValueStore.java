@@ -2,6 +2,7 @@ package org.danielli.xultimate.context.kvStore.db.support;
 
 import org.apache.commons.collections.ListUtils;
 import org.apache.commons.collections.Transformer;
+import org.danielli.xultimate.context.kvStore.db.KeyValueBatch;
 import org.danielli.xultimate.context.kvStore.db.KeyValueIterator;
 import org.danielli.xultimate.context.kvStore.db.KeyValueIterator.Entry;
 import org.danielli.xultimate.context.kvStore.db.KeyValueStore;
@@ -91,6 +92,11 @@ public class SerializableKeyValueStore<K, V> implements KeyValueStore<K, V> {
         store.remove(targetKey);
     }
 
+    @Override
+    public KeyValueBatch<K, V> batch() throws KeyValueStoreException {
+        return new SerializableBatch(store.batch());
+    }
+
     @Override
     public KeyValueIterator<K, V> range(final K from, final K to, final Comparator<K> comparator) {
         byte[] targetFrom = serializeKey(from);
@@ -120,6 +126,40 @@ public class SerializableKeyValueStore<K, V> implements KeyValueStore<K, V> {
         store.flush();
     }
 
+    /**
+     * 可序列化K/V批量写入。
+     *
+     * @author Daniel Li
+     * @since 16 Oct 2026
+     */
+    public class SerializableBatch implements KeyValueBatch<K, V> {
+        private final KeyValueBatch<byte[], byte[]> batch;
+
+        public void put(K key, V value) {
+            this.batch.put(serializeKey(key), serializeValue(value));
+        }
+
+        public void remove(K key) {
+            this.batch.remove(serializeKey(key));
+        }
+
+        public int count() {
+            return this.batch.count();
+        }
+
+        public void commit() {
+            this.batch.commit();
+        }
+
+        public void close() {
+            this.batch.close();
+        }
+
+        public SerializableBatch(KeyValueBatch<byte[], byte[]> batch) {
+            this.batch = batch;
+        }
+    }
+
     /**
      * 可序列化K/V迭代器。
      *
@@ -2,6 +2,7 @@ package org.danielli.xultimate.context.kvStore.memcached.xmemcached;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -27,6 +28,7 @@ import net.rubyeye.xmemcached.networking.Connector;
 import net.rubyeye.xmemcached.transcoders.Transcoder;
 import net.rubyeye.xmemcached.utils.Protocol;
 
+import org.danielli.xultimate.context.kvStore.memcached.xmemcached.support.NearCache;
 import org.danielli.xultimate.util.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +47,12 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	
 	private net.rubyeye.xmemcached.XMemcachedClient xMemcachedClient;
 	
+	/** 近端缓存，为null时不启用 */
+	private NearCache nearCache;
+	
+	/** 当前线程是否处于命名空间中，命名空间内的操作不经过近端缓存 */
+	private final ThreadLocal<Boolean> namespaceLocal = new ThreadLocal<>();
+	
 	public XMemcachedClient(net.rubyeye.xmemcached.XMemcachedClient xMemcachedClient) {
 		this.xMemcachedClient = xMemcachedClient;
 	}
@@ -53,6 +61,21 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		return xMemcachedClient;
 	}
 	
+	public NearCache getNearCache() {
+		return nearCache;
+	}
+	
+	/**
+	 * 设置近端缓存。启用后，{@link #get(String)}、{@link #get(String, long)}、{@link #get(Collection)}、
+	 * {@link #get(Collection, long)}优先读取近端缓存，通过本客户端执行的修改操作会使对应KEY失效。
+	 * 指定Transcoder的读取和命名空间内的操作不经过近端缓存。
+	 * 
+	 * @param nearCache 近端缓存。
+	 */
+	public void setNearCache(NearCache nearCache) {
+		this.nearCache = nearCache;
+	}
+	
 	/**
 	 * Set the merge factor,this factor determins how many 'get' commands would
 	 * be merge to one multi-get command.default is 150
@@ -90,6 +113,7 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	 */
 	public void endWithNamespace() {
 		xMemcachedClient.endWithNamespace();
+		namespaceLocal.remove();
 	}
 	
 	/**
@@ -110,6 +134,7 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	 */
 	public void beginWithNamespace(String ns) {
 		xMemcachedClient.beginWithNamespace(ns);
+		namespaceLocal.set(Boolean.TRUE);
 	}
 	
 	public KeyProvider getKeyProvider() {
@@ -369,6 +394,88 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		logger.error(e.getMessage(), e); 
 	}
 	
+	private boolean isNearCacheEnabled() {
+		return nearCache != null && namespaceLocal.get() == null;
+	}
+	
+	protected void invalidateNearCache(String key) {
+		if (isNearCacheEnabled()) {
+			nearCache.invalidate(key);
+		}
+	}
+	
+	protected void invalidateNearCache() {
+		if (nearCache != null) {
+			nearCache.invalidateAll();
+		}
+	}
+	
+	/**
+	 * 经过近端缓存读取，timeout小于0时使用默认超时时间。
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T getThroughNearCache(final String key, final long timeout) throws TimeoutException, InterruptedException, MemcachedException {
+		NearCache.Entry entry = nearCache.lookup(key);
+		if (entry != null && !nearCache.isCasCheckRequired(entry)) {
+			return (T) entry.getValue();
+		}
+		long sequence = nearCache.currentSequence();
+		long startTime = System.nanoTime();
+		if (nearCache.isCasCheckEnabled()) {
+			GetsResponse<T> getsResponse = (timeout < 0) ? xMemcachedClient.<T>gets(key) : xMemcachedClient.<T>gets(key, timeout);
+			if (getsResponse == null) {
+				if (entry != null) {
+					nearCache.invalidate(key);
+				}
+				return null;
+			}
+			if (entry != null && nearCache.checkCas(entry, getsResponse.getCas())) {
+				return (T) entry.getValue();
+			}
+			nearCache.put(key, getsResponse.getValue(), getsResponse.getCas(), System.nanoTime() - startTime, sequence);
+			return getsResponse.getValue();
+		}
+		T value = (timeout < 0) ? xMemcachedClient.<T>get(key) : xMemcachedClient.<T>get(key, timeout);
+		nearCache.put(key, value, 0, System.nanoTime() - startTime, sequence);
+		return value;
+	}
+	
+	/**
+	 * 经过近端缓存批量读取，仅对未命中的KEY发起一次multi-get，timeout小于0时使用默认超时时间。
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Map<String, T> getThroughNearCache(final Collection<String> keyCollections, final long timeout) throws TimeoutException, InterruptedException, MemcachedException {
+		Map<String, T> resultMap = new HashMap<>(keyCollections.size());
+		List<String> missKeyList = new ArrayList<>();
+		for (String key : keyCollections) {
+			if (nearCache.isCacheable(key)) {
+				NearCache.Entry entry = nearCache.lookup(key);
+				if (entry != null && !nearCache.isCasCheckRequired(entry)) {
+					resultMap.put(key, (T) entry.getValue());
+					continue;
+				}
+			}
+			missKeyList.add(key);
+		}
+		if (missKeyList.isEmpty()) {
+			return resultMap;
+		}
+		long sequence = nearCache.currentSequence();
+		long startTime = System.nanoTime();
+		Map<String, T> missResultMap = (timeout < 0) ? xMemcachedClient.<T>get(missKeyList) : xMemcachedClient.<T>get(missKeyList, timeout);
+		long loadNanos = (System.nanoTime() - startTime) / missKeyList.size();
+		for (String key : missKeyList) {
+			T value = missResultMap.get(key);
+			if (nearCache.isCacheable(key)) {
+				nearCache.put(key, value, 0, loadNanos, sequence);
+			}
+			if (value != null) {
+				resultMap.put(key, value);
+			}
+		}
+		return resultMap;
+	}
+	
 	/**
 	 * Get value by key
 	 * 
@@ -393,6 +500,7 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	
 	public final <T> T get(final String key, final long timeout) {
 		try {
+			if (isNearCacheEnabled() && nearCache.isCacheable(key)) return getThroughNearCache(key, timeout);
 			return xMemcachedClient.get(key, timeout);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
@@ -411,6 +519,7 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	
 	public final <T> T get(final String key) {
 		try {
+			if (isNearCacheEnabled() && nearCache.isCacheable(key)) return getThroughNearCache(key, -1);
 			return xMemcachedClient.get(key);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
@@ -535,7 +644,7 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	@SuppressWarnings("unchecked")
 	public final <T> Map<String, T> get(final Collection<String> keyCollections) {
 		try {
-			if (!CollectionUtils.isEmpty(keyCollections)) return xMemcachedClient.get(keyCollections);
+			if (!CollectionUtils.isEmpty(keyCollections)) return isNearCacheEnabled() ? this.<T>getThroughNearCache(keyCollections, -1) : xMemcachedClient.<T>get(keyCollections);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 		}
@@ -552,7 +661,7 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 	@SuppressWarnings("unchecked")
 	public final <T> Map<String, T> get(final Collection<String> keyCollections, final long timeout) {
 		try {
-			if (!CollectionUtils.isEmpty(keyCollections)) return xMemcachedClient.get(keyCollections, timeout);
+			if (!CollectionUtils.isEmpty(keyCollections)) return isNearCacheEnabled() ? this.<T>getThroughNearCache(keyCollections, timeout) : xMemcachedClient.<T>get(keyCollections, timeout);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 		}
@@ -655,6 +764,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -677,6 +788,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.setWithNoReply(key, exp, value);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -693,6 +806,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.setWithNoReply(key, exp, value, transcoder);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -705,6 +820,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -717,6 +834,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -729,6 +848,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -752,6 +873,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -768,6 +891,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -785,6 +910,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -804,6 +931,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -826,6 +955,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.addWithNoReply(key, exp, value);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -842,6 +973,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.addWithNoReply(key, exp, value, transcoder);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -863,6 +996,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.replaceWithNoReply(key, exp, value);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -879,6 +1014,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.replaceWithNoReply(key, exp, value, transcoder);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -902,6 +1039,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -918,6 +1057,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -935,6 +1076,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -953,6 +1096,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -968,6 +1113,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -985,6 +1132,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -999,6 +1148,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.appendWithNoReply(key, value);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1014,6 +1165,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1031,6 +1184,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1047,6 +1202,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.prependWithNoReply(key, value);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1064,6 +1221,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1088,6 +1247,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1106,6 +1267,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1125,6 +1288,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1149,6 +1314,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 
@@ -1174,6 +1341,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1192,6 +1361,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1206,6 +1377,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.casWithNoReply(key, operation);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1222,6 +1395,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.casWithNoReply(key, getsResponse, operation);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1237,6 +1412,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.casWithNoReply(key, exp, operation);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1254,6 +1431,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.casWithNoReply(key, exp, getsReponse, operation);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1271,6 +1450,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1288,6 +1469,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 
@@ -1304,6 +1487,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1322,6 +1507,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1343,6 +1530,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 
@@ -1351,6 +1540,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.deleteWithNoReply(key);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1454,6 +1645,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1463,6 +1656,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1491,6 +1686,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1523,6 +1720,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1543,6 +1742,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.incrWithNoReply(key, delta);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1563,6 +1764,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.decrWithNoReply(key, delta);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1586,6 +1789,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1602,6 +1807,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1630,6 +1837,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -1659,6 +1868,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return null;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 
@@ -1670,6 +1881,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAll();
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1678,6 +1891,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAllWithNoReply();
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1686,6 +1901,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAllWithNoReply(exptime); 
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1694,6 +1911,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAllWithNoReply(address);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 
@@ -1702,6 +1921,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAllWithNoReply(address, exptime);
 		} catch (InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1710,6 +1931,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAll(exptime, timeout);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1724,6 +1947,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAll(timeout);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1773,6 +1998,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAll(address);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1781,6 +2008,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAll(address, timeout);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1789,6 +2018,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.flushAll(address, timeout, exptime);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -1917,6 +2148,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
 			return false;
+		} finally {
+			invalidateNearCache(key);
 		}
 	}
 	
@@ -2019,6 +2252,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.invalidateNamespace(ns, opTimeout);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
@@ -2035,6 +2270,8 @@ public class XMemcachedClient implements XMemcachedClientMBean {
 			xMemcachedClient.invalidateNamespace(ns);
 		} catch (TimeoutException | InterruptedException | MemcachedException e) {
 			handleException(e);
+		} finally {
+			invalidateNearCache();
 		}
 	}
 	
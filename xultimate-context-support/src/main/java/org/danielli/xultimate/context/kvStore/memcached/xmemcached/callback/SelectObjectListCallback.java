@@ -1,7 +1,9 @@
 package org.danielli.xultimate.context.kvStore.memcached.xmemcached.callback;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.danielli.xultimate.context.format.FormatterUtils;
 import org.danielli.xultimate.context.kvStore.memcached.MemcachedException;
@@ -15,7 +17,7 @@ public abstract class SelectObjectListCallback<T, M extends List<T>> implements
 		String cachedObjectKeyListKey = getCachedObjectKeyListKey();
 		CallbackLockConfig config = getCallbackLockConfig();
 		if (config == null) {
-			return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, null, 0, 0, 0);
+			return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, null, 0, 1, 0);
 		} else {
 			return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, config.getMemcachedLock(), 0, config.getRetryFrequency(), config.getIntervalPeriodMillisecond());
 		}
@@ -35,18 +37,25 @@ public abstract class SelectObjectListCallback<T, M extends List<T>> implements
 				try {
 					if (memcachedLock.tryLock(cachedObjectKeyListKeyLock)) {
 						try {
-							return getCachedObjectList(xMemcachedClient, cachedObjectKeyListKeyLock);
+							return getCachedObjectList(xMemcachedClient, cachedObjectKeyListKey);
 						} finally {
 							memcachedLock.unlock(cachedObjectKeyListKeyLock);
 						}
 					} else {
 						Thread.sleep(intervalPeriodMillisecond);
-						return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, memcachedLock, currentRetryFrequency++, retryFrequency, intervalPeriodMillisecond);
+						return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, memcachedLock, currentRetryFrequency + 1, retryFrequency, intervalPeriodMillisecond);
 					}
 				} catch (MemcachedException e) {
-					return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, null, 0, 0, 0);
+					return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, null, 0, 1, 0);
 				}
 			}
+		} else if (isBatchEnabled()) {
+			M cachedObjectList = getCachedObjectListInBatch(xMemcachedClient, cachedObjectKeyList);
+			if (cachedObjectList != null) {
+				return cachedObjectList;
+			} else {
+				return getCachedObjectList(xMemcachedClient, cachedObjectKeyListKey);
+			}
 		} else {
 			M cachedObjectList = newList(cachedObjectKeyList.size());
 			for (String cachedObjectKey : cachedObjectKeyList) {
@@ -59,9 +68,62 @@ public abstract class SelectObjectListCallback<T, M extends List<T>> implements
 			if (cachedObjectList.size() == cachedObjectKeyList.size()) {
 				return cachedObjectList; 
 			} else {
-				return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, memcachedLock, currentRetryFrequency++, retryFrequency, intervalPeriodMillisecond);
+				return doInXMemcached0(xMemcachedClient, cachedObjectKeyListKey, memcachedLock, currentRetryFrequency + 1, retryFrequency, intervalPeriodMillisecond);
+			}
+		}
+	}
+	
+	/**
+	 * 批量获取缓存对象。通过一次multi-get获取所有缓存对象，未命中的部分通过{@link #doGetCachedObjects(List)}一次性加载，并以noreply方式写回缓存。
+	 * 
+	 * @return 缓存对象集合，未命中部分无法加载时返回null，由调用方重新加载整个集合。
+	 */
+	private M getCachedObjectListInBatch(XMemcachedClient xMemcachedClient, List<String> cachedObjectKeyList) {
+		Map<String, T> cachedObjectMap = xMemcachedClient.get(cachedObjectKeyList);
+		List<String> missCachedObjectKeyList = new ArrayList<>();
+		for (String cachedObjectKey : cachedObjectKeyList) {
+			if (!cachedObjectMap.containsKey(cachedObjectKey)) {
+				missCachedObjectKeyList.add(cachedObjectKey);
+			}
+		}
+		if (!missCachedObjectKeyList.isEmpty()) {
+			Map<String, T> loadedObjectMap = doGetCachedObjects(missCachedObjectKeyList);
+			if (loadedObjectMap == null) {
+				return null;
 			}
+			cachedObjectMap = new HashMap<>(cachedObjectMap);
+			for (String cachedObjectKey : missCachedObjectKeyList) {
+				T cachedObject = loadedObjectMap.get(cachedObjectKey);
+				if (cachedObject == null) {
+					// 数据源中已不存在，KEY集合已过时，重新加载整个集合。
+					return null;
+				}
+				xMemcachedClient.setWithNoReply(cachedObjectKey, getExpireSeconds(), cachedObject);
+				cachedObjectMap.put(cachedObjectKey, cachedObject);
+			}
+		}
+		M cachedObjectList = newList(cachedObjectKeyList.size());
+		for (String cachedObjectKey : cachedObjectKeyList) {
+			cachedObjectList.add(cachedObjectMap.get(cachedObjectKey));
 		}
+		return cachedObjectList;
+	}
+	
+	/**
+	 * 是否开启批量模式。开启后通过一次multi-get获取所有缓存对象，替代逐个get，未命中部分通过{@link #doGetCachedObjects(List)}批量加载。默认不开启。
+	 * @return 是否开启批量模式。
+	 */
+	public boolean isBatchEnabled() {
+		return false;
+	}
+	
+	/**
+	 * 批量加载未命中的缓存对象，仅在批量模式下使用。默认返回null，表示不支持按KEY加载，此时重新加载整个集合。
+	 * @param missCachedObjectKeyList 未命中的缓存对象KEY集合。
+	 * @return 缓存对象KEY与缓存对象的映射。
+	 */
+	public Map<String, T> doGetCachedObjects(List<String> missCachedObjectKeyList) {
+		return null;
 	}
 	
 	/**
@@ -79,7 +141,11 @@ public abstract class SelectObjectListCallback<T, M extends List<T>> implements
 				newCachedObjectList.add(cachedObject);
 				String cachedObjectKey = getCachedObjectKey(cachedObject);
 				cachedObjectKeyList.add(cachedObjectKey);
-				xMemcachedClient.set(cachedObjectKey, getExpireSeconds(), cachedObject);
+				if (isBatchEnabled()) {
+					xMemcachedClient.setWithNoReply(cachedObjectKey, getExpireSeconds(), cachedObject);
+				} else {
+					xMemcachedClient.set(cachedObjectKey, getExpireSeconds(), cachedObject);
+				}
 			}
 			xMemcachedClient.set(cachedObjectKeyListKey, getExpireSeconds(), cachedObjectKeyList);
 			return newCachedObjectList;
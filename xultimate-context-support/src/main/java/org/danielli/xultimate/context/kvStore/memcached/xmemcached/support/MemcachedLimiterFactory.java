@@ -8,8 +8,7 @@ import net.rubyeye.xmemcached.XMemcachedClient;
 
 import org.danielli.xultimate.context.kvStore.memcached.MemcachedException;
 import org.danielli.xultimate.util.Assert;
-import org.danielli.xultimate.util.builder.EqualsBuilderUtils;
-import org.danielli.xultimate.util.builder.HashCodeBuilderUtils;
+import org.danielli.xultimate.util.builder.BuildableUtils;
 import org.joda.time.DateTime;
 import org.joda.time.Duration;
 import org.slf4j.Logger;
@@ -157,12 +156,12 @@ public class MemcachedLimiterFactory {
 		
 		@Override
 		public int hashCode() {
-			return HashCodeBuilderUtils.reflectionHashCode(this);
+			return BuildableUtils.hashCode(this);
 		}
 		
 		@Override
 		public boolean equals(Object obj) {
-			return EqualsBuilderUtils.reflectionEqualsForBothClass(this, obj);
+			return BuildableUtils.equals(this, obj);
 		}
 	}
 	
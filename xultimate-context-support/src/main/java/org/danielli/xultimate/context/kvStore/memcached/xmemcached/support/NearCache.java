@@ -0,0 +1,344 @@
+package org.danielli.xultimate.context.kvStore.memcached.xmemcached.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * XMemcached客户端的进程内近端缓存（L1）。按KEY前缀配置失效时间，总容量有限制，超出后按LRU淘汰；
+ * 本地的set/delete/cas等修改操作会使对应KEY失效。开启CAS校验后，超过校验周期的条目会通过gets比较CAS值，
+ * 以此限定与服务端之间的最大不一致时间。
+ * <p>
+ * 近端缓存会向多个调用者返回同一个对象实例，仅适用于读取后不再修改的缓存对象。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class NearCache {
+
+	private static final int SEGMENT_COUNT = 16;
+
+	/** 最大缓存个数 */
+	private int maxSize = 10000;
+	/** 未匹配任何前缀策略的KEY的失效时间，小于等于0表示不缓存 */
+	private int defaultExpireSeconds = 5;
+	/** 是否开启CAS校验 */
+	private boolean casCheckEnabled = false;
+	/** CAS校验周期（毫秒） */
+	private long casCheckIntervalMillis = 1000;
+	/** 按前缀长度倒序排列的前缀策略 */
+	private volatile List<PrefixPolicy> prefixPolicies = Collections.emptyList();
+
+	private final Segment[] segments;
+
+	/** 本地失效序列，加载期间发生失效时放弃写入缓存，避免写回旧值。 */
+	private final AtomicLong invalidationSequence = new AtomicLong();
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong casCheckCount = new AtomicLong();
+	private final AtomicLong casCheckHitCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	private final AtomicLong invalidationCount = new AtomicLong();
+	private final AtomicLong loadCount = new AtomicLong();
+	private final AtomicLong totalLoadNanos = new AtomicLong();
+
+	public NearCache() {
+		segments = new Segment[SEGMENT_COUNT];
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public void setDefaultExpireSeconds(int defaultExpireSeconds) {
+		this.defaultExpireSeconds = defaultExpireSeconds;
+	}
+
+	public boolean isCasCheckEnabled() {
+		return casCheckEnabled;
+	}
+
+	public void setCasCheckEnabled(boolean casCheckEnabled) {
+		this.casCheckEnabled = casCheckEnabled;
+	}
+
+	public void setCasCheckIntervalMillis(long casCheckIntervalMillis) {
+		this.casCheckIntervalMillis = casCheckIntervalMillis;
+	}
+
+	/**
+	 * 设置前缀策略，KEY为前缀，值为失效时间（秒），小于等于0表示该前缀不缓存。匹配时取最长前缀。
+	 */
+	public void setPrefixExpireSeconds(Map<String, Integer> prefixExpireSeconds) {
+		List<PrefixPolicy> policies = new ArrayList<>(prefixExpireSeconds.size());
+		for (Map.Entry<String, Integer> entry : prefixExpireSeconds.entrySet()) {
+			policies.add(new PrefixPolicy(entry.getKey(), entry.getValue()));
+		}
+		Collections.sort(policies, new Comparator<PrefixPolicy>() {
+			@Override
+			public int compare(PrefixPolicy o1, PrefixPolicy o2) {
+				return o2.prefix.length() - o1.prefix.length();
+			}
+		});
+		this.prefixPolicies = policies;
+	}
+
+	/**
+	 * 获取KEY的失效时间（毫秒），小于等于0表示不缓存。
+	 */
+	protected long getExpireMillis(String key) {
+		for (PrefixPolicy prefixPolicy : prefixPolicies) {
+			if (key.startsWith(prefixPolicy.prefix)) {
+				return prefixPolicy.expireSeconds * 1000L;
+			}
+		}
+		return defaultExpireSeconds * 1000L;
+	}
+
+	/**
+	 * KEY是否可以缓存。
+	 */
+	public boolean isCacheable(String key) {
+		return getExpireMillis(key) > 0;
+	}
+
+	/**
+	 * 查找未过期的缓存条目。
+	 * @param key KEY。
+	 * @return 缓存条目，不存在或已过期返回null。
+	 */
+	public Entry lookup(String key) {
+		Entry entry = segmentFor(key).get(key);
+		if (entry != null && entry.expireTime < System.currentTimeMillis()) {
+			segmentFor(key).remove(key, entry);
+			entry = null;
+		}
+		if (entry == null) {
+			missCount.incrementAndGet();
+		} else if (!isCasCheckRequired(entry)) {
+			hitCount.incrementAndGet();
+		}
+		return entry;
+	}
+
+	/**
+	 * 缓存条目是否需要CAS校验。
+	 */
+	public boolean isCasCheckRequired(Entry entry) {
+		return casCheckEnabled && entry.checkTime + casCheckIntervalMillis < System.currentTimeMillis();
+	}
+
+	/**
+	 * 记录CAS校验结果。
+	 * @param entry 缓存条目。
+	 * @param cas 服务端最新CAS值。
+	 * @return CAS值是否一致，一致时缓存条目仍然有效。
+	 */
+	public boolean checkCas(Entry entry, long cas) {
+		casCheckCount.incrementAndGet();
+		if (entry.cas == cas) {
+			casCheckHitCount.incrementAndGet();
+			entry.checkTime = System.currentTimeMillis();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 获取当前失效序列，需在远程加载前调用，并在写入时传入{@link #put(String, Object, long, long, long)}。
+	 */
+	public long currentSequence() {
+		return invalidationSequence.get();
+	}
+
+	/**
+	 * 写入缓存。
+	 * @param key KEY。
+	 * @param value 值。
+	 * @param cas CAS值，未知时为0。
+	 * @param loadNanos 本次远程加载（网络往返和解码）耗时。
+	 * @param sequence 加载前获取的失效序列。
+	 */
+	public void put(String key, Object value, long cas, long loadNanos, long sequence) {
+		loadCount.incrementAndGet();
+		totalLoadNanos.addAndGet(loadNanos);
+		if (value == null) {
+			return;
+		}
+		long expireMillis = getExpireMillis(key);
+		if (expireMillis <= 0 || invalidationSequence.get() != sequence) {
+			return;
+		}
+		long currentTime = System.currentTimeMillis();
+		segmentFor(key).put(key, new Entry(value, cas, currentTime + expireMillis, currentTime));
+	}
+
+	/**
+	 * 使KEY失效。
+	 */
+	public void invalidate(String key) {
+		invalidationSequence.incrementAndGet();
+		if (segmentFor(key).remove(key) != null) {
+			invalidationCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * 使所有KEY失效。
+	 */
+	public void invalidateAll() {
+		invalidationSequence.incrementAndGet();
+		for (Segment segment : segments) {
+			invalidationCount.addAndGet(segment.clear());
+		}
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getCasCheckCount() {
+		return casCheckCount.get();
+	}
+
+	public long getCasCheckHitCount() {
+		return casCheckHitCount.get();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	public long getInvalidationCount() {
+		return invalidationCount.get();
+	}
+
+	/**
+	 * 获取远程加载（网络往返和解码）的平均耗时（纳秒）。
+	 */
+	public long getAverageLoadNanos() {
+		long count = loadCount.get();
+		return count == 0 ? 0 : totalLoadNanos.get() / count;
+	}
+
+	/**
+	 * 获取命中近端缓存节省的估计耗时（纳秒），即命中次数乘以平均远程加载耗时，每次命中同时节省一次网络往返。
+	 */
+	public long getEstimatedSavedNanos() {
+		return getHitCount() * getAverageLoadNanos();
+	}
+
+	/**
+	 * 获取当前缓存个数。
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	private Segment segmentFor(String key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return segments[hash & (SEGMENT_COUNT - 1)];
+	}
+
+	/**
+	 * 缓存条目。
+	 */
+	public static class Entry {
+
+		private final Object value;
+
+		private final long cas;
+
+		private final long expireTime;
+
+		private volatile long checkTime;
+
+		Entry(Object value, long cas, long expireTime, long checkTime) {
+			this.value = value;
+			this.cas = cas;
+			this.expireTime = expireTime;
+			this.checkTime = checkTime;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+		public long getCas() {
+			return cas;
+		}
+	}
+
+	private static class PrefixPolicy {
+
+		private final String prefix;
+
+		private final int expireSeconds;
+
+		PrefixPolicy(String prefix, int expireSeconds) {
+			this.prefix = prefix;
+			this.expireSeconds = expireSeconds;
+		}
+	}
+
+	private class Segment {
+
+		private final LinkedHashMap<String, Entry> map = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() > Math.max(1, maxSize / SEGMENT_COUNT)) {
+					evictionCount.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		synchronized Entry get(String key) {
+			return map.get(key);
+		}
+
+		synchronized void put(String key, Entry entry) {
+			map.put(key, entry);
+		}
+
+		synchronized Entry remove(String key) {
+			return map.remove(key);
+		}
+
+		synchronized void remove(String key, Entry entry) {
+			if (map.get(key) == entry) {
+				map.remove(key);
+			}
+		}
+
+		synchronized int clear() {
+			int size = map.size();
+			map.clear();
+			return size;
+		}
+
+		synchronized int size() {
+			return map.size();
+		}
+	}
+}
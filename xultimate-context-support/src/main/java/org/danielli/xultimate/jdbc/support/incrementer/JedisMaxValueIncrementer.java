@@ -22,11 +22,16 @@ public class JedisMaxValueIncrementer extends AbstractKeyMaxValueIncrementer {
 	
 	@Override
 	protected long getNextMaxId() throws DataAccessException {
+		return getNextMaxId(getCacheSize());
+	}
+	
+	@Override
+	protected long getNextMaxId(final int cacheSize) throws DataAccessException {
 		try {
 			return jedisTemplate.execute(new JedisCallback<Long>() {
 				@Override
 				public Long doInJedis(Jedis jedis) {
-					return jedis.incrBy(getKeyName(), getCacheSize() * getStep());
+					return jedis.incrBy(getKeyName(), cacheSize * getStep());
 				}
 			});
 		} catch (KeyValueStoreException exception) {
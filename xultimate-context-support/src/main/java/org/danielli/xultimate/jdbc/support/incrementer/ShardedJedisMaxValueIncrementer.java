@@ -21,12 +21,17 @@ public class ShardedJedisMaxValueIncrementer extends AbstractKeyMaxValueIncremen
 
 	@Override
 	protected long getNextMaxId() throws DataAccessException {
+		return getNextMaxId(getCacheSize());
+	}
+	
+	@Override
+	protected long getNextMaxId(final int cacheSize) throws DataAccessException {
 		try {
 			return shardedJedisTemplate.execute(new ShardedJedisCallback<Long>() {
 
 				@Override
 				public Long doInShardedJedis(ShardedJedis shardedJedis) {
-					return shardedJedis.incrBy(getKeyName(), getCacheSize() * getStep());
+					return shardedJedis.incrBy(getKeyName(), cacheSize * getStep());
 				}
 				
 			});
@@ -15,13 +15,17 @@ import org.danielli.xultimate.context.format.support.VelocityEngineFormatter;
 import org.danielli.xultimate.util.ArrayUtils;
 import org.danielli.xultimate.util.performance.PerformanceMonitor;
 import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import freemarker.template.Configuration;
+
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(locations = { "classpath:/formatter/applicationContext-service-formatter.xml" })
 public class FormatterTest {
@@ -47,6 +51,9 @@ public class FormatterTest {
 	@Resource(name = "httlEngineFormatter")
 	private HTTLEngineFormatter httlEngineFormatter;
 	
+	@Resource(name = "freeMarkerConfigurer")
+	private Configuration freeMarkerConfiguration;
+	
 	private Map<String, Object> data = new HashMap<String, Object>();
 	{
 		data.put("userName", "Daniel Li");
@@ -122,4 +129,77 @@ public class FormatterTest {
 		PerformanceMonitor.remove();
 	}
 	
+	@Test
+	public void testFreeMarkerTemplateCache() {
+		FreeMarkerTemplateFormatter uncachedFormatter = new FreeMarkerTemplateFormatter();
+		uncachedFormatter.setConfiguration(freeMarkerConfiguration);
+		uncachedFormatter.setCacheSize(0);
+		
+		FreeMarkerTemplateFormatter cachedFormatter = new FreeMarkerTemplateFormatter();
+		cachedFormatter.setConfiguration(freeMarkerConfiguration);
+		cachedFormatter.setCacheSize(10);
+		
+		Assert.assertEquals(uncachedFormatter.format("Hello World, ${userName}", data), cachedFormatter.format("Hello World, ${userName}", data));
+		
+		PerformanceMonitor.start("FreeMarkerTemplateCacheTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				uncachedFormatter.format("Hello World, ${userName}", data);
+			}
+			PerformanceMonitor.mark("冷解析" + i);
+		}
+		
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				cachedFormatter.format("Hello World, ${userName}", data);
+			}
+			PerformanceMonitor.mark("缓存渲染" + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+		
+		Assert.assertEquals(1, cachedFormatter.getTemplateCache().getMissCount());
+		Assert.assertEquals(500000, cachedFormatter.getTemplateCache().getHitCount());
+		
+		for (int i = 0; i < 20; i++) {
+			cachedFormatter.format("template" + i, "Hello World " + i + ", ${userName}", data);
+		}
+		Assert.assertEquals(10, cachedFormatter.getTemplateCache().size());
+		Assert.assertEquals(11, cachedFormatter.getTemplateCache().getEvictionCount());
+	}
+	
+	@Test
+	public void testSpelExpressionCache() {
+		SpelFormatter uncachedFormatter = new SpelFormatter();
+		uncachedFormatter.setExpressionParser(new SpelExpressionParser());
+		uncachedFormatter.setCacheSize(0);
+		
+		SpelFormatter cachedFormatter = new SpelFormatter();
+		cachedFormatter.setExpressionParser(new SpelExpressionParser());
+		
+		Assert.assertEquals(uncachedFormatter.format("Hello World, ${#userName}", data), cachedFormatter.format("Hello World, ${#userName}", data));
+		
+		PerformanceMonitor.start("SpelExpressionCacheTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				uncachedFormatter.format("Hello World, ${#userName}", data);
+			}
+			PerformanceMonitor.mark("冷解析" + i);
+		}
+		
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				cachedFormatter.format("Hello World, ${#userName}", data);
+			}
+			PerformanceMonitor.mark("缓存求值" + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+		
+		Assert.assertEquals(1, cachedFormatter.getExpressionCache().getMissCount());
+		Assert.assertEquals(500000, cachedFormatter.getExpressionCache().getHitCount());
+	}
+	
 }
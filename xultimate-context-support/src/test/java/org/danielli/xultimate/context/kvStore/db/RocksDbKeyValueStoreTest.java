@@ -0,0 +1,116 @@
+package org.danielli.xultimate.context.kvStore.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.danielli.xultimate.context.kvStore.db.support.RocksDbKeyValueStore;
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
+import org.junit.Test;
+import org.rocksdb.Options;
+import org.rocksdb.WriteOptions;
+
+public class RocksDbKeyValueStoreTest {
+
+	private static final int ENTRY_COUNT = 1000000;
+
+	private static final int BATCH_SIZE = 10000;
+
+	private byte[] toBytes(int value) {
+		return ByteBuffer.allocate(4).putInt(value).array();
+	}
+
+	private RocksDbKeyValueStore createStore(File dir) {
+		return new RocksDbKeyValueStore(dir, new Options().setCreateIfMissing(true), false, false);
+	}
+
+	@Test
+	public void testBatch() throws IOException {
+		File dir = new File(FileUtils.getTempDirectory(), "rocksdb-batch-test");
+		FileUtils.deleteDirectory(dir);
+		RocksDbKeyValueStore store = createStore(dir);
+		try {
+			KeyValueBatch<byte[], byte[]> batch = store.batch();
+			try {
+				batch.put(toBytes(1), toBytes(1));
+				batch.put(toBytes(2), toBytes(2));
+				batch.remove(toBytes(1));
+				Assert.assertEquals(3, batch.count());
+				Assert.assertNull(store.get(toBytes(2)));
+				batch.commit();
+				Assert.assertEquals(0, batch.count());
+			} finally {
+				batch.close();
+			}
+			Assert.assertNull(store.get(toBytes(1)));
+			Assert.assertArrayEquals(toBytes(2), store.get(toBytes(2)));
+		} finally {
+			store.close();
+			FileUtils.deleteDirectory(dir);
+		}
+	}
+
+	@Test
+	public void testBulkIngest() throws IOException {
+		PerformanceMonitor.start("RocksDbKeyValueStoreTest");
+		File dir = new File(FileUtils.getTempDirectory(), "rocksdb-bulk-test");
+
+		FileUtils.deleteDirectory(dir);
+		RocksDbKeyValueStore store = createStore(dir);
+		try {
+			for (int i = 0; i < ENTRY_COUNT; i++) {
+				store.put(toBytes(i), toBytes(i));
+			}
+			PerformanceMonitor.mark("逐条put");
+		} finally {
+			store.close();
+		}
+
+		FileUtils.deleteDirectory(dir);
+		store = createStore(dir);
+		try {
+			List<KeyValueIterator.Entry<byte[], byte[]>> entries = new ArrayList<>(BATCH_SIZE);
+			for (int i = 0; i < ENTRY_COUNT; i++) {
+				entries.add(new KeyValueIterator.Entry<>(toBytes(i), toBytes(i)));
+				if (entries.size() == BATCH_SIZE) {
+					store.putAll(entries);
+					entries.clear();
+				}
+			}
+			PerformanceMonitor.mark("putAll(WriteBatch)");
+		} finally {
+			store.close();
+		}
+
+		FileUtils.deleteDirectory(dir);
+		store = createStore(dir);
+		try {
+			KeyValueBatch<byte[], byte[]> batch = store.batch(new WriteOptions().setDisableWAL(true));
+			try {
+				for (int i = 0; i < ENTRY_COUNT; i++) {
+					batch.put(toBytes(i), toBytes(i));
+					if (batch.count() == BATCH_SIZE) {
+						batch.commit();
+					}
+				}
+				batch.commit();
+			} finally {
+				batch.close();
+			}
+			store.flush();
+			PerformanceMonitor.mark("batch(disableWAL)");
+			Assert.assertArrayEquals(toBytes(ENTRY_COUNT - 1), store.get(toBytes(ENTRY_COUNT - 1)));
+		} finally {
+			store.close();
+			FileUtils.deleteDirectory(dir);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+}
@@ -6,11 +6,13 @@ import java.util.Map;
 import javax.annotation.Resource;
 
 import org.danielli.xultimate.context.kvStore.memcached.CacheService;
+import org.danielli.xultimate.context.kvStore.memcached.xmemcached.support.NearCache;
 import org.danielli.xultimate.core.serializer.Deserializer;
 import org.danielli.xultimate.core.serializer.Serializer;
 import org.danielli.xultimate.util.performance.PerformanceMonitor;
 import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
 import org.joda.time.DateTime;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
@@ -151,5 +153,45 @@ public class XMemcachedClientTest {
 		PerformanceMonitor.remove();
 	}
 	
-
+	@Test
+	public void testNearCache() {
+		final Person person = new Person();
+		person.setName("Daniel Li");
+		person.setAge(18);
+		xMemcachedClient.set("nearCachePerson", 1000, person);
+		
+		PerformanceMonitor.start("XMemcachedClientNearCacheTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				xMemcachedClient.get("nearCachePerson");
+			}
+			PerformanceMonitor.mark("无近端缓存" + i);
+		}
+		
+		NearCache nearCache = new NearCache();
+		xMemcachedClient.setNearCache(nearCache);
+		try {
+			for (int i = 0; i < 5; i++) {
+				for (int j = 0; j < 100000; j++) {
+					xMemcachedClient.get("nearCachePerson");
+				}
+				PerformanceMonitor.mark("近端缓存" + i);
+			}
+			
+			Assert.assertEquals(1, nearCache.getMissCount());
+			Assert.assertEquals(499999, nearCache.getHitCount());
+			
+			xMemcachedClient.delete("nearCachePerson");
+			Assert.assertNull(xMemcachedClient.get("nearCachePerson"));
+			Assert.assertEquals(2, nearCache.getMissCount());
+			LOGGER.info("Average load nanos: {}, estimated saved nanos: {}", nearCache.getAverageLoadNanos(), nearCache.getEstimatedSavedNanos());
+		} finally {
+			xMemcachedClient.setNearCache(null);
+		}
+		
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+package org.danielli.xultimate.context.kvStore.memcached.xmemcached.callback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.rubyeye.xmemcached.XMemcachedClientBuilder;
+import net.rubyeye.xmemcached.command.BinaryCommandFactory;
+import net.rubyeye.xmemcached.utils.AddrUtil;
+
+import org.danielli.xultimate.context.kvStore.memcached.MemcachedDaemon;
+import org.danielli.xultimate.context.kvStore.memcached.MemcachedException;
+import org.danielli.xultimate.context.kvStore.memcached.xmemcached.XMemcachedClient;
+import org.danielli.xultimate.context.kvStore.memcached.xmemcached.support.MemcachedLockFactory.MemcachedLock;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SelectObjectListCallbackTest {
+
+	private static final String SERVER_URL = "127.0.0.1:11216";
+
+	private static final String LIST_KEY = "person.list";
+
+	private static MemcachedDaemon memcachedDaemon;
+
+	private static XMemcachedClient client;
+
+	private static class PersonListCallback extends SelectObjectListCallback<String, List<String>> {
+
+		private final List<String> personList;
+
+		private final boolean batchEnabled;
+
+		private final CallbackLockConfig callbackLockConfig;
+
+		private int listLoadCount;
+
+		private final List<String> missKeyList = new ArrayList<>();
+
+		PersonListCallback(List<String> personList, boolean batchEnabled, CallbackLockConfig callbackLockConfig) {
+			this.personList = personList;
+			this.batchEnabled = batchEnabled;
+			this.callbackLockConfig = callbackLockConfig;
+		}
+
+		@Override
+		public boolean isBatchEnabled() {
+			return batchEnabled;
+		}
+
+		@Override
+		public Map<String, String> doGetCachedObjects(List<String> missCachedObjectKeyList) {
+			missKeyList.addAll(missCachedObjectKeyList);
+			Map<String, String> resultMap = new HashMap<>();
+			for (String person : personList) {
+				if (missCachedObjectKeyList.contains(getCachedObjectKey(person))) {
+					resultMap.put(getCachedObjectKey(person), person);
+				}
+			}
+			return resultMap;
+		}
+
+		@Override
+		public List<String> doGetCachedObjectList() {
+			listLoadCount++;
+			return new ArrayList<>(personList);
+		}
+
+		@Override
+		public String getCachedObjectKeyListKey() {
+			return LIST_KEY;
+		}
+
+		@Override
+		public List<String> newList(int cachedObjectKeyListSize) {
+			return new ArrayList<>(cachedObjectKeyListSize);
+		}
+
+		@Override
+		public String getCachedObjectKey(String cachedObject) {
+			return "person." + cachedObject;
+		}
+
+		@Override
+		public int getExpireSeconds() {
+			return 60;
+		}
+
+		@Override
+		public CallbackLockConfig getCallbackLockConfig() {
+			return callbackLockConfig;
+		}
+	}
+
+	/**
+	 * 始终获取失败的锁，记录尝试次数。
+	 */
+	private static class FailedMemcachedLock implements MemcachedLock {
+
+		private final List<String> lockNameList = new ArrayList<>();
+
+		@Override
+		public boolean tryLock(String lockName) throws MemcachedException {
+			lockNameList.add(lockName);
+			return false;
+		}
+
+		@Override
+		public void unlock(String lockName) throws MemcachedException {
+		}
+	}
+
+	@BeforeClass
+	public static void startDaemon() throws Exception {
+		memcachedDaemon = new MemcachedDaemon();
+		memcachedDaemon.setServerUrl(SERVER_URL);
+		memcachedDaemon.setBinary(true);
+		memcachedDaemon.afterPropertiesSet();
+		XMemcachedClientBuilder builder = new XMemcachedClientBuilder(AddrUtil.getAddresses(SERVER_URL));
+		builder.setCommandFactory(new BinaryCommandFactory());
+		client = new XMemcachedClient((net.rubyeye.xmemcached.XMemcachedClient) builder.build());
+	}
+
+	@AfterClass
+	public static void stopDaemon() throws Exception {
+		client.shutdown();
+		memcachedDaemon.destroy();
+	}
+
+	@Before
+	public void flushAll() {
+		client.flushAll();
+	}
+
+	private static void setPersonList(List<String> personList) {
+		List<String> keyList = new ArrayList<>();
+		for (String person : personList) {
+			keyList.add("person." + person);
+			client.set("person." + person, 60, person);
+		}
+		client.set(LIST_KEY, 60, keyList);
+	}
+
+	@Test
+	public void testBatchHit() throws Exception {
+		List<String> personList = Arrays.asList("a", "b", "c", "d");
+		setPersonList(personList);
+		PersonListCallback callback = new PersonListCallback(personList, true, null);
+		Assert.assertEquals(personList, callback.doInXMemcached(client));
+		Assert.assertEquals(0, callback.listLoadCount);
+		Assert.assertTrue(callback.missKeyList.isEmpty());
+	}
+
+	@Test
+	public void testBatchMiss() throws Exception {
+		// 未命中的部分一次性加载并写回，结果保持KEY集合中的顺序。
+		List<String> personList = Arrays.asList("a", "b", "c", "d");
+		setPersonList(personList);
+		client.delete("person.b");
+		client.delete("person.d");
+		PersonListCallback callback = new PersonListCallback(personList, true, null);
+		Assert.assertEquals(personList, callback.doInXMemcached(client));
+		Assert.assertEquals(Arrays.asList("person.b", "person.d"), callback.missKeyList);
+		Assert.assertEquals("b", client.get("person.b"));
+		Assert.assertEquals("d", client.get("person.d"));
+		Assert.assertEquals(0, callback.listLoadCount);
+
+		// 数据源中已不存在，重新加载整个集合。
+		client.delete("person.c");
+		callback = new PersonListCallback(Arrays.asList("a", "b", "d"), true, null);
+		Assert.assertEquals(Arrays.asList("a", "b", "d"), callback.doInXMemcached(client));
+		Assert.assertEquals(1, callback.listLoadCount);
+		Assert.assertEquals(Arrays.asList("person.a", "person.b", "person.d"), client.get(LIST_KEY));
+	}
+
+	@Test
+	public void testBatchAllMiss() throws Exception {
+		// 全部未命中（multi-get出错时XMemcachedClient同样返回空Map）时一次性加载，不重新加载KEY集合。
+		List<String> personList = Arrays.asList("a", "b", "c");
+		client.set(LIST_KEY, 60, new ArrayList<>(Arrays.asList("person.a", "person.b", "person.c")));
+		PersonListCallback callback = new PersonListCallback(personList, true, null);
+		Assert.assertEquals(personList, callback.doInXMemcached(client));
+		Assert.assertEquals(Arrays.asList("person.a", "person.b", "person.c"), callback.missKeyList);
+		Assert.assertEquals(0, callback.listLoadCount);
+		Assert.assertEquals("c", client.get("person.c"));
+	}
+
+	@Test
+	public void testRetry() throws Exception {
+		List<String> personList = Arrays.asList("a", "b", "c");
+
+		// 未配置锁时只尝试一次，KEY集合不存在时直接加载。
+		PersonListCallback callback = new PersonListCallback(personList, false, null);
+		Assert.assertEquals(personList, callback.doInXMemcached(client));
+		Assert.assertEquals(1, callback.listLoadCount);
+		Assert.assertEquals(Arrays.asList("person.a", "person.b", "person.c"), client.get(LIST_KEY));
+
+		// 获取锁后加载，KEY集合写入集合KEY而不是锁KEY。
+		client.flushAll();
+		MemcachedLock memcachedLock = new MemcachedLock() {
+			@Override
+			public boolean tryLock(String lockName) throws MemcachedException {
+				return true;
+			}
+
+			@Override
+			public void unlock(String lockName) throws MemcachedException {
+			}
+		};
+		callback = new PersonListCallback(personList, false, new CallbackLockConfig(memcachedLock, 3, 0));
+		Assert.assertEquals(personList, callback.doInXMemcached(client));
+		Assert.assertNotNull(client.get(LIST_KEY));
+		Assert.assertNull(client.get(LIST_KEY + ".lock"));
+
+		// 获取锁失败时按retryFrequency重试。
+		client.flushAll();
+		FailedMemcachedLock failedMemcachedLock = new FailedMemcachedLock();
+		callback = new PersonListCallback(personList, false, new CallbackLockConfig(failedMemcachedLock, 3, 0));
+		Assert.assertNull(callback.doInXMemcached(client));
+		Assert.assertEquals(Collections.nCopies(3, LIST_KEY + ".lock"), failedMemcachedLock.lockNameList);
+		Assert.assertEquals(0, callback.listLoadCount);
+		Assert.assertNull(client.get(LIST_KEY));
+
+		// 非批量模式下缓存对象缺失时按retryFrequency重试，不加载也不写回。
+		setPersonList(personList);
+		client.delete("person.c");
+		callback = new PersonListCallback(personList, false, new CallbackLockConfig(failedMemcachedLock, 3, 0));
+		Assert.assertNull(callback.doInXMemcached(client));
+		Assert.assertEquals(0, callback.listLoadCount);
+		Assert.assertNull(client.get("person.c"));
+	}
+}
@@ -18,7 +18,6 @@ import org.danielli.xultimate.context.crypto.Encryptor;
 import org.danielli.xultimate.context.crypto.EncryptorException;
 import org.danielli.xultimate.util.StringUtils;
 import org.danielli.xultimate.util.crypto.AsymmetricAlgorithms;
-import org.danielli.xultimate.util.crypto.CipherUtils;
 import org.danielli.xultimate.util.io.IOUtils;
 
 /**
@@ -74,7 +73,7 @@ public class AsymmetricAlgorithmsCryptor implements Encryptor<byte[], byte[]>, D
 	@Override
 	public byte[] decrypt(byte[] source) throws DecryptorException {
 		try {
-			return CipherUtils.decrypt(asymmetricAlgorithms.getCipher(), keyPair.getPrivate(), source);
+			return asymmetricAlgorithms.decrypt(keyPair.getPrivate(), source);
 		} catch (Exception e) {
 			throw new DecryptorException(e.getMessage(), e);
 		}
@@ -83,7 +82,7 @@ public class AsymmetricAlgorithmsCryptor implements Encryptor<byte[], byte[]>, D
 	@Override
 	public byte[] encrypt(byte[] source) throws EncryptorException {
 		try {
-			return CipherUtils.encrypt(asymmetricAlgorithms.getCipher(), keyPair.getPublic(), source);
+			return asymmetricAlgorithms.encrypt(keyPair.getPublic(), source);
 		} catch (Exception e) {
 			throw new EncryptorException(e.getMessage(), e);
 		}
@@ -101,7 +101,7 @@ public class SymmetricAlgorithmsCryptor implements Encryptor<byte[], byte[]>, De
 	@Override
 	public byte[] decrypt(byte[] source) throws DecryptorException {
 		try {
-			return CipherUtils.decrypt(symmetricAlgorithms.getCipher(), key, source);
+			return symmetricAlgorithms.decrypt(key, source);
 		} catch (Exception e) {
 			throw new DecryptorException(e.getMessage(), e);
 		}
@@ -111,7 +111,7 @@ public class SymmetricAlgorithmsCryptor implements Encryptor<byte[], byte[]>, De
 	@Override
 	public byte[] encrypt(byte[] source) throws EncryptorException {
 		try {
-			return CipherUtils.encrypt(symmetricAlgorithms.getCipher(), key, source);
+			return symmetricAlgorithms.encrypt(key, source);
 		} catch (Exception e) {
 			throw new EncryptorException(e.getMessage(), e);
 		}
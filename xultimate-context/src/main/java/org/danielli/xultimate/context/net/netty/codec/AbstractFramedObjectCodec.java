@@ -0,0 +1,130 @@
+package org.danielli.xultimate.context.net.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageCodec;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+import org.danielli.xultimate.core.io.AbstractObjectInput;
+import org.danielli.xultimate.core.io.AbstractObjectOutput;
+
+/**
+ * 带长度前缀的对象编解码器。每个消息编码为4字节长度 + 消息体，直接写入由Channel分配器分配的（池化）{@code ByteBuf}，
+ * 解码时等待完整帧到达后再从累积缓冲区中原地读取，并限制最大帧长度。
+ * <p>
+ * 该类型编解码器持有每个连接的解码状态，不能以单例形式共享，通过Spring管理时需要声明为prototype。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public abstract class AbstractFramedObjectCodec<I> extends ByteToMessageCodec<I> {
+	
+	/** 长度前缀所占字节数。 */
+	public static final int LENGTH_FIELD_LENGTH = 4;
+	
+	protected int bufferSize = 256;
+	
+	protected int maxFrameLength = 8 * 1024 * 1024;
+	
+	/** 超长帧中剩余需要丢弃的字节数。 */
+	private long bytesToDiscard;
+	
+	public AbstractFramedObjectCodec(Class<? extends I> outboundMessageType) {
+		super(outboundMessageType);
+	}
+	
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+	
+	/**
+	 * 设置最大帧长度（不包含长度前缀），默认8M。
+	 */
+	public void setMaxFrameLength(int maxFrameLength) {
+		this.maxFrameLength = maxFrameLength;
+	}
+	
+	@Override
+	protected void encode(ChannelHandlerContext ctx, I msg, ByteBuf out) throws Exception {
+		int lengthIndex = out.writerIndex();
+		out.writeInt(0);
+		AbstractObjectOutput objectOutput = createObjectOutput(new ByteBufOutputStream(out));
+		try {
+			objectOutput.writeObject(msg);
+			objectOutput.flush();
+		} finally {
+			objectOutput.close();
+		}
+		int frameLength = out.writerIndex() - lengthIndex - LENGTH_FIELD_LENGTH;
+		if (frameLength > maxFrameLength) {
+			out.writerIndex(lengthIndex);
+			throw new TooLongFrameException("Frame length exceeds " + maxFrameLength + ": " + frameLength);
+		}
+		out.setInt(lengthIndex, frameLength);
+	}
+	
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+		if (bytesToDiscard > 0) {
+			int localBytesToDiscard = (int) Math.min(bytesToDiscard, in.readableBytes());
+			in.skipBytes(localBytesToDiscard);
+			bytesToDiscard -= localBytesToDiscard;
+			if (bytesToDiscard > 0) {
+				return;
+			}
+		}
+		while (in.readableBytes() >= LENGTH_FIELD_LENGTH) {
+			int readerIndex = in.readerIndex();
+			int frameLength = in.getInt(readerIndex);
+			if (frameLength < 0) {
+				in.skipBytes(in.readableBytes());
+				throw new CorruptedFrameException("Negative frame length: " + frameLength);
+			}
+			if (frameLength > maxFrameLength) {
+				long discard = (long) frameLength + LENGTH_FIELD_LENGTH;
+				int localBytesToDiscard = (int) Math.min(discard, in.readableBytes());
+				in.skipBytes(localBytesToDiscard);
+				bytesToDiscard = discard - localBytesToDiscard;
+				throw new TooLongFrameException("Frame length exceeds " + maxFrameLength + ": " + frameLength + " - discarded");
+			}
+			// frameLength可能接近Integer.MAX_VALUE，不能与长度前缀相加。
+			if (in.readableBytes() - LENGTH_FIELD_LENGTH < frameLength) {
+				return;
+			}
+			int frameIndex = readerIndex + LENGTH_FIELD_LENGTH;
+			in.readerIndex(frameIndex);
+			AbstractObjectInput objectInput;
+			if (in.hasArray()) {
+				objectInput = createObjectInput(in.array(), in.arrayOffset() + frameIndex, frameLength);
+			} else {
+				objectInput = createObjectInput(new ByteBufInputStream(in, frameLength));
+			}
+			try {
+				out.add(objectInput.readObject());
+			} finally {
+				objectInput.close();
+				in.readerIndex(frameIndex + frameLength);
+			}
+		}
+	}
+	
+	/**
+	 * 创建写入到指定输出流的对象输出流。
+	 */
+	protected abstract AbstractObjectOutput createObjectOutput(ByteBufOutputStream outputStream) throws Exception;
+	
+	/**
+	 * 创建读取指定字节数组片段的对象输入流，用于堆内缓冲区。
+	 */
+	protected abstract AbstractObjectInput createObjectInput(byte[] buffer, int offset, int count) throws Exception;
+	
+	/**
+	 * 创建读取指定输入流的对象输入流，用于直接内存缓冲区。
+	 */
+	protected abstract AbstractObjectInput createObjectInput(ByteBufInputStream inputStream) throws Exception;
+}
@@ -0,0 +1,39 @@
+package org.danielli.xultimate.context.net.netty.codec;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import java.io.Serializable;
+
+import org.danielli.xultimate.core.io.AbstractObjectInput;
+import org.danielli.xultimate.core.io.AbstractObjectOutput;
+import org.danielli.xultimate.core.io.support.JavaObjectInput;
+import org.danielli.xultimate.core.io.support.JavaObjectOutput;
+
+/**
+ * 通过{@code ObjectSerializer}提供的功能完成带长度前缀的序列化/解序列化支持。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class FramedJavaObjectCodec extends AbstractFramedObjectCodec<Serializable> {
+	
+	public FramedJavaObjectCodec() {
+		super(Serializable.class);
+	}
+
+	@Override
+	protected AbstractObjectOutput createObjectOutput(ByteBufOutputStream outputStream) throws Exception {
+		return new JavaObjectOutput(outputStream, bufferSize);
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(byte[] buffer, int offset, int count) throws Exception {
+		return new JavaObjectInput(buffer, offset, count);
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(ByteBufInputStream inputStream) throws Exception {
+		return new JavaObjectInput(inputStream, bufferSize);
+	}
+}
@@ -0,0 +1,46 @@
+package org.danielli.xultimate.context.net.netty.codec;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import org.danielli.xultimate.core.io.AbstractObjectInput;
+import org.danielli.xultimate.core.io.AbstractObjectOutput;
+import org.danielli.xultimate.core.io.support.RpcKryoObjectInput;
+import org.danielli.xultimate.core.io.support.RpcKryoObjectOutput;
+import org.danielli.xultimate.core.serializer.kryo.KryoGenerator;
+import org.danielli.xultimate.core.serializer.kryo.support.ThreadLocalKryoGenerator;
+
+/**
+ * 通过{@code RpcKryoSerializer}提供的功能完成带长度前缀的序列化/解序列化支持。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class FramedRpcKryoObjectCodec extends AbstractFramedObjectCodec<Object> {
+	
+	protected KryoGenerator kryoGenerator = ThreadLocalKryoGenerator.INSTANCE;
+	
+	public FramedRpcKryoObjectCodec() {
+		super(Object.class);
+	}
+	
+	public FramedRpcKryoObjectCodec(KryoGenerator kryoGenerator) {
+		this();
+		this.kryoGenerator = kryoGenerator;
+	}
+
+	@Override
+	protected AbstractObjectOutput createObjectOutput(ByteBufOutputStream outputStream) throws Exception {
+		return new RpcKryoObjectOutput(outputStream, bufferSize, kryoGenerator.generate());
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(byte[] buffer, int offset, int count) throws Exception {
+		return new RpcKryoObjectInput(buffer, offset, count, kryoGenerator.generate());
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(ByteBufInputStream inputStream) throws Exception {
+		return new RpcKryoObjectInput(inputStream, bufferSize, kryoGenerator.generate());
+	}
+}
@@ -0,0 +1,47 @@
+package org.danielli.xultimate.context.net.netty.codec;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import org.danielli.xultimate.core.io.AbstractObjectInput;
+import org.danielli.xultimate.core.io.AbstractObjectOutput;
+import org.danielli.xultimate.core.io.support.RpcProtobufObjectInput;
+import org.danielli.xultimate.core.io.support.RpcProtobufObjectOutput;
+import org.danielli.xultimate.core.serializer.kryo.KryoGenerator;
+import org.danielli.xultimate.core.serializer.kryo.support.ThreadLocalKryoGenerator;
+import org.danielli.xultimate.core.serializer.protostuff.util.LinkedBufferUtils;
+
+/**
+ * 通过{@code RpcProtobufSerializer}提供的功能完成带长度前缀的序列化/解序列化支持。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class FramedRpcProtobufObjectCodec extends AbstractFramedObjectCodec<Object> {
+	
+	protected KryoGenerator kryoGenerator = ThreadLocalKryoGenerator.INSTANCE;
+	
+	public FramedRpcProtobufObjectCodec() {
+		super(Object.class);
+	}
+	
+	public FramedRpcProtobufObjectCodec(KryoGenerator kryoGenerator) {
+		this();
+		this.kryoGenerator = kryoGenerator;
+	}
+
+	@Override
+	protected AbstractObjectOutput createObjectOutput(ByteBufOutputStream outputStream) throws Exception {
+		return new RpcProtobufObjectOutput(outputStream, bufferSize, LinkedBufferUtils.getCurrentLinkedBuffer(bufferSize), kryoGenerator.generate());
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(byte[] buffer, int offset, int count) throws Exception {
+		return new RpcProtobufObjectInput(buffer, offset, count, kryoGenerator.generate());
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(ByteBufInputStream inputStream) throws Exception {
+		return new RpcProtobufObjectInput(inputStream, bufferSize, kryoGenerator.generate());
+	}
+}
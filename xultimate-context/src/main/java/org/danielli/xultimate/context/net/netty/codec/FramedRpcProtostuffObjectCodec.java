@@ -0,0 +1,47 @@
+package org.danielli.xultimate.context.net.netty.codec;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+import org.danielli.xultimate.core.io.AbstractObjectInput;
+import org.danielli.xultimate.core.io.AbstractObjectOutput;
+import org.danielli.xultimate.core.io.support.RpcProtostuffObjectInput;
+import org.danielli.xultimate.core.io.support.RpcProtostuffObjectOutput;
+import org.danielli.xultimate.core.serializer.kryo.KryoGenerator;
+import org.danielli.xultimate.core.serializer.kryo.support.ThreadLocalKryoGenerator;
+import org.danielli.xultimate.core.serializer.protostuff.util.LinkedBufferUtils;
+
+/**
+ * 通过{@code RpcProtostuffSerializer}提供的功能完成带长度前缀的序列化/解序列化支持。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class FramedRpcProtostuffObjectCodec extends AbstractFramedObjectCodec<Object> {
+	
+	protected KryoGenerator kryoGenerator = ThreadLocalKryoGenerator.INSTANCE;
+	
+	public FramedRpcProtostuffObjectCodec() {
+		super(Object.class);
+	}
+	
+	public FramedRpcProtostuffObjectCodec(KryoGenerator kryoGenerator) {
+		this();
+		this.kryoGenerator = kryoGenerator;
+	}
+
+	@Override
+	protected AbstractObjectOutput createObjectOutput(ByteBufOutputStream outputStream) throws Exception {
+		return new RpcProtostuffObjectOutput(outputStream, bufferSize, LinkedBufferUtils.getCurrentLinkedBuffer(bufferSize), kryoGenerator.generate());
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(byte[] buffer, int offset, int count) throws Exception {
+		return new RpcProtostuffObjectInput(buffer, offset, count, kryoGenerator.generate());
+	}
+
+	@Override
+	protected AbstractObjectInput createObjectInput(ByteBufInputStream inputStream) throws Exception {
+		return new RpcProtostuffObjectInput(inputStream, bufferSize, kryoGenerator.generate());
+	}
+}
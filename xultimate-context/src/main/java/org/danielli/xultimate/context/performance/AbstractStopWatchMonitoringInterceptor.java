@@ -1,6 +1,9 @@
 package org.danielli.xultimate.context.performance;
 
+import org.aopalliance.intercept.MethodInvocation;
+import org.danielli.xultimate.util.performance.LatencyRegistry;
 import org.danielli.xultimate.util.time.stopwatch.support.AbstractStopWatchSummary;
+import org.slf4j.Logger;
 import org.springframework.aop.interceptor.PerformanceMonitorInterceptor;
 
 /**
@@ -16,7 +19,46 @@ public abstract class AbstractStopWatchMonitoringInterceptor extends AbstractMon
 
 	protected AbstractStopWatchSummary stopWatchSummary;
 	
+	private boolean recordLatency = false;
+	
 	public void setStopWatchSummary(AbstractStopWatchSummary stopWatchSummary) {
 		this.stopWatchSummary = stopWatchSummary;
 	}
+	
+	/**
+	 * 设置是否将每次方法调用的耗时记录到{@link LatencyRegistry}，名称与秒表标识符相同。默认为false。
+	 * 为true时即使日志未开启TRACE级别也会记录，此时只计时而不创建秒表。
+	 */
+	public void setRecordLatency(boolean recordLatency) {
+		this.recordLatency = recordLatency;
+	}
+	
+	@Override
+	protected boolean isInterceptorEnabled(MethodInvocation invocation, Logger logger) {
+		return this.recordLatency || super.isInterceptorEnabled(invocation, logger);
+	}
+	
+	/**
+	 * 只计时并记录到{@link LatencyRegistry}，用于日志未开启时。
+	 */
+	protected Object invokeAndRecordLatency(MethodInvocation invocation, String name) throws Throwable {
+		long startTime = System.nanoTime();
+		try {
+			return invocation.proceed();
+		} finally {
+			LatencyRegistry.record(name, System.nanoTime() - startTime);
+		}
+	}
+	
+	/**
+	 * 将方法调用的耗时记录到{@link LatencyRegistry}。
+	 *
+	 * @param name 名称。
+	 * @param startTime 方法调用的开始时间，时间单位为纳秒。
+	 */
+	protected void recordLatency(String name, long startTime) {
+		if (this.recordLatency) {
+			LatencyRegistry.record(name, System.nanoTime() - startTime);
+		}
+	}
 }
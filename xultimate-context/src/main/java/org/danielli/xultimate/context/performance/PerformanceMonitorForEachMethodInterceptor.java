@@ -26,14 +26,19 @@ public class PerformanceMonitorForEachMethodInterceptor extends AbstractStopWatc
 	@Override
 	protected Object invokeUnderTrace(MethodInvocation invocation, Logger logger) throws Throwable {
 		String name = createInvocationTraceName(invocation);
+		if (!isLoggerEnabled(logger)) {
+			return invokeAndRecordLatency(invocation, name);
+		}
 		StopWatch stopWatch = new StopWatch(name);
 		stopWatch.start();
 		
+		long startTime = System.nanoTime();
 		try {
 			stopWatch.mark(new StringBuilder(name).append(" Start").toString());
 			return invocation.proceed();
 		} finally {
 			stopWatch.mark(new StringBuilder(name).append(" End").toString());
+			recordLatency(name, startTime);
 			stopWatch.stop();
 			stopWatchSummary.summarize(stopWatch, logger);
 		}
@@ -27,27 +27,34 @@ public class PerformanceMonitorForOneMethodInterceptor extends AbstractStopWatch
 	@Override
 	protected Object invokeUnderTrace(MethodInvocation invocation, Logger logger) throws Throwable {
 		String name = createInvocationTraceName(invocation);
+		if (!isLoggerEnabled(logger)) {
+			return invokeAndRecordLatency(invocation, name);
+		}
 		StopWatch stopWatch = StopWatchContext.get();
 		if (stopWatch == null) {
 			stopWatch = new StopWatch(name);
 			StopWatchContext.set(stopWatch);
 			stopWatch.start();
 			
+			long startTime = System.nanoTime();
 			try {
 				stopWatch.mark(new StringBuilder(name).append(" Start").toString());
 				return invocation.proceed();
 			} finally {
 				stopWatch.mark(new StringBuilder(name).append(" End").toString());
+				recordLatency(name, startTime);
 				stopWatch.stop();
 				StopWatchContext.remove();
 				stopWatchSummary.summarize(stopWatch, logger);
 			}
 		} else {
+			long startTime = System.nanoTime();
 			try {
 				stopWatch.mark(new StringBuilder(name).append(" Start").toString());
 				return invocation.proceed();
 			} finally {
 				stopWatch.mark(new StringBuilder(name).append(" End").toString());
+				recordLatency(name, startTime);
 			}
 		}
 		
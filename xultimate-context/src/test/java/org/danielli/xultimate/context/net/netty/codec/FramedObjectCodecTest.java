@@ -0,0 +1,141 @@
+package org.danielli.xultimate.context.net.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FramedObjectCodecTest {
+
+	private static final int CODEC_COUNT = 4;
+
+	private static AbstractFramedObjectCodec<?> createCodec(int index) {
+		switch (index) {
+		case 0:
+			return new FramedJavaObjectCodec();
+		case 1:
+			return new FramedRpcKryoObjectCodec();
+		case 2:
+			return new FramedRpcProtobufObjectCodec();
+		default:
+			return new FramedRpcProtostuffObjectCodec();
+		}
+	}
+
+	private static String createMessage(int length) {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append((char) ('a' + i % 26));
+		}
+		return builder.toString();
+	}
+
+	private static ByteBuf encode(int index, Object... messages) {
+		EmbeddedChannel channel = new EmbeddedChannel(createCodec(index));
+		ByteBuf frames = Unpooled.buffer();
+		for (Object message : messages) {
+			Assert.assertTrue(channel.writeOutbound(message));
+			ByteBuf frame = (ByteBuf) channel.readOutbound();
+			frames.writeBytes(frame);
+			frame.release();
+		}
+		Assert.assertFalse(channel.finish());
+		return frames;
+	}
+
+	private static ByteBuf copy(ByteBuf source, int index, int length, boolean direct) {
+		ByteBuf buffer = direct ? Unpooled.directBuffer(length) : Unpooled.buffer(length);
+		buffer.writeBytes(source, index, length);
+		return buffer;
+	}
+
+	@Test
+	public void testSplitFrame() {
+		String message = createMessage(300);
+		for (int i = 0; i < CODEC_COUNT; i++) {
+			ByteBuf frames = encode(i, message);
+			for (boolean direct : new boolean[] { false, true }) {
+				// 逐字节到达，只有最后一个字节到达后才能解码出消息。
+				EmbeddedChannel channel = new EmbeddedChannel(createCodec(i));
+				int length = frames.readableBytes();
+				for (int j = 0; j < length - 1; j++) {
+					channel.writeInbound(copy(frames, j, 1, direct));
+					Assert.assertNull(channel.readInbound());
+				}
+				channel.writeInbound(copy(frames, length - 1, 1, direct));
+				Assert.assertEquals(message, channel.readInbound());
+				Assert.assertNull(channel.readInbound());
+				Assert.assertFalse(channel.finish());
+			}
+			frames.release();
+		}
+	}
+
+	@Test
+	public void testMultipleFrames() {
+		String[] messages = { "daniellitoc", createMessage(1000), "", createMessage(64) };
+		for (int i = 0; i < CODEC_COUNT; i++) {
+			ByteBuf frames = encode(i, (Object[]) messages);
+			for (boolean direct : new boolean[] { false, true }) {
+				// 多个帧在同一次读取中到达，最后一个帧缺少一个字节。
+				EmbeddedChannel channel = new EmbeddedChannel(createCodec(i));
+				int length = frames.readableBytes();
+				channel.writeInbound(copy(frames, 0, length - 1, direct));
+				for (int j = 0; j < messages.length - 1; j++) {
+					Assert.assertEquals(messages[j], channel.readInbound());
+				}
+				Assert.assertNull(channel.readInbound());
+				channel.writeInbound(copy(frames, length - 1, 1, direct));
+				Assert.assertEquals(messages[messages.length - 1], channel.readInbound());
+				Assert.assertNull(channel.readInbound());
+				Assert.assertFalse(channel.finish());
+			}
+			frames.release();
+		}
+	}
+
+	@Test
+	public void testTooLongFrame() {
+		String tooLongMessage = createMessage(500);
+		String message = "daniellitoc";
+		for (int i = 0; i < CODEC_COUNT; i++) {
+			ByteBuf frames = encode(i, tooLongMessage, message);
+			int tooLongFrameLength = frames.getInt(0) + AbstractFramedObjectCodec.LENGTH_FIELD_LENGTH;
+			for (boolean direct : new boolean[] { false, true }) {
+				AbstractFramedObjectCodec<?> codec = createCodec(i);
+				codec.setMaxFrameLength(100);
+				EmbeddedChannel channel = new EmbeddedChannel(codec);
+				try {
+					channel.writeInbound(copy(frames, 0, 50, direct));
+					Assert.fail();
+				} catch (TooLongFrameException e) {
+				}
+				// 超长帧的剩余部分在之后的读取中被丢弃。
+				channel.writeInbound(copy(frames, 50, tooLongFrameLength - 60, direct));
+				Assert.assertNull(channel.readInbound());
+				channel.writeInbound(copy(frames, tooLongFrameLength - 10, frames.readableBytes() - tooLongFrameLength + 10, direct));
+				Assert.assertEquals(message, channel.readInbound());
+				Assert.assertNull(channel.readInbound());
+				Assert.assertFalse(channel.finish());
+			}
+			frames.release();
+		}
+	}
+
+	@Test
+	public void testMaxFrameLength() {
+		// 帧长度接近Integer.MAX_VALUE时等待剩余字节，不能因长度计算溢出而提前解码。
+		FramedJavaObjectCodec codec = new FramedJavaObjectCodec();
+		codec.setMaxFrameLength(Integer.MAX_VALUE);
+		EmbeddedChannel channel = new EmbeddedChannel(codec);
+		ByteBuf buffer = Unpooled.buffer();
+		buffer.writeInt(Integer.MAX_VALUE - 1);
+		buffer.writeBytes(new byte[16]);
+		channel.writeInbound(buffer);
+		Assert.assertNull(channel.readInbound());
+		channel.finish();
+	}
+}
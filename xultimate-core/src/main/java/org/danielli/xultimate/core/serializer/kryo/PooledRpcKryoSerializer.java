@@ -0,0 +1,206 @@
+package org.danielli.xultimate.core.serializer.kryo;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.danielli.xultimate.core.serializer.DeserializerException;
+import org.danielli.xultimate.core.serializer.SerializerException;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * 复用缓冲区的Kryo序列化实现。每个线程持有一组Output/Input实例，序列化时不再为每次调用分配新的缓冲区，
+ * 缓冲区大小根据最近的序列化结果自适应调整，超过{@link #setMaxRetainedBufferSize(int)}后的大缓冲区不会被保留。
+ * 同时提供{@link #serialize(Object, ByteBuffer)}和{@link #serializeTo(Object, OutputStream)}，避免生成中间byte[]。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class PooledRpcKryoSerializer extends RpcKryoSerializer {
+
+	private static final byte[] EMPTY_BUFFER = new byte[0];
+
+	protected int maxRetainedBufferSize = 64 * 1024;
+
+	private final ThreadLocal<BufferHolder> currentBufferHolder = new ThreadLocal<BufferHolder>() {
+		@Override
+		protected BufferHolder initialValue() {
+			return new BufferHolder(bufferSize);
+		}
+	};
+
+	/**
+	 * 设置线程可保留的最大缓冲区大小，默认64K。
+	 *
+	 * @param maxRetainedBufferSize 最大保留缓冲区大小。
+	 */
+	public void setMaxRetainedBufferSize(int maxRetainedBufferSize) {
+		this.maxRetainedBufferSize = maxRetainedBufferSize;
+	}
+
+	@Override
+	public <T> byte[] serialize(T source) throws SerializerException {
+		BufferHolder holder = acquire();
+		if (holder == null) {
+			return super.serialize(source);
+		}
+		try {
+			Output output = holder.output;
+			serialize(source, output);
+			return output.toBytes();
+		} finally {
+			release(holder);
+		}
+	}
+
+	/**
+	 * 序列化到给定的ByteBuffer，不生成中间byte[]。
+	 *
+	 * @param source 需要序列化的对像实例。
+	 * @param byteBuffer 目标缓冲区。
+	 * @return 写入的字节数。
+	 * @throws SerializerException 目标缓冲区剩余空间不足或序列化失败。
+	 */
+	public <T> int serialize(T source, ByteBuffer byteBuffer) throws SerializerException {
+		BufferHolder holder = acquire();
+		Output output = (holder == null) ? new Output(bufferSize, -1) : holder.output;
+		try {
+			serialize(source, output);
+			int length = output.position();
+			if (byteBuffer.remaining() < length) {
+				throw new SerializerException("Buffer overflow. Available: " + byteBuffer.remaining() + ", required: " + length);
+			}
+			byteBuffer.put(output.getBuffer(), 0, length);
+			return length;
+		} finally {
+			if (holder != null) {
+				release(holder);
+			}
+		}
+	}
+
+	/**
+	 * 直接序列化到给定的输出流，复用当前线程的缓冲区作为写缓冲。
+	 *
+	 * @param source 需要序列化的对像实例。
+	 * @param outputStream 输出流。
+	 */
+	public <T> void serializeTo(T source, OutputStream outputStream) throws SerializerException {
+		BufferHolder holder = acquire();
+		Output output = (holder == null) ? new Output(bufferSize, -1) : holder.output;
+		try {
+			output.setOutputStream(outputStream);
+			serialize(source, output);
+			output.flush();
+		} catch (SerializerException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SerializerException(e.getMessage(), e);
+		} finally {
+			output.setOutputStream(null);
+			if (holder != null) {
+				release(holder);
+			}
+		}
+	}
+
+	@Override
+	public <T> T deserialize(byte[] bytes, Class<T> clazz) throws DeserializerException {
+		return deserialize(bytes, 0, bytes.length, clazz);
+	}
+
+	public <T> T deserialize(byte[] bytes, int offset, int count, Class<T> clazz) throws DeserializerException {
+		BufferHolder holder = acquire();
+		if (holder == null) {
+			return deserialize(new Input(bytes, offset, count), clazz);
+		}
+		Input input = holder.input;
+		try {
+			input.setBuffer(bytes, offset, count);
+			return deserialize(input, clazz);
+		} finally {
+			input.setBuffer(EMPTY_BUFFER);
+			release(holder);
+		}
+	}
+
+	/**
+	 * 从给定的ByteBuffer反序列化，堆内缓冲区直接读取其底层数组。
+	 *
+	 * @param byteBuffer 源缓冲区，读取完成后position移动到已消费的位置。
+	 * @param clazz 类型。
+	 * @return 对象实例。
+	 */
+	public <T> T deserialize(ByteBuffer byteBuffer, Class<T> clazz) throws DeserializerException {
+		byte[] bytes;
+		int offset;
+		int count = byteBuffer.remaining();
+		if (byteBuffer.hasArray()) {
+			bytes = byteBuffer.array();
+			offset = byteBuffer.arrayOffset() + byteBuffer.position();
+		} else {
+			bytes = new byte[count];
+			byteBuffer.duplicate().get(bytes);
+			offset = 0;
+		}
+		BufferHolder holder = acquire();
+		Input input = (holder == null) ? new Input() : holder.input;
+		try {
+			input.setBuffer(bytes, offset, count);
+			T result = deserialize(input, clazz);
+			byteBuffer.position(byteBuffer.position() + input.position() - offset);
+			return result;
+		} finally {
+			input.setBuffer(EMPTY_BUFFER);
+			if (holder != null) {
+				release(holder);
+			}
+		}
+	}
+
+	/**
+	 * 获取当前线程的缓冲区，如果正在被使用（如自定义Serializer中嵌套调用），返回null。
+	 */
+	private BufferHolder acquire() {
+		BufferHolder holder = currentBufferHolder.get();
+		if (holder.inUse) {
+			return null;
+		}
+		holder.inUse = true;
+		return holder;
+	}
+
+	private void release(BufferHolder holder) {
+		holder.adapt(bufferSize, maxRetainedBufferSize);
+		holder.inUse = false;
+	}
+
+	private static class BufferHolder {
+
+		private final Output output;
+
+		private final Input input = new Input();
+
+		private boolean inUse;
+
+		/** 最近一次序列化结果大小，用于自适应调整缓冲区。 */
+		private int lastSize;
+
+		BufferHolder(int bufferSize) {
+			this.output = new Output(bufferSize, -1);
+		}
+
+		void adapt(int bufferSize, int maxRetainedBufferSize) {
+			int size = output.position();
+			byte[] buffer = output.getBuffer();
+			if (buffer.length > maxRetainedBufferSize) {
+				// 缓冲区过大时按最近两次的实际使用量回收，避免单次大对象长期占用内存。
+				int nextSize = Math.max(bufferSize, Math.min(maxRetainedBufferSize, Integer.highestOneBit(Math.max(size, lastSize) * 2 - 1)));
+				output.setBuffer(new byte[nextSize], -1);
+			}
+			output.clear();
+			lastSize = size;
+		}
+	}
+}
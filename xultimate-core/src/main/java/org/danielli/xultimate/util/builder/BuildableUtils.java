@@ -0,0 +1,315 @@
+package org.danielli.xultimate.util.builder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.danielli.xultimate.util.ArrayUtils;
+import org.danielli.xultimate.util.reflect.AnnotationUtils;
+
+/**
+ * 按{@link Buildable}生成的equals、hashCode、toString实现。每个类第一次使用时按{@link BuildType}选出字段（规则与
+ * {@link EqualsBuilderUtils}、{@link HashCodeBuilderUtils}、{@link ToStringBuilderUtils}相同），
+ * 并按字段类型生成访问器缓存起来，之后通过字段的基本类型读取方法读取，基本类型不装箱，也不再创建Builder和遍历父类。
+ * <p>
+ * 结果与{@link EqualsBuilderUtils#reflectionEqualsForBothClass(Object, Object)}、
+ * {@link HashCodeBuilderUtils#reflectionHashCode(Object)}、{@link ToStringBuilderUtils#reflectionToString(Object)}一致。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class BuildableUtils {
+
+	private static final int INITIAL = 17;
+
+	private static final int MULTIPLIER = 37;
+
+	/**
+	 * 本地缓存。
+	 */
+	private static ConcurrentHashMap<Class<?>, ClassAccessor> accessorCache = new ConcurrentHashMap<>();
+
+	/**
+	 * 判断两个对象是否相等，两个对象的类必须相同。
+	 *
+	 * @param lhs <code>this</code>对象。
+	 * @param rhs 另一个对象。
+	 * @return 相等时返回true。
+	 * @see EqualsBuilderUtils#reflectionEqualsForBothClass(Object, Object)
+	 */
+	public static boolean equals(Object lhs, Object rhs) {
+		if (lhs == rhs) {
+			return true;
+		}
+		if (lhs == null || rhs == null || lhs.getClass() != rhs.getClass()) {
+			return false;
+		}
+		try {
+			for (FieldAccessor fieldAccessor : getClassAccessor(lhs.getClass()).equalsFieldAccessors) {
+				if (!fieldAccessor.isEqual(lhs, rhs)) {
+					return false;
+				}
+			}
+		} catch (IllegalAccessException e) {
+			throw new InternalError("Unexpected IllegalAccessException");
+		}
+		return true;
+	}
+
+	/**
+	 * 计算对象的哈希值。
+	 *
+	 * @param object 对象。
+	 * @return 哈希值。
+	 * @throws IllegalArgumentException 对象为null时抛出。
+	 * @see HashCodeBuilderUtils#reflectionHashCode(Object)
+	 */
+	public static int hashCode(Object object) {
+		if (object == null) {
+			throw new IllegalArgumentException("The object to build a hash code for must not be null");
+		}
+		int total = INITIAL;
+		try {
+			for (FieldAccessor fieldAccessor : getClassAccessor(object.getClass()).hashCodeFieldAccessors) {
+				total = fieldAccessor.hash(total, object);
+			}
+		} catch (IllegalAccessException e) {
+			throw new InternalError("Unexpected IllegalAccessException");
+		}
+		return total;
+	}
+
+	/**
+	 * 使用默认的ToStringStyle生成对象的字符串表示。
+	 *
+	 * @param object 对象。
+	 * @return 字符串表示。
+	 * @see ToStringBuilderUtils#reflectionToString(Object)
+	 */
+	public static String toString(Object object) {
+		ToStringBuilder builder = new ToStringBuilder(object);
+		try {
+			for (FieldAccessor fieldAccessor : getClassAccessor(object.getClass()).toStringFieldAccessors) {
+				builder.append(fieldAccessor.field.getName(), fieldAccessor.field.get(object));
+			}
+		} catch (IllegalAccessException e) {
+			throw new InternalError("Unexpected IllegalAccessException");
+		}
+		return builder.toString();
+	}
+
+	private static ClassAccessor getClassAccessor(Class<?> clazz) {
+		ClassAccessor classAccessor = accessorCache.get(clazz);
+		if (classAccessor == null) {
+			classAccessor = new ClassAccessor(createFieldAccessors(clazz, BuildType.EQUALS), createFieldAccessors(clazz, BuildType.HASH_CODE), createFieldAccessors(clazz, BuildType.TO_STRING));
+			accessorCache.put(clazz, classAccessor);
+		}
+		return classAccessor;
+	}
+
+	/**
+	 * 按当前类到父类的顺序选出字段并生成访问器。
+	 */
+	private static FieldAccessor[] createFieldAccessors(Class<?> clazz, BuildType buildType) {
+		List<FieldAccessor> fieldAccessorList = new ArrayList<>();
+		for (Class<?> currentClass = clazz; currentClass != null; currentClass = currentClass.getSuperclass()) {
+			Buildable classBuildable = AnnotationUtils.getAnnotation(currentClass, Buildable.class);
+			boolean classHas = classBuildable != null && ArrayUtils.contains(classBuildable.value(), buildType);
+			for (Field field : currentClass.getDeclaredFields()) {
+				Buildable fieldBuildable = AnnotationUtils.getAnnotation(field, Buildable.class);
+				if ((classBuildable == null && fieldBuildable == null || classHas && fieldBuildable == null || fieldBuildable != null && ArrayUtils.contains(fieldBuildable.value(), buildType))
+						&& (field.getName().indexOf('$') == -1)
+						&& (!Modifier.isTransient(field.getModifiers()))
+						&& (!Modifier.isStatic(field.getModifiers()))) {
+					fieldAccessorList.add(new FieldAccessor(field));
+				}
+			}
+		}
+		return fieldAccessorList.toArray(new FieldAccessor[fieldAccessorList.size()]);
+	}
+
+	/**
+	 * 与HashCodeBuilder#append(Object)相同的哈希累加。
+	 */
+	private static int appendHash(int total, Object value) {
+		if (value == null) {
+			return total * MULTIPLIER;
+		}
+		if (!value.getClass().isArray()) {
+			return total * MULTIPLIER + value.hashCode();
+		}
+		if (value instanceof long[]) {
+			for (long element : (long[]) value) {
+				total = total * MULTIPLIER + (int) (element ^ (element >> 32));
+			}
+		} else if (value instanceof int[]) {
+			for (int element : (int[]) value) {
+				total = total * MULTIPLIER + element;
+			}
+		} else if (value instanceof short[]) {
+			for (short element : (short[]) value) {
+				total = total * MULTIPLIER + element;
+			}
+		} else if (value instanceof char[]) {
+			for (char element : (char[]) value) {
+				total = total * MULTIPLIER + element;
+			}
+		} else if (value instanceof byte[]) {
+			for (byte element : (byte[]) value) {
+				total = total * MULTIPLIER + element;
+			}
+		} else if (value instanceof double[]) {
+			for (double element : (double[]) value) {
+				long bits = Double.doubleToLongBits(element);
+				total = total * MULTIPLIER + (int) (bits ^ (bits >> 32));
+			}
+		} else if (value instanceof float[]) {
+			for (float element : (float[]) value) {
+				total = total * MULTIPLIER + Float.floatToIntBits(element);
+			}
+		} else if (value instanceof boolean[]) {
+			for (boolean element : (boolean[]) value) {
+				total = total * MULTIPLIER + (element ? 0 : 1);
+			}
+		} else {
+			for (Object element : (Object[]) value) {
+				total = appendHash(total, element);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * 类的字段访问器。
+	 */
+	private static class ClassAccessor {
+
+		private final FieldAccessor[] equalsFieldAccessors;
+
+		private final FieldAccessor[] hashCodeFieldAccessors;
+
+		private final FieldAccessor[] toStringFieldAccessors;
+
+		ClassAccessor(FieldAccessor[] equalsFieldAccessors, FieldAccessor[] hashCodeFieldAccessors, FieldAccessor[] toStringFieldAccessors) {
+			this.equalsFieldAccessors = equalsFieldAccessors;
+			this.hashCodeFieldAccessors = hashCodeFieldAccessors;
+			this.toStringFieldAccessors = toStringFieldAccessors;
+		}
+	}
+
+	/**
+	 * 按字段类型特化的访问器，基本类型的比较和哈希与其包装类的equals、hashCode一致。
+	 */
+	private static class FieldAccessor {
+
+		private static final int OBJECT = 0;
+
+		private static final int INT = 1;
+
+		private static final int LONG = 2;
+
+		private static final int BOOLEAN = 3;
+
+		private static final int DOUBLE = 4;
+
+		private static final int FLOAT = 5;
+
+		private static final int CHAR = 6;
+
+		private static final int SHORT = 7;
+
+		private static final int BYTE = 8;
+
+		private final Field field;
+
+		private final int type;
+
+		FieldAccessor(Field field) {
+			field.setAccessible(true);
+			this.field = field;
+			Class<?> fieldType = field.getType();
+			if (fieldType == int.class) {
+				this.type = INT;
+			} else if (fieldType == long.class) {
+				this.type = LONG;
+			} else if (fieldType == boolean.class) {
+				this.type = BOOLEAN;
+			} else if (fieldType == double.class) {
+				this.type = DOUBLE;
+			} else if (fieldType == float.class) {
+				this.type = FLOAT;
+			} else if (fieldType == char.class) {
+				this.type = CHAR;
+			} else if (fieldType == short.class) {
+				this.type = SHORT;
+			} else if (fieldType == byte.class) {
+				this.type = BYTE;
+			} else {
+				this.type = OBJECT;
+			}
+		}
+
+		int hash(int total, Object object) throws IllegalAccessException {
+			switch (type) {
+				case INT:
+					return total * MULTIPLIER + field.getInt(object);
+				case LONG:
+					long longValue = field.getLong(object);
+					return total * MULTIPLIER + (int) (longValue ^ (longValue >>> 32));
+				case BOOLEAN:
+					return total * MULTIPLIER + (field.getBoolean(object) ? 1231 : 1237);
+				case DOUBLE:
+					long bits = Double.doubleToLongBits(field.getDouble(object));
+					return total * MULTIPLIER + (int) (bits ^ (bits >>> 32));
+				case FLOAT:
+					return total * MULTIPLIER + Float.floatToIntBits(field.getFloat(object));
+				case CHAR:
+					return total * MULTIPLIER + field.getChar(object);
+				case SHORT:
+					return total * MULTIPLIER + field.getShort(object);
+				case BYTE:
+					return total * MULTIPLIER + field.getByte(object);
+				default:
+					return appendHash(total, field.get(object));
+			}
+		}
+
+		boolean isEqual(Object lhs, Object rhs) throws IllegalAccessException {
+			switch (type) {
+				case INT:
+					return field.getInt(lhs) == field.getInt(rhs);
+				case LONG:
+					return field.getLong(lhs) == field.getLong(rhs);
+				case BOOLEAN:
+					return field.getBoolean(lhs) == field.getBoolean(rhs);
+				case DOUBLE:
+					return Double.doubleToLongBits(field.getDouble(lhs)) == Double.doubleToLongBits(field.getDouble(rhs));
+				case FLOAT:
+					return Float.floatToIntBits(field.getFloat(lhs)) == Float.floatToIntBits(field.getFloat(rhs));
+				case CHAR:
+					return field.getChar(lhs) == field.getChar(rhs);
+				case SHORT:
+					return field.getShort(lhs) == field.getShort(rhs);
+				case BYTE:
+					return field.getByte(lhs) == field.getByte(rhs);
+				default:
+					Object lhsValue = field.get(lhs);
+					Object rhsValue = field.get(rhs);
+					if (lhsValue == rhsValue) {
+						return true;
+					}
+					if (lhsValue == null || rhsValue == null) {
+						return false;
+					}
+					if (!lhsValue.getClass().isArray()) {
+						return lhsValue.equals(rhsValue);
+					}
+					return new EqualsBuilder().append(lhsValue, rhsValue).isEquals();
+			}
+		}
+	}
+}
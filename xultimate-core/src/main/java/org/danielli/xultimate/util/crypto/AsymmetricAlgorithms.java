@@ -1,5 +1,6 @@
 package org.danielli.xultimate.util.crypto;
 
+import java.security.Key;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
@@ -60,4 +61,26 @@ public enum AsymmetricAlgorithms {
 	        throw new CryptoException(e.getMessage(), e);
 	    }
 	}
+
+	/**
+	 * 使用{@link CipherPool}中当前线程缓存的加密器对数据进行加密，避免每次创建加密器。
+	 * 
+	 * @param key 密钥，加密时通常为公钥，解密时为私钥。
+	 * @param data 加密数据。
+	 * @return 加密后的数据。
+	 */
+	public byte[] encrypt(Key key, byte[] data) throws CryptoException {
+		return CipherPool.encrypt(name, key, data);
+	}
+	
+	/**
+	 * 使用{@link CipherPool}中当前线程缓存的加密器对数据进行解密，避免每次创建加密器。
+	 * 
+	 * @param key 密钥，加密时通常为公钥，解密时为私钥。
+	 * @param data 解密数据。
+	 * @return 解密后的数据。
+	 */
+	public byte[] decrypt(Key key, byte[] data) throws CryptoException {
+		return CipherPool.decrypt(name, key, data);
+	}
 }
@@ -0,0 +1,99 @@
+package org.danielli.xultimate.util.crypto;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+
+/**
+ * 加密器池。每个线程按算法名称缓存一个{@link Cipher}，避免每次加密、解密都通过{@link Cipher#getInstance(String)}查找Provider并创建加密器。
+ * 与上一次使用的模式和密钥（同一实例）相同且没有IV时，{@link Cipher#doFinal(byte[])}后的加密器仍处于初始化状态，直接复用而不再初始化，
+ * 否则重新初始化。缓存的加密器个数不超过线程数与算法个数之积。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see SymmetricAlgorithms#encrypt(Key, byte[])
+ * @see AsymmetricAlgorithms#encrypt(Key, byte[])
+ */
+public class CipherPool {
+
+	private static final ThreadLocal<Map<String, PooledCipher>> currentPooledCiphers = new ThreadLocal<Map<String, PooledCipher>>() {
+		@Override
+		protected Map<String, PooledCipher> initialValue() {
+			return new HashMap<>();
+		}
+	};
+
+	/**
+	 * 使用当前线程缓存的加密器对数据进行加密。
+	 *
+	 * @param algorithm 算法名称。
+	 * @param key 密钥。
+	 * @param data 加密数据。
+	 * @return 加密后的数据。
+	 */
+	public static byte[] encrypt(String algorithm, Key key, byte[] data) throws CryptoException {
+		return doFinal(algorithm, Cipher.ENCRYPT_MODE, key, data);
+	}
+
+	/**
+	 * 使用当前线程缓存的加密器对数据进行解密。
+	 *
+	 * @param algorithm 算法名称。
+	 * @param key 密钥。
+	 * @param data 解密数据。
+	 * @return 解密后的数据。
+	 */
+	public static byte[] decrypt(String algorithm, Key key, byte[] data) throws CryptoException {
+		return doFinal(algorithm, Cipher.DECRYPT_MODE, key, data);
+	}
+
+	/**
+	 * 清除当前线程缓存的加密器。
+	 */
+	public static void clear() {
+		currentPooledCiphers.remove();
+	}
+
+	private static byte[] doFinal(String algorithm, int opmode, Key key, byte[] data) throws CryptoException {
+		Map<String, PooledCipher> pooledCipherMap = currentPooledCiphers.get();
+		PooledCipher pooledCipher = pooledCipherMap.get(algorithm);
+		try {
+			if (pooledCipher == null) {
+				pooledCipher = new PooledCipher(Cipher.getInstance(algorithm));
+				pooledCipherMap.put(algorithm, pooledCipher);
+			}
+			if (pooledCipher.opmode != opmode || pooledCipher.key != key || pooledCipher.cipher.getIV() != null) {
+				pooledCipher.key = null;
+				pooledCipher.cipher.init(opmode, key);
+				pooledCipher.opmode = opmode;
+				pooledCipher.key = key;
+			}
+			return pooledCipher.cipher.doFinal(data);
+		} catch (Exception e) {
+			// 失败后加密器的状态不确定，下次使用时重新初始化。
+			if (pooledCipher != null) {
+				pooledCipher.key = null;
+			}
+			throw new CryptoException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 缓存的加密器及其初始化参数。
+	 */
+	private static class PooledCipher {
+
+		private final Cipher cipher;
+
+		private int opmode;
+
+		/** 初始化使用的密钥，为null时需要重新初始化 */
+		private Key key;
+
+		PooledCipher(Cipher cipher) {
+			this.cipher = cipher;
+		}
+	}
+}
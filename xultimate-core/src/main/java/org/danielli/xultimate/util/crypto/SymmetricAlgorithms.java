@@ -81,4 +81,26 @@ public enum SymmetricAlgorithms {
 	        throw new CryptoException(e.getMessage(), e);
 	    }
 	}
+
+	/**
+	 * 使用{@link CipherPool}中当前线程缓存的加密器对数据进行加密，避免每次创建加密器。
+	 * 
+	 * @param key 密钥。
+	 * @param data 加密数据。
+	 * @return 加密后的数据。
+	 */
+	public byte[] encrypt(Key key, byte[] data) throws CryptoException {
+		return CipherPool.encrypt(name, key, data);
+	}
+	
+	/**
+	 * 使用{@link CipherPool}中当前线程缓存的加密器对数据进行解密，避免每次创建加密器。
+	 * 
+	 * @param key 密钥。
+	 * @param data 解密数据。
+	 * @return 解密后的数据。
+	 */
+	public byte[] decrypt(Key key, byte[] data) throws CryptoException {
+		return CipherPool.decrypt(name, key, data);
+	}
 }
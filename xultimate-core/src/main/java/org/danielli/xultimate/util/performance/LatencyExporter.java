@@ -0,0 +1,21 @@
+package org.danielli.xultimate.util.performance;
+
+import org.danielli.xultimate.util.performance.LatencyHistogram.Snapshot;
+
+/**
+ * 耗时导出器，例如输出到日志或监控系统。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see LatencyRegistry#export(LatencyExporter, boolean)
+ */
+public interface LatencyExporter {
+
+	/**
+	 * 导出一个名称的耗时快照。
+	 *
+	 * @param name 名称。
+	 * @param snapshot 快照。
+	 */
+	void export(String name, Snapshot snapshot);
+}
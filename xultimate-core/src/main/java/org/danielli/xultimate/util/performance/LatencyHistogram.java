@@ -0,0 +1,214 @@
+package org.danielli.xultimate.util.performance;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的耗时直方图，时间单位为纳秒。采用与HdrHistogram相同的对数-线性分桶：小于64的值每个值一个桶，
+ * 之后每个2的幂区间再线性分为64个桶，相对误差不超过1/64（约1.6%），大于2^45纳秒（约9.8小时）的值计入最后一个桶。
+ * <p>
+ * {@link #record(long)}只对桶计数、总耗时、最大值和最小值做原子更新，不加锁、不分配对象，可被多个线程同时调用。
+ * {@link #getSnapshot(boolean)}复制当前计数生成快照，用于计算百分位数；重置时逐个桶取出并清零，
+ * 因此并发记录的值不会丢失，只会计入本次或下一次快照。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see LatencyRegistry
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_EXPONENT = 44;
+
+	private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong totalTime = new AtomicLong();
+
+	private final AtomicLong maxTime = new AtomicLong();
+
+	private final AtomicLong minTime = new AtomicLong(Long.MAX_VALUE);
+
+	/**
+	 * 记录一次耗时。
+	 *
+	 * @param nanos 耗时，时间单位为纳秒，小于0时按0记录。
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(indexOf(nanos));
+		totalTime.addAndGet(nanos);
+		long max;
+		while (nanos > (max = maxTime.get()) && !maxTime.compareAndSet(max, nanos)) {
+		}
+		long min;
+		while (nanos < (min = minTime.get()) && !minTime.compareAndSet(min, nanos)) {
+		}
+	}
+
+	/**
+	 * 获取快照。
+	 *
+	 * @param reset 是否在获取后清零，用于按时间间隔统计。
+	 * @return 快照。
+	 */
+	public Snapshot getSnapshot(boolean reset) {
+		long[] snapshotCounts = new long[BUCKET_COUNT];
+		long totalCount = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshotCounts[i] = reset ? counts.getAndSet(i, 0) : counts.get(i);
+			totalCount += snapshotCounts[i];
+		}
+		if (reset) {
+			return new Snapshot(snapshotCounts, totalCount, totalTime.getAndSet(0), maxTime.getAndSet(0), minTime.getAndSet(Long.MAX_VALUE));
+		}
+		return new Snapshot(snapshotCounts, totalCount, totalTime.get(), maxTime.get(), minTime.get());
+	}
+
+	static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+	}
+
+	static long lowerBoundOf(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		return (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+	}
+
+	static long upperBoundOf(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		return lowerBoundOf(index) + (1L << shift) - 1;
+	}
+
+	/**
+	 * 直方图快照，不可变。
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+
+		private final long totalCount;
+
+		private final long totalTime;
+
+		private final long maxTime;
+
+		private final long minTime;
+
+		Snapshot(long[] counts, long totalCount, long totalTime, long maxTime, long minTime) {
+			this.counts = counts;
+			this.totalCount = totalCount;
+			this.totalTime = totalTime;
+			this.maxTime = maxTime;
+			this.minTime = minTime;
+		}
+
+		/**
+		 * 获取记录次数。
+		 */
+		public long getTotalCount() {
+			return totalCount;
+		}
+
+		/**
+		 * 获取总耗时，时间单位为纳秒。
+		 */
+		public long getTotalTime() {
+			return totalTime;
+		}
+
+		/**
+		 * 获取最大耗时，时间单位为纳秒。没有记录时返回0。
+		 */
+		public long getMaxTime() {
+			return totalCount == 0 ? 0 : maxTime;
+		}
+
+		/**
+		 * 获取最小耗时，时间单位为纳秒。没有记录时返回0。
+		 */
+		public long getMinTime() {
+			return totalCount == 0 ? 0 : minTime;
+		}
+
+		/**
+		 * 获取平均耗时，时间单位为纳秒。没有记录时返回0。
+		 */
+		public double getMeanTime() {
+			return totalCount == 0 ? 0 : totalTime / (double) totalCount;
+		}
+
+		/**
+		 * 获取百分位数，即不小于percentile%的记录的耗时。返回值为所在桶的上界，且不超过最大耗时。
+		 *
+		 * @param percentile 百分比，取值范围[0, 100]，例如99.9。
+		 * @return 耗时，时间单位为纳秒。没有记录时返回0。
+		 */
+		public long getValueAtPercentile(double percentile) {
+			if (totalCount == 0) {
+				return 0;
+			}
+			long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+			long cumulativeCount = 0;
+			for (int i = 0; i < counts.length; i++) {
+				cumulativeCount += counts[i];
+				if (cumulativeCount >= target) {
+					return Math.max(Math.min(upperBoundOf(i), getMaxTime()), getMinTime());
+				}
+			}
+			return getMaxTime();
+		}
+
+		/**
+		 * 依次访问计数不为0的桶，用于导出原始分布，不分配对象。
+		 *
+		 * @param bucketVisitor 访问器。
+		 */
+		public void visitBuckets(BucketVisitor bucketVisitor) {
+			for (int i = 0; i < counts.length; i++) {
+				if (counts[i] != 0) {
+					bucketVisitor.visit(lowerBoundOf(i), upperBoundOf(i), counts[i]);
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + totalCount + ", min=" + getMinTime() + ", mean=" + (long) getMeanTime() + ", p50=" + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + ", p999=" + getValueAtPercentile(99.9) + ", max=" + getMaxTime();
+		}
+	}
+
+	/**
+	 * 桶访问器。
+	 */
+	public interface BucketVisitor {
+
+		/**
+		 * 访问一个桶。
+		 *
+		 * @param lowerBound 桶的下界（包含），时间单位为纳秒。
+		 * @param upperBound 桶的上界（包含），时间单位为纳秒。
+		 * @param count 桶内的记录次数。
+		 */
+		void visit(long lowerBound, long upperBound, long count);
+	}
+}
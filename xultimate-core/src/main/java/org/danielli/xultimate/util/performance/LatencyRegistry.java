@@ -0,0 +1,99 @@
+package org.danielli.xultimate.util.performance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.danielli.xultimate.util.performance.LatencyHistogram.Snapshot;
+import org.danielli.xultimate.util.time.stopwatch.StopWatch;
+import org.danielli.xultimate.util.time.stopwatch.StopWatch.TaskInfo;
+
+/**
+ * 按名称汇总耗时分布。每个名称对应一个{@link LatencyHistogram}，跨调用、跨线程累计，可获取p99、p999等百分位数。
+ * 名称应为有限的集合，例如方法名，不能包含请求参数等会无限增长的内容。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see PerformanceMonitor#record()
+ */
+public class LatencyRegistry {
+
+	private static final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * 获取名称对应的直方图，不存在时创建。
+	 */
+	public static LatencyHistogram getHistogram(String name) {
+		LatencyHistogram histogram = histograms.get(name);
+		if (histogram == null) {
+			LatencyHistogram newHistogram = new LatencyHistogram();
+			histogram = histograms.putIfAbsent(name, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * 记录一次耗时。
+	 *
+	 * @param name 名称。
+	 * @param nanos 耗时，时间单位为纳秒。
+	 */
+	public static void record(String name, long nanos) {
+		getHistogram(name).record(nanos);
+	}
+
+	/**
+	 * 以秒表标识符为名称，记录已结束秒表的运行时间。
+	 */
+	public static void record(StopWatch stopWatch) {
+		record(stopWatch.getId(), stopWatch.getTotalTime());
+	}
+
+	/**
+	 * 以任务名称为名称，记录任务的运行时间。
+	 */
+	public static void record(TaskInfo taskInfo) {
+		record(taskInfo.getTaskName(), taskInfo.getTotalTime());
+	}
+
+	/**
+	 * 获取名称对应的快照。
+	 *
+	 * @param name 名称。
+	 * @param reset 是否在获取后清零。
+	 * @return 快照，没有记录过时返回null。
+	 */
+	public static Snapshot getSnapshot(String name, boolean reset) {
+		LatencyHistogram histogram = histograms.get(name);
+		return histogram == null ? null : histogram.getSnapshot(reset);
+	}
+
+	/**
+	 * 依次导出所有名称的快照。
+	 *
+	 * @param exporter 导出器。
+	 * @param reset 是否在导出后清零，用于按时间间隔导出。
+	 */
+	public static void export(LatencyExporter exporter, boolean reset) {
+		for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+			exporter.export(entry.getKey(), entry.getValue().getSnapshot(reset));
+		}
+	}
+
+	/**
+	 * 移除名称对应的直方图。
+	 */
+	public static void remove(String name) {
+		histograms.remove(name);
+	}
+
+	/**
+	 * 移除所有直方图。
+	 */
+	public static void clear() {
+		histograms.clear();
+	}
+}
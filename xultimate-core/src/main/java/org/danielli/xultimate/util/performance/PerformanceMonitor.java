@@ -85,6 +85,15 @@ public class PerformanceMonitor {
 		stopWatch.mark(taskName);
 	}
 	
+	/**
+	 * 将已结束秒表的运行时间记录到{@link LatencyRegistry}，名称为秒表标识符。
+	 */
+	public static void record() {
+		StopWatch stopWatch = StopWatchContext.get();
+		LOGGER.trace("Record [{}] Stopwatch", stopWatch.getId());
+		LatencyRegistry.record(stopWatch);
+	}
+	
 	/**
 	 * 秒表汇总。
 	 */
@@ -0,0 +1,137 @@
+package org.danielli.xultimate.util.pinyin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+
+/**
+ * CJK统一汉字（U+4E00～U+9FFF）的拼音表，格式为不带声调、ü写作v。第一次使用时从pinyin4j的数据生成一次，之后按字符下标直接查表。
+ * <p>
+ * 所有拼音（音节）去重后只保存一份，每个汉字只保存音节编号：多音字的音节编号连续存放在{@link #syllableIds}中，
+ * 由{@link #offsets}给出每个汉字的起止位置，第一个即为主音。没有拼音的汉字起止位置相同。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+class PinyinTable {
+
+	/** 起始字符 */
+	static final char FIRST_CHAR = '\u4E00';
+
+	/** 结束字符 */
+	static final char LAST_CHAR = '\u9FFF';
+
+	private static final PinyinTable INSTANCE = new PinyinTable();
+
+	/** 小写音节 */
+	private final String[] lowerSyllables;
+
+	/** 大写音节 */
+	private final String[] upperSyllables;
+
+	/** 每个汉字的音节在{@link #syllableIds}中的起始位置，最后一个元素为总数 */
+	private final int[] offsets;
+
+	/** 音节编号 */
+	private final short[] syllableIds;
+
+	private PinyinTable() {
+		Map<String, Short> syllableIdMap = new HashMap<>();
+		List<String> syllableList = new ArrayList<>();
+		int charCount = LAST_CHAR - FIRST_CHAR + 1;
+		int[] offsets = new int[charCount + 1];
+		short[] syllableIds = new short[charCount * 2];
+		int size = 0;
+		for (int i = 0; i < charCount; i++) {
+			offsets[i] = size;
+			String[] pinyinStrs;
+			try {
+				pinyinStrs = PinyinHelper.toHanyuPinyinStringArray((char) (FIRST_CHAR + i), PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V);
+			} catch (Exception e) {
+				pinyinStrs = null;
+			}
+			if (pinyinStrs == null) {
+				continue;
+			}
+			for (String pinyinStr : pinyinStrs) {
+				Short syllableId = syllableIdMap.get(pinyinStr);
+				if (syllableId == null) {
+					syllableId = (short) syllableList.size();
+					syllableIdMap.put(pinyinStr, syllableId);
+					syllableList.add(pinyinStr.intern());
+				}
+				if (size == syllableIds.length) {
+					short[] newSyllableIds = new short[size * 2];
+					System.arraycopy(syllableIds, 0, newSyllableIds, 0, size);
+					syllableIds = newSyllableIds;
+				}
+				syllableIds[size++] = syllableId;
+			}
+		}
+		offsets[charCount] = size;
+
+		this.lowerSyllables = syllableList.toArray(new String[syllableList.size()]);
+		this.upperSyllables = new String[lowerSyllables.length];
+		for (int i = 0; i < lowerSyllables.length; i++) {
+			upperSyllables[i] = lowerSyllables[i].toUpperCase().intern();
+		}
+		this.offsets = offsets;
+		this.syllableIds = new short[size];
+		System.arraycopy(syllableIds, 0, this.syllableIds, 0, size);
+	}
+
+	/**
+	 * 获取拼音表。
+	 */
+	static PinyinTable getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * 判断字符是否在拼音表的范围内。
+	 */
+	static boolean isInRange(char ch) {
+		return ch >= FIRST_CHAR && ch <= LAST_CHAR;
+	}
+
+	/**
+	 * 获取汉字的所有拼音。
+	 *
+	 * @param ch 范围内的字符。
+	 * @param upperCase 是否大写。
+	 * @return 拼音数组，没有拼音时返回null。
+	 */
+	String[] getPinyinStrs(char ch, boolean upperCase) {
+		int index = ch - FIRST_CHAR;
+		int start = offsets[index];
+		int end = offsets[index + 1];
+		if (start == end) {
+			return null;
+		}
+		String[] syllables = upperCase ? upperSyllables : lowerSyllables;
+		String[] pinyinStrs = new String[end - start];
+		for (int i = start; i < end; i++) {
+			pinyinStrs[i - start] = syllables[syllableIds[i]];
+		}
+		return pinyinStrs;
+	}
+
+	/**
+	 * 获取汉字的主音（第一个拼音）。
+	 *
+	 * @param ch 范围内的字符。
+	 * @param upperCase 是否大写。
+	 * @return 拼音，没有拼音时返回null。
+	 */
+	String getFirstPinyinStr(char ch, boolean upperCase) {
+		int index = ch - FIRST_CHAR;
+		int start = offsets[index];
+		if (start == offsets[index + 1]) {
+			return null;
+		}
+		return upperCase ? upperSyllables[syllableIds[start]] : lowerSyllables[syllableIds[start]];
+	}
+}
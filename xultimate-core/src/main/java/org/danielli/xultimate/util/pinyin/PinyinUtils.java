@@ -20,6 +20,7 @@ import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombi
  */
 public class PinyinUtils {
 	
+	/** 以下两个格式在CJK统一汉字范围内直接查{@link PinyinTable}，不能修改 */
 	public static final HanyuPinyinOutputFormat LOWER_WITHOUT_TONE_AND_WITH_V= new HanyuPinyinOutputFormat();
 	public static final HanyuPinyinOutputFormat UPPER_WITHOUT_TONE_AND_WITH_V= new HanyuPinyinOutputFormat();
 	
@@ -61,6 +62,9 @@ public class PinyinUtils {
 	   * 
 	   */
 	public static String[] toHanyuPinyinStringArray(char ch, HanyuPinyinOutputFormat outputFormat) {
+		if (PinyinTable.isInRange(ch) && isTableFormat(outputFormat)) {
+			return PinyinTable.getInstance().getPinyinStrs(ch, outputFormat == UPPER_WITHOUT_TONE_AND_WITH_V);
+		}
 		try {
 			return PinyinHelper.toHanyuPinyinStringArray(ch, outputFormat);
 		} catch (Exception e) {
@@ -81,6 +85,9 @@ public class PinyinUtils {
 	   * 
 	   */
 	 public static String getFirstHanyuPinyinString(char ch, HanyuPinyinOutputFormat outputFormat) {
+		if (PinyinTable.isInRange(ch) && isTableFormat(outputFormat)) {
+			return PinyinTable.getInstance().getFirstPinyinStr(ch, outputFormat == UPPER_WITHOUT_TONE_AND_WITH_V);
+		}
 	    String[] pinyinStrArray = toHanyuPinyinStringArray(ch, outputFormat);
 	    if (ArrayUtils.isNotEmpty(pinyinStrArray)) {
 	    	return pinyinStrArray[0];
@@ -176,4 +183,32 @@ public class PinyinUtils {
 			return null;
 		}
 	}
+	
+	/**
+	 * 获取字符串的拼音首字母缩写，每个汉字替换为其主音（第一个拼音）的首字母，其他字符保持不变。
+	 * 
+	 * @param str 字符串。
+	 * @param outputFormat 拼音格式，只使用其中的大小写。
+	 * @return 拼音首字母缩写，例如“李0a工”返回“l0ag”。
+	 */
+	public static String toHanyuPinyinAbbreviation(String str, HanyuPinyinOutputFormat outputFormat) {
+		StringBuilder resultPinyinStrBuf = new StringBuilder(str.length());
+		for (int i = 0; i < str.length(); i++) {
+			char ch = str.charAt(i);
+			String pinyinStrOfChar = getFirstHanyuPinyinString(ch, outputFormat);
+			if (StringUtils.isNotEmpty(pinyinStrOfChar)) {
+				resultPinyinStrBuf.append(pinyinStrOfChar.charAt(0));
+			} else {
+				resultPinyinStrBuf.append(ch);
+			}
+		}
+		return resultPinyinStrBuf.toString();
+	}
+	
+	/**
+	 * 判断是否可以使用{@link PinyinTable}。只有{@link #LOWER_WITHOUT_TONE_AND_WITH_V}和{@link #UPPER_WITHOUT_TONE_AND_WITH_V}使用拼音表，不能修改这两个格式。
+	 */
+	private static boolean isTableFormat(HanyuPinyinOutputFormat outputFormat) {
+		return outputFormat == LOWER_WITHOUT_TONE_AND_WITH_V || outputFormat == UPPER_WITHOUT_TONE_AND_WITH_V;
+	}
 }
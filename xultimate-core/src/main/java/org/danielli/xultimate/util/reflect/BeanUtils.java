@@ -6,6 +6,12 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sf.cglib.beans.BeanCopier;
+import net.sf.cglib.beans.BeanMap;
+import net.sf.cglib.core.Converter;
 
 import org.danielli.xultimate.util.ArrayUtils;
 import org.springframework.beans.BeanInstantiationException;
@@ -28,6 +34,21 @@ import org.springframework.util.Assert;
  */
 public class BeanUtils {
 	
+	/** Generated copiers, keyed by source and target class */
+	private static final ConcurrentMap<CopierKey, BeanCopier> beanCopierCache = new ConcurrentHashMap<>();
+	
+	/** Generated bean maps, keyed by bean class */
+	private static final ConcurrentMap<Class<?>, BeanMap> beanMapCache = new ConcurrentHashMap<>();
+	
+	/** Passes values through unchanged, only used to get boxing and primitive unboxing from the generated copier */
+	private static final Converter IDENTITY_CONVERTER = new Converter() {
+		@SuppressWarnings("rawtypes")
+		@Override
+		public Object convert(Object value, Class target, Object context) {
+			return value;
+		}
+	};
+	
 	/**
 	 * Copy the property values of the given source bean into the target bean.
 	 * <p>Note: The source and target classes do not have to match or even be derived
@@ -296,6 +317,77 @@ public class BeanUtils {
 		}
 	}
 	
+	/**
+	 * Copy the property values of the given source bean into the given target bean,
+	 * using a copier generated once per source and target class and cached afterwards,
+	 * so that every property is copied with direct getter and setter calls instead of
+	 * {@link Method#invoke}.
+	 * <p>Properties are matched by name like {@link #copyProperties(Object, Object)};
+	 * boxed and primitive types are converted, a {@code null} value is copied into a
+	 * primitive property as zero. Source and target classes must be accessible to the
+	 * generated class, i.e. public or declared in the same class loader.
+	 * @param source the source bean
+	 * @param target the target bean
+	 * @throws BeansException if the copying failed
+	 * @see BeanCopier
+	 */
+	public static void fastCopyProperties(Object source, Object target) throws BeansException {
+		Assert.notNull(source, "Source must not be null");
+		Assert.notNull(target, "Target must not be null");
+
+		CopierKey copierKey = new CopierKey(source.getClass(), target.getClass());
+		BeanCopier beanCopier = beanCopierCache.get(copierKey);
+		if (beanCopier == null) {
+			beanCopier = BeanCopier.create(copierKey.sourceClass, copierKey.targetClass, true);
+			BeanCopier existingBeanCopier = beanCopierCache.putIfAbsent(copierKey, beanCopier);
+			if (existingBeanCopier != null) {
+				beanCopier = existingBeanCopier;
+			}
+		}
+		try {
+			beanCopier.copy(source, target, IDENTITY_CONVERTER);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Could not copy properties from source to target", ex);
+		}
+	}
+	
+	/**
+	 * Copy the property values of the given source bean into the given target map,
+	 * using a bean map generated once per source class and cached afterwards,
+	 * so that every property is read with a direct getter call instead of
+	 * {@link Method#invoke}.
+	 * <p>Unlike {@link #copyProperties(Object, Map, String...)}, the "class"
+	 * property is not copied.
+	 * @param source the source bean
+	 * @param target the target map
+	 * @throws BeansException if the copying failed
+	 * @see BeanMap
+	 */
+	@SuppressWarnings("unchecked")
+	public static void fastCopyProperties(Object source, Map<String, Object> target) throws BeansException {
+		Assert.notNull(source, "Source must not be null");
+		Assert.notNull(target, "Target must not be null");
+
+		BeanMap beanMap = beanMapCache.get(source.getClass());
+		if (beanMap == null) {
+			BeanMap.Generator generator = new BeanMap.Generator();
+			generator.setBeanClass(source.getClass());
+			generator.setRequire(BeanMap.REQUIRE_GETTER);
+			beanMap = generator.create();
+			BeanMap existingBeanMap = beanMapCache.putIfAbsent(source.getClass(), beanMap);
+			if (existingBeanMap != null) {
+				beanMap = existingBeanMap;
+			}
+		}
+		try {
+			target.putAll(beanMap.newInstance(source));
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Could not copy properties from source to target", ex);
+		}
+	}
+	
 	/**
 	 * Find a method with the given method name and the given parameter types,
 	 * declared on the given class or one of its superclasses. Will return a public,
@@ -467,4 +559,36 @@ public class BeanUtils {
 	public static <T> T instantiateClass(Constructor<T> ctor, Object... args) throws BeanInstantiationException {
 		return org.springframework.beans.BeanUtils.instantiateClass(ctor, args);
 	}
+	
+	/**
+	 * Cache key of a generated copier.
+	 */
+	private static class CopierKey {
+		
+		private final Class<?> sourceClass;
+		
+		private final Class<?> targetClass;
+		
+		CopierKey(Class<?> sourceClass, Class<?> targetClass) {
+			this.sourceClass = sourceClass;
+			this.targetClass = targetClass;
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof CopierKey)) {
+				return false;
+			}
+			CopierKey otherKey = (CopierKey) other;
+			return sourceClass == otherKey.sourceClass && targetClass == otherKey.targetClass;
+		}
+		
+		@Override
+		public int hashCode() {
+			return sourceClass.hashCode() * 31 + targetClass.hashCode();
+		}
+	}
 }
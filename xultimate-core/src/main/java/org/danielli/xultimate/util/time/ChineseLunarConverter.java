@@ -0,0 +1,218 @@
+package org.danielli.xultimate.util.time;
+
+import java.util.Arrays;
+
+import org.joda.time.LocalDate;
+
+/**
+ * 查表实现的公历、农历转换，线程安全。
+ * <p>
+ * 类加载时按{@link ChineseCalendarGB}的农历月份大小表计算一次每个农历月第一天的日序号（相对公历1901年1月1日的天数），
+ * 与按顺序排列的月份编号一起保存在两个递增数组中。公历转农历时对日序号二分查找所在月份，农历转公历时对月份编号二分查找，
+ * 不再像{@link ChineseCalendarGB#computeChineseFields()}那样从基准日逐日、逐月累加。
+ * 支持的范围与{@link ChineseCalendarGB}相同，即公历1901年至2100年，超出范围时抛出{@link IllegalArgumentException}。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class ChineseLunarConverter {
+
+	/** 公历1901年1月1日，对应农历4597年11月11日 */
+	private static final int BASE_EPOCH_DAY = toEpochDay(1901, 1, 1);
+
+	private static final int BASE_CHINESE_YEAR = 4597;
+
+	private static final int BASE_CHINESE_MONTH = 11;
+
+	private static final int BASE_CHINESE_DATE = 11;
+
+	/** 月份大小表中最后一个农历年 */
+	private static final int LAST_CHINESE_YEAR = 4797;
+
+	/** 公历2100年12月31日 */
+	private static final int LAST_DAY = toEpochDay(2100, 12, 31) - BASE_EPOCH_DAY;
+
+	/** 每个农历月第一天的日序号，最后一个元素为下一个月第一天的日序号 */
+	private static final int[] monthStartDays;
+
+	/** 每个农历月的编号，见{@link #toMonthKey(int, int)} */
+	private static final int[] monthKeys;
+
+	static {
+		int monthCount = (LAST_CHINESE_YEAR - BASE_CHINESE_YEAR + 1) * 13;
+		int[] startDays = new int[monthCount + 1];
+		int[] keys = new int[monthCount];
+		int size = 0;
+		int year = BASE_CHINESE_YEAR;
+		int month = BASE_CHINESE_MONTH;
+		int startDay = 1 - BASE_CHINESE_DATE;
+		while (year <= LAST_CHINESE_YEAR) {
+			startDays[size] = startDay;
+			keys[size] = toMonthKey(year, month);
+			size++;
+			startDay += ChineseCalendarGB.daysInChineseMonth(year, month);
+			month = ChineseCalendarGB.nextChineseMonth(year, month);
+			if (month == 1) {
+				year++;
+			}
+		}
+		startDays[size] = startDay;
+		monthStartDays = Arrays.copyOf(startDays, size + 1);
+		monthKeys = Arrays.copyOf(keys, size);
+	}
+
+	/**
+	 * 公历转农历。
+	 *
+	 * @param year 公历年份。
+	 * @param month 公历月份。
+	 * @param date 公历日期。
+	 * @return 农历日期。
+	 * @throws IllegalArgumentException 日期无效或超出范围时抛出。
+	 */
+	public static LunarDate toLunarDate(int year, int month, int date) {
+		return toLunarDate(toDay(year, month, date));
+	}
+
+	/**
+	 * 公历转农历。
+	 *
+	 * @param localDate 公历日期。
+	 * @return 农历日期。
+	 * @throws IllegalArgumentException 超出范围时抛出。
+	 */
+	public static LunarDate toLunarDate(LocalDate localDate) {
+		return toLunarDate(localDate.getYear(), localDate.getMonthOfYear(), localDate.getDayOfMonth());
+	}
+
+	/**
+	 * 批量转换从指定公历日期开始的连续多天。只查找一次起始日期所在的月份，之后按月份表顺序递推。
+	 *
+	 * @param startDate 起始公历日期。
+	 * @param days 天数。
+	 * @return 每一天对应的农历日期。
+	 * @throws IllegalArgumentException 任意一天超出范围时抛出。
+	 */
+	public static LunarDate[] toLunarDates(LocalDate startDate, int days) {
+		if (days < 0) {
+			throw new IllegalArgumentException("Days must not be negative: " + days);
+		}
+		int startDay = toDay(startDate.getYear(), startDate.getMonthOfYear(), startDate.getDayOfMonth());
+		if (days > 0) {
+			checkDay(startDay + days - 1);
+		}
+		LunarDate[] lunarDates = new LunarDate[days];
+		int monthIndex = findMonthIndex(startDay);
+		for (int i = 0; i < days; i++) {
+			int day = startDay + i;
+			if (day >= monthStartDays[monthIndex + 1]) {
+				monthIndex++;
+			}
+			lunarDates[i] = toLunarDate(monthIndex, day);
+		}
+		return lunarDates;
+	}
+
+	/**
+	 * 农历转公历。
+	 *
+	 * @param chineseYear 农历年份（黄帝纪年）。
+	 * @param chineseMonth 农历月份，负数表示闰月。
+	 * @param chineseDate 农历日期。
+	 * @return 公历日期。
+	 * @throws IllegalArgumentException 日期无效或超出范围时抛出。
+	 */
+	public static LocalDate toGregorianDate(int chineseYear, int chineseMonth, int chineseDate) {
+		int monthIndex = chineseMonth == 0 || Math.abs(chineseMonth) > 12 ? -1 : Arrays.binarySearch(monthKeys, toMonthKey(chineseYear, chineseMonth));
+		if (monthIndex < 0) {
+			throw new IllegalArgumentException("Invalid or out of range chinese month: " + chineseYear + "-" + chineseMonth);
+		}
+		int day = monthStartDays[monthIndex] + chineseDate - 1;
+		if (chineseDate < 1 || day >= monthStartDays[monthIndex + 1]) {
+			throw new IllegalArgumentException("Invalid chinese date: " + chineseYear + "-" + chineseMonth + "-" + chineseDate);
+		}
+		checkDay(day);
+		return toLocalDate(day + BASE_EPOCH_DAY);
+	}
+
+	/**
+	 * 农历转公历。
+	 *
+	 * @param lunarDate 农历日期。
+	 * @return 公历日期。
+	 * @throws IllegalArgumentException 日期无效或超出范围时抛出。
+	 */
+	public static LocalDate toGregorianDate(LunarDate lunarDate) {
+		return toGregorianDate(lunarDate.getYear(), lunarDate.getMonth(), lunarDate.getDate());
+	}
+
+	private static LunarDate toLunarDate(int day) {
+		return toLunarDate(findMonthIndex(day), day);
+	}
+
+	private static LunarDate toLunarDate(int monthIndex, int day) {
+		int monthKey = monthKeys[monthIndex];
+		int monthCode = monthKey & 0x1F;
+		int month = (monthCode & 0x01) == 0 ? monthCode >> 1 : -(monthCode >> 1);
+		return new LunarDate(monthKey >> 5, month, day - monthStartDays[monthIndex] + 1);
+	}
+
+	/**
+	 * 查找日序号所在的农历月份下标。
+	 */
+	private static int findMonthIndex(int day) {
+		checkDay(day);
+		int index = Arrays.binarySearch(monthStartDays, day);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	private static void checkDay(int day) {
+		if (day < 0 || day > LAST_DAY) {
+			throw new IllegalArgumentException("Date out of range: " + toLocalDate(day + BASE_EPOCH_DAY));
+		}
+	}
+
+	/**
+	 * 月份编号，按农历年、月的先后顺序递增，闰月排在同数字的月份之后。
+	 */
+	private static int toMonthKey(int chineseYear, int chineseMonth) {
+		return (chineseYear << 5) | (Math.abs(chineseMonth) << 1) | (chineseMonth < 0 ? 1 : 0);
+	}
+
+	/**
+	 * 公历日期的日序号（相对公历1901年1月1日的天数）。
+	 */
+	private static int toDay(int year, int month, int date) {
+		if (month < 1 || month > 12 || date < 1 || date > ChineseCalendarGB.daysInGregorianMonth(year, month)) {
+			throw new IllegalArgumentException("Invalid date: " + year + "-" + month + "-" + date);
+		}
+		return toEpochDay(year, month, date) - BASE_EPOCH_DAY;
+	}
+
+	/**
+	 * 公历日期相对1970年1月1日的天数，只用于公元后的日期。
+	 */
+	private static int toEpochDay(int year, int month, int date) {
+		int y = month <= 2 ? year - 1 : year;
+		int era = y / 400;
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + date - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	/**
+	 * {@link #toEpochDay(int, int, int)}的逆运算。
+	 */
+	private static LocalDate toLocalDate(int epochDay) {
+		int z = epochDay + 719468;
+		int era = z / 146097;
+		int dayOfEra = z - era * 146097;
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int mp = (5 * dayOfYear + 2) / 153;
+		int date = dayOfYear - (153 * mp + 2) / 5 + 1;
+		int month = mp < 10 ? mp + 3 : mp - 9;
+		return new LocalDate(yearOfEra + era * 400 + (month <= 2 ? 1 : 0), month, date);
+	}
+}
@@ -0,0 +1,77 @@
+package org.danielli.xultimate.util.time;
+
+import java.io.Serializable;
+
+/**
+ * 农历日期，不可变。年份与{@link ChineseCalendarGB}相同，为黄帝纪年（公历年份加2697），月份为负数表示闰月。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see ChineseLunarConverter
+ */
+public final class LunarDate implements Serializable {
+
+	private static final long serialVersionUID = 6251813093405618519L;
+
+	private final int year;
+
+	private final int month;
+
+	private final int date;
+
+	public LunarDate(int year, int month, int date) {
+		this.year = year;
+		this.month = month;
+		this.date = date;
+	}
+
+	/**
+	 * 获取农历年份。
+	 */
+	public int getYear() {
+		return year;
+	}
+
+	/**
+	 * 获取农历月份，负数表示闰月。
+	 */
+	public int getMonth() {
+		return month;
+	}
+
+	/**
+	 * 获取农历日期。
+	 */
+	public int getDate() {
+		return date;
+	}
+
+	/**
+	 * 是否为闰月。
+	 */
+	public boolean isLeapMonth() {
+		return month < 0;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LunarDate)) {
+			return false;
+		}
+		LunarDate other = (LunarDate) obj;
+		return year == other.year && month == other.month && date == other.date;
+	}
+
+	@Override
+	public int hashCode() {
+		return (year * 31 + month) * 31 + date;
+	}
+
+	@Override
+	public String toString() {
+		return year + "-" + (month < 0 ? "*" + (-month) : String.valueOf(month)) + "-" + date;
+	}
+}
@@ -5,12 +5,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
 
 import javax.annotation.Resource;
 
 import org.danielli.xultimate.core.io.support.RpcKryoObjectInput;
 import org.danielli.xultimate.core.io.support.RpcKryoObjectOutput;
 import org.danielli.xultimate.core.serializer.java.util.SerializerUtils;
+import org.danielli.xultimate.core.serializer.kryo.PooledRpcKryoSerializer;
 import org.danielli.xultimate.core.serializer.kryo.support.ThreadLocalKryoGenerator;
 import org.danielli.xultimate.util.StringUtils;
 import org.danielli.xultimate.util.performance.PerformanceMonitor;
@@ -31,6 +34,9 @@ public class KryoSerializingTest {
 	@Resource(name = "rpcKryoSerializer")
 	private Deserializer rpcKryoDeserializer;
 	
+	@Resource(name = "pooledRpcKryoSerializer")
+	private PooledRpcKryoSerializer pooledRpcKryoSerializer;
+	
 //	@Test
 	public void testBase() {
 		User person = new User();
@@ -233,4 +239,77 @@ public class KryoSerializingTest {
 		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
 		PerformanceMonitor.remove();
 	}
+	
+	@Test
+	public void testPooled() {
+		User person = new User();
+		person.setName("Daniel Li");
+		person.setAge(19);
+		
+		byte[] data = pooledRpcKryoSerializer.serialize(person);
+		User result = pooledRpcKryoSerializer.deserialize(data, User.class);
+		Assert.assertEquals("Daniel Li", result.getName());
+		Assert.assertEquals((Integer) 19, result.getAge());
+		
+		ByteBuffer byteBuffer = ByteBuffer.allocate(256);
+		int length = pooledRpcKryoSerializer.serialize(person, byteBuffer);
+		Assert.assertEquals(data.length, length);
+		byteBuffer.flip();
+		result = pooledRpcKryoSerializer.deserialize(byteBuffer, User.class);
+		Assert.assertEquals("Daniel Li", result.getName());
+		Assert.assertEquals(0, byteBuffer.remaining());
+		
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+		pooledRpcKryoSerializer.serializeTo(person, outputStream);
+		Assert.assertArrayEquals(data, outputStream.toByteArray());
+	}
+	
+	@Test
+	public void testPooledAllocation() {
+		User person = new User();
+		person.setName("Daniel Li");
+		person.setAge(19);
+		ByteBuffer byteBuffer = ByteBuffer.allocate(256);
+		
+		PerformanceMonitor.start("PooledRpcKryoSerializerTest");
+		for (int i = 0; i < 5; i++) {
+			long allocatedBytes = currentThreadAllocatedBytes();
+			for (int j = 0; j < 100000; j++) {
+				byte[] data = rpcKryoSerializer.serialize(person);
+				rpcKryoDeserializer.deserialize(data, Object.class);
+			}
+			PerformanceMonitor.mark("rpcKryoSerializer allocated " + (currentThreadAllocatedBytes() - allocatedBytes) + " bytes " + i);
+		}
+		
+		for (int i = 0; i < 5; i++) {
+			long allocatedBytes = currentThreadAllocatedBytes();
+			for (int j = 0; j < 100000; j++) {
+				byte[] data = pooledRpcKryoSerializer.serialize(person);
+				pooledRpcKryoSerializer.deserialize(data, Object.class);
+			}
+			PerformanceMonitor.mark("pooledRpcKryoSerializer allocated " + (currentThreadAllocatedBytes() - allocatedBytes) + " bytes " + i);
+		}
+		
+		for (int i = 0; i < 5; i++) {
+			long allocatedBytes = currentThreadAllocatedBytes();
+			for (int j = 0; j < 100000; j++) {
+				byteBuffer.clear();
+				pooledRpcKryoSerializer.serialize(person, byteBuffer);
+				byteBuffer.flip();
+				pooledRpcKryoSerializer.deserialize(byteBuffer, Object.class);
+			}
+			PerformanceMonitor.mark("pooledRpcKryoSerializer ByteBuffer allocated " + (currentThreadAllocatedBytes() - allocatedBytes) + " bytes " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+	
+	private long currentThreadAllocatedBytes() {
+		java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
 }
@@ -0,0 +1,84 @@
+package org.danielli.xultimate.util.builder;
+
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.joda.time.DateTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BuildableUtilsTest {
+
+	@Test
+	public void testConsistency() {
+		DateTime date = new DateTime();
+		Employee employee1 = new Employee("Daniel Li", 20, date);
+		Employee employee2 = new Employee("Daniel Li", 20, date);
+		Employee employee3 = new Employee("李天棚", 20, date);
+		Manager manager1 = new Manager("Daniel Li", 20, date, 0);
+		Manager manager2 = new Manager("Daniel Li", 20, date, 0.5);
+		Manager manager3 = new Manager(null, -0.0, null, Double.NaN);
+
+		Object[] objects = { employee1, employee2, employee3, manager1, manager2, manager3 };
+		for (Object lhs : objects) {
+			Assert.assertEquals(HashCodeBuilderUtils.reflectionHashCode(lhs), BuildableUtils.hashCode(lhs));
+			Assert.assertEquals(ToStringBuilderUtils.reflectionToString(lhs), BuildableUtils.toString(lhs));
+			for (Object rhs : objects) {
+				Assert.assertEquals(EqualsBuilderUtils.reflectionEqualsForBothClass(lhs, rhs), BuildableUtils.equals(lhs, rhs));
+			}
+		}
+		Assert.assertTrue(BuildableUtils.equals(employee1, employee2));
+		Assert.assertFalse(BuildableUtils.equals(employee1, employee3));
+		Assert.assertFalse(BuildableUtils.equals(manager1, manager2));
+		Assert.assertFalse(BuildableUtils.equals(employee1, null));
+	}
+
+	@Test
+	public void testPerformance() {
+		DateTime date = new DateTime();
+		Manager manager1 = new Manager("Daniel Li", 20, date, 0);
+		Manager manager2 = new Manager("Daniel Li", 20, date, 0);
+		int result = 0;
+
+		PerformanceMonitor.start("BuildableUtilsTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 1000000; j++) {
+				result += HashCodeBuilderUtils.reflectionHashCode(manager1);
+			}
+			PerformanceMonitor.mark("HashCodeBuilderUtils.reflectionHashCode " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 1000000; j++) {
+				result += BuildableUtils.hashCode(manager1);
+			}
+			PerformanceMonitor.mark("BuildableUtils.hashCode " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 1000000; j++) {
+				result += EqualsBuilderUtils.reflectionEqualsForBothClass(manager1, manager2) ? 1 : 0;
+			}
+			PerformanceMonitor.mark("EqualsBuilderUtils.reflectionEqualsForBothClass " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 1000000; j++) {
+				result += BuildableUtils.equals(manager1, manager2) ? 1 : 0;
+			}
+			PerformanceMonitor.mark("BuildableUtils.equals " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				result += ToStringBuilderUtils.reflectionToString(manager1).length();
+			}
+			PerformanceMonitor.mark("ToStringBuilderUtils.reflectionToString " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				result += BuildableUtils.toString(manager1).length();
+			}
+			PerformanceMonitor.mark("BuildableUtils.toString " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+		Assert.assertTrue(result != 0);
+	}
+}
@@ -45,6 +45,49 @@ public class CipherUtilsTest {
 		PerformanceMonitor.remove();
 	}
 	
+	@Test
+	public void testAESCipherPool() {
+		Key key = SymmetricAlgorithms.AES.getKey("myKey");
+		Key otherKey = SymmetricAlgorithms.AES.getKey("otherKey");
+		byte[] result = SymmetricAlgorithms.AES.encrypt(key, StringUtils.getBytesUtf8("ultimate"));
+		Assert.assertEquals("3L6N9w+NpT46MjzPfp7XWA==", StringUtils.newStringUtf8(Base64.encodeBase64(result)));
+		// 切换密钥和模式后重新初始化。
+		byte[] otherResult = SymmetricAlgorithms.AES.encrypt(otherKey, StringUtils.getBytesUtf8("ultimate"));
+		Assert.assertEquals("ultimate", StringUtils.newStringUtf8(SymmetricAlgorithms.AES.decrypt(key, result)));
+		Assert.assertEquals("ultimate", StringUtils.newStringUtf8(SymmetricAlgorithms.AES.decrypt(otherKey, otherResult)));
+		// 解密失败后仍可继续使用。
+		try {
+			SymmetricAlgorithms.AES.decrypt(key, otherResult);
+			Assert.fail();
+		} catch (CryptoException e) {
+		}
+		Assert.assertEquals("ultimate", StringUtils.newStringUtf8(SymmetricAlgorithms.AES.decrypt(key, result)));
+		CipherPool.clear();
+	}
+	
+	@Test
+	public void testAESPerformance() {
+		Key key = SymmetricAlgorithms.AES.getKey("myKey");
+		byte[] source = StringUtils.getBytesUtf8("ultimate-remember-me-token");
+		PerformanceMonitor.start("testAESPerformance");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				CipherUtils.decrypt(SymmetricAlgorithms.AES.getCipher(), key, CipherUtils.encrypt(SymmetricAlgorithms.AES.getCipher(), key, source));
+			}
+			PerformanceMonitor.mark("Cipher.getInstance encrypt/decrypt " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				SymmetricAlgorithms.AES.decrypt(key, SymmetricAlgorithms.AES.encrypt(key, source));
+			}
+			PerformanceMonitor.mark("CipherPool encrypt/decrypt " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+		CipherPool.clear();
+	}
+	
 //	@Test
 	public void testAESFromStream() {
 		try {
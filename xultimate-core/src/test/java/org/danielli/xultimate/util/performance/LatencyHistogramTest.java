@@ -0,0 +1,120 @@
+package org.danielli.xultimate.util.performance;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.danielli.xultimate.util.performance.LatencyHistogram.BucketVisitor;
+import org.danielli.xultimate.util.performance.LatencyHistogram.Snapshot;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBuckets() {
+		long[] values = { 0, 1, 63, 64, 65, 127, 128, 129, 1000, 123456789L, 1L << 44 };
+		for (long value : values) {
+			int index = LatencyHistogram.indexOf(value);
+			Assert.assertTrue(LatencyHistogram.lowerBoundOf(index) <= value);
+			Assert.assertTrue(LatencyHistogram.upperBoundOf(index) >= value);
+			Assert.assertTrue(LatencyHistogram.upperBoundOf(index) - LatencyHistogram.lowerBoundOf(index) <= value / 64);
+			Assert.assertEquals(index + 1, LatencyHistogram.indexOf(LatencyHistogram.upperBoundOf(index) + 1));
+		}
+		Assert.assertEquals(LatencyHistogram.indexOf((1L << 45) - 1), LatencyHistogram.indexOf(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testPercentile() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1; i <= 100000; i++) {
+			histogram.record(i * 1000);
+		}
+		Snapshot snapshot = histogram.getSnapshot(false);
+		Assert.assertEquals(100000, snapshot.getTotalCount());
+		Assert.assertEquals(1000, snapshot.getMinTime());
+		Assert.assertEquals(100000000, snapshot.getMaxTime());
+		Assert.assertEquals(50000500, snapshot.getMeanTime(), 1);
+		double[] percentiles = { 50, 90, 99, 99.9 };
+		for (double percentile : percentiles) {
+			long expected = (long) (percentile * 1000000);
+			long actual = snapshot.getValueAtPercentile(percentile);
+			Assert.assertTrue(actual >= expected && actual <= expected + expected / 64);
+		}
+		Assert.assertEquals(100000000, snapshot.getValueAtPercentile(100));
+
+		final long[] visited = new long[1];
+		snapshot.visitBuckets(new BucketVisitor() {
+			@Override
+			public void visit(long lowerBound, long upperBound, long count) {
+				visited[0] += count;
+			}
+		});
+		Assert.assertEquals(100000, visited[0]);
+
+		// 按间隔清零。
+		Assert.assertEquals(100000, histogram.getSnapshot(true).getTotalCount());
+		snapshot = histogram.getSnapshot(false);
+		Assert.assertEquals(0, snapshot.getTotalCount());
+		Assert.assertEquals(0, snapshot.getMaxTime());
+		Assert.assertEquals(0, snapshot.getValueAtPercentile(99));
+		histogram.record(5);
+		Assert.assertEquals(5, histogram.getSnapshot(false).getMinTime());
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final String name = "LatencyHistogramTest.testConcurrent";
+		final int threadCount = 8;
+		final int count = 1000000;
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final CountDownLatch endLatch = new CountDownLatch(threadCount);
+		LatencyRegistry.getHistogram(name);
+		for (int i = 0; i < threadCount; i++) {
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+						LatencyHistogram histogram = LatencyRegistry.getHistogram(name);
+						for (int j = 0; j < count; j++) {
+							histogram.record(j);
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						endLatch.countDown();
+					}
+				}
+			}.start();
+		}
+
+		PerformanceMonitor.start("LatencyHistogramTest");
+		startLatch.countDown();
+		long intervalCount = 0;
+		while (!endLatch.await(1, TimeUnit.MILLISECONDS)) {
+			intervalCount += LatencyRegistry.getSnapshot(name, true).getTotalCount();
+		}
+		PerformanceMonitor.mark(threadCount + " threads, " + threadCount * count + " records");
+		PerformanceMonitor.stop();
+		PerformanceMonitor.record();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+
+		intervalCount += LatencyRegistry.getSnapshot(name, true).getTotalCount();
+		Assert.assertEquals((long) threadCount * count, intervalCount);
+		Assert.assertEquals(1, LatencyRegistry.getSnapshot("LatencyHistogramTest", false).getTotalCount());
+
+		final int[] exported = new int[1];
+		LatencyRegistry.export(new LatencyExporter() {
+			@Override
+			public void export(String name, Snapshot snapshot) {
+				exported[0]++;
+			}
+		}, false);
+		Assert.assertTrue(exported[0] >= 2);
+		LatencyRegistry.remove(name);
+		LatencyRegistry.remove("LatencyHistogramTest");
+		Assert.assertNull(LatencyRegistry.getSnapshot(name, false));
+	}
+}
@@ -1,5 +1,14 @@
 package org.danielli.xultimate.util.pinyin;
 
+import java.util.Arrays;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -45,4 +54,49 @@ public class PinyinUtilsTest {
 			
 		}));
 	}
+	
+	@Test
+	public void testTable() throws Exception {
+		for (char ch = PinyinTable.FIRST_CHAR; ch <= PinyinTable.LAST_CHAR; ch++) {
+			Assert.assertTrue(Arrays.equals(PinyinHelper.toHanyuPinyinStringArray(ch, PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V), PinyinUtils.toHanyuPinyinStringArray(ch, PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V)));
+			Assert.assertTrue(Arrays.equals(PinyinHelper.toHanyuPinyinStringArray(ch, PinyinUtils.UPPER_WITHOUT_TONE_AND_WITH_V), PinyinUtils.toHanyuPinyinStringArray(ch, PinyinUtils.UPPER_WITHOUT_TONE_AND_WITH_V)));
+		}
+		Assert.assertEquals("LV", PinyinUtils.getFirstHanyuPinyinString('绿', PinyinUtils.UPPER_WITHOUT_TONE_AND_WITH_V));
+		Assert.assertEquals("l0ag", PinyinUtils.toHanyuPinyinAbbreviation("李0a工", PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V));
+		Assert.assertEquals("L0aG", PinyinUtils.toHanyuPinyinAbbreviation("李0a工", PinyinUtils.UPPER_WITHOUT_TONE_AND_WITH_V));
+	}
+	
+	@Test
+	public void testPerformance() {
+		HanyuPinyinOutputFormat outputFormat = new HanyuPinyinOutputFormat();
+		outputFormat.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+		outputFormat.setVCharType(HanyuPinyinVCharType.WITH_V);
+		String name = "李天棚张三丰欧阳修";
+		int length = 0;
+		
+		PinyinUtils.getFirstHanyuPinyinString('李', PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V);
+		PerformanceMonitor.start("PinyinUtilsTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				length += PinyinUtils.toHanyuPinyinString(name, outputFormat, "").length();
+			}
+			PerformanceMonitor.mark("pinyin4j toHanyuPinyinString " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				length += PinyinUtils.toHanyuPinyinString(name, PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V, "").length();
+			}
+			PerformanceMonitor.mark("PinyinTable toHanyuPinyinString " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				length += PinyinUtils.toHanyuPinyinAbbreviation(name, PinyinUtils.LOWER_WITHOUT_TONE_AND_WITH_V).length();
+			}
+			PerformanceMonitor.mark("PinyinTable toHanyuPinyinAbbreviation " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+		Assert.assertTrue(length > 0);
+	}
 }
@@ -1,6 +1,10 @@
 package org.danielli.xultimate.util.reflect;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.sf.cglib.beans.BeanCopier;
@@ -91,6 +95,503 @@ public class BeanUtilsTest {
 	}
 	
 
+	@Test
+	public void testFastCopyProperties() {
+		User user = createUser();
+		UserDto userDto = new UserDto();
+		BeanUtils.fastCopyProperties(user, userDto);
+		Assert.assertEquals(Long.valueOf(user.getId()), userDto.getId());
+		Assert.assertEquals(user.getName(), userDto.getName());
+		Assert.assertEquals(Integer.valueOf(user.getAge()), userDto.getAge());
+		Assert.assertEquals(user.getBalance(), userDto.getBalance(), 0);
+		Assert.assertTrue(userDto.isEnabled());
+		Assert.assertSame(user.getCreateTime(), userDto.getCreateTime());
+		Assert.assertSame(user.getTags(), userDto.getTags());
+		// null复制到基本类型时为0。
+		User target = new User();
+		target.setAge(10);
+		BeanUtils.fastCopyProperties(new UserDto(), target);
+		Assert.assertEquals(0, target.getAge());
+
+		Map<String, Object> map = new HashMap<>();
+		BeanUtils.fastCopyProperties(user, map);
+		Map<String, Object> expectedMap = new HashMap<>();
+		BeanUtils.copyProperties(user, expectedMap);
+		expectedMap.remove("class");
+		Assert.assertEquals(expectedMap, map);
+	}
+	
+	@Test
+	public void testFastCopyPropertiesPerformance() {
+		User user = createUser();
+		PerformanceMonitor.start("BeanUtilsTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 50000; j++) {
+				BeanUtils.copyProperties(user, new UserDto());
+			}
+			PerformanceMonitor.mark("copyProperties bean " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 50000; j++) {
+				BeanUtils.fastCopyProperties(user, new UserDto());
+			}
+			PerformanceMonitor.mark("fastCopyProperties bean " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 50000; j++) {
+				BeanUtils.copyProperties(user, new HashMap<String, Object>());
+			}
+			PerformanceMonitor.mark("copyProperties map " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 50000; j++) {
+				BeanUtils.fastCopyProperties(user, new HashMap<String, Object>());
+			}
+			PerformanceMonitor.mark("fastCopyProperties map " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+	
+	private User createUser() {
+		User user = new User();
+		user.setId(1L);
+		user.setName("Daniel Li");
+		user.setAge(24);
+		user.setEmail("daniel@example.com");
+		user.setPhone("13800000000");
+		user.setAddress("Address");
+		user.setCity("Beijing");
+		user.setCountry("China");
+		user.setLevel(3);
+		user.setScore(100L);
+		user.setBalance(12.5);
+		user.setEnabled(true);
+		user.setCreateTime(new Date());
+		user.setUpdateTime(new Date());
+		user.setRemark("Remark");
+		user.setStatus(1);
+		user.setParentId(0L);
+		user.setCode("U0001");
+		user.setTitle("Title");
+		user.setTags(Arrays.asList("a", "b"));
+		return user;
+	}
+	
+	/**
+	 * 20个属性的实体，部分属性为基本类型。
+	 */
+	public static class User {
+
+		private long id;
+
+		private String name;
+
+		private int age;
+
+		private String email;
+
+		private String phone;
+
+		private String address;
+
+		private String city;
+
+		private String country;
+
+		private int level;
+
+		private long score;
+
+		private double balance;
+
+		private boolean enabled;
+
+		private Date createTime;
+
+		private Date updateTime;
+
+		private String remark;
+
+		private Integer status;
+
+		private Long parentId;
+
+		private String code;
+
+		private String title;
+
+		private List<String> tags;
+
+		public long getId() {
+			return id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public String getPhone() {
+			return phone;
+		}
+
+		public void setPhone(String phone) {
+			this.phone = phone;
+		}
+
+		public String getAddress() {
+			return address;
+		}
+
+		public void setAddress(String address) {
+			this.address = address;
+		}
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+
+		public String getCountry() {
+			return country;
+		}
+
+		public void setCountry(String country) {
+			this.country = country;
+		}
+
+		public int getLevel() {
+			return level;
+		}
+
+		public void setLevel(int level) {
+			this.level = level;
+		}
+
+		public long getScore() {
+			return score;
+		}
+
+		public void setScore(long score) {
+			this.score = score;
+		}
+
+		public double getBalance() {
+			return balance;
+		}
+
+		public void setBalance(double balance) {
+			this.balance = balance;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Date getCreateTime() {
+			return createTime;
+		}
+
+		public void setCreateTime(Date createTime) {
+			this.createTime = createTime;
+		}
+
+		public Date getUpdateTime() {
+			return updateTime;
+		}
+
+		public void setUpdateTime(Date updateTime) {
+			this.updateTime = updateTime;
+		}
+
+		public String getRemark() {
+			return remark;
+		}
+
+		public void setRemark(String remark) {
+			this.remark = remark;
+		}
+
+		public Integer getStatus() {
+			return status;
+		}
+
+		public void setStatus(Integer status) {
+			this.status = status;
+		}
+
+		public Long getParentId() {
+			return parentId;
+		}
+
+		public void setParentId(Long parentId) {
+			this.parentId = parentId;
+		}
+
+		public String getCode() {
+			return code;
+		}
+
+		public void setCode(String code) {
+			this.code = code;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+	/**
+	 * 对应{@link User}的DTO，部分属性为包装类型或父类型。
+	 */
+	public static class UserDto {
+
+		private Long id;
+
+		private String name;
+
+		private Integer age;
+
+		private String email;
+
+		private String phone;
+
+		private String address;
+
+		private String city;
+
+		private String country;
+
+		private int level;
+
+		private long score;
+
+		private double balance;
+
+		private boolean enabled;
+
+		private Date createTime;
+
+		private Date updateTime;
+
+		private String remark;
+
+		private Integer status;
+
+		private Long parentId;
+
+		private String code;
+
+		private String title;
+
+		private Collection<String> tags;
+
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Integer getAge() {
+			return age;
+		}
+
+		public void setAge(Integer age) {
+			this.age = age;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public String getPhone() {
+			return phone;
+		}
+
+		public void setPhone(String phone) {
+			this.phone = phone;
+		}
+
+		public String getAddress() {
+			return address;
+		}
+
+		public void setAddress(String address) {
+			this.address = address;
+		}
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+
+		public String getCountry() {
+			return country;
+		}
+
+		public void setCountry(String country) {
+			this.country = country;
+		}
+
+		public int getLevel() {
+			return level;
+		}
+
+		public void setLevel(int level) {
+			this.level = level;
+		}
+
+		public long getScore() {
+			return score;
+		}
+
+		public void setScore(long score) {
+			this.score = score;
+		}
+
+		public double getBalance() {
+			return balance;
+		}
+
+		public void setBalance(double balance) {
+			this.balance = balance;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Date getCreateTime() {
+			return createTime;
+		}
+
+		public void setCreateTime(Date createTime) {
+			this.createTime = createTime;
+		}
+
+		public Date getUpdateTime() {
+			return updateTime;
+		}
+
+		public void setUpdateTime(Date updateTime) {
+			this.updateTime = updateTime;
+		}
+
+		public String getRemark() {
+			return remark;
+		}
+
+		public void setRemark(String remark) {
+			this.remark = remark;
+		}
+
+		public Integer getStatus() {
+			return status;
+		}
+
+		public void setStatus(Integer status) {
+			this.status = status;
+		}
+
+		public Long getParentId() {
+			return parentId;
+		}
+
+		public void setParentId(Long parentId) {
+			this.parentId = parentId;
+		}
+
+		public String getCode() {
+			return code;
+		}
+
+		public void setCode(String code) {
+			this.code = code;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public void setTitle(String title) {
+			this.title = title;
+		}
+
+		public Collection<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(Collection<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+
 	private Person person;
 	private Map<String, Object> personMap;
 	
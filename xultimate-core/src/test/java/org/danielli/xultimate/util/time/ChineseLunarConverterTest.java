@@ -0,0 +1,90 @@
+package org.danielli.xultimate.util.time;
+
+import java.lang.reflect.Field;
+
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.joda.time.LocalDate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChineseLunarConverterTest {
+
+	private static int getInt(ChineseCalendarGB calendar, String fieldName) throws Exception {
+		Field field = ChineseCalendarGB.class.getDeclaredField(fieldName);
+		field.setAccessible(true);
+		return field.getInt(calendar);
+	}
+
+	@Test
+	public void testConsistency() throws Exception {
+		ChineseCalendarGB calendar = new ChineseCalendarGB();
+		calendar.computeChineseFields();
+		LocalDate startDate = new LocalDate(1901, 1, 1);
+		LocalDate endDate = new LocalDate(2100, 12, 31);
+		LunarDate[] lunarDates = ChineseLunarConverter.toLunarDates(startDate, 73049);
+		int i = 0;
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1), i++) {
+			LunarDate expected = new LunarDate(getInt(calendar, "chineseYear"), getInt(calendar, "chineseMonth"), getInt(calendar, "chineseDate"));
+			LunarDate lunarDate = ChineseLunarConverter.toLunarDate(date);
+			Assert.assertEquals(expected, lunarDate);
+			Assert.assertEquals(expected, lunarDates[i]);
+			Assert.assertEquals(date, ChineseLunarConverter.toGregorianDate(lunarDate));
+			calendar.rollUpOneDay();
+		}
+		Assert.assertEquals(lunarDates.length, i);
+
+		Assert.assertEquals(new LunarDate(4711, 1, 24), ChineseLunarConverter.toLunarDate(2014, 2, 23));
+		Assert.assertEquals(new LunarDate(4720, -2, 1), ChineseLunarConverter.toLunarDate(2023, 3, 22));
+		Assert.assertEquals(new LocalDate(2023, 3, 22), ChineseLunarConverter.toGregorianDate(4720, -2, 1));
+	}
+
+	@Test
+	public void testOutOfRange() {
+		try {
+			ChineseLunarConverter.toLunarDate(2101, 1, 1);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			ChineseLunarConverter.toLunarDate(2013, 2, 29);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			ChineseLunarConverter.toGregorianDate(4711, -5, 1);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			ChineseLunarConverter.toGregorianDate(4711, 1, 31);
+			Assert.fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void testPerformance() {
+		ChineseCalendarGB calendar = new ChineseCalendarGB();
+		int result = 0;
+
+		PerformanceMonitor.start("ChineseLunarConverterTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				calendar.setGregorian(1901 + j % 200, 1 + j % 12, 1 + j % 28);
+				calendar.computeChineseFields();
+			}
+			PerformanceMonitor.mark("ChineseCalendarGB.computeChineseFields " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100000; j++) {
+				result += ChineseLunarConverter.toLunarDate(1901 + j % 200, 1 + j % 12, 1 + j % 28).getDate();
+			}
+			PerformanceMonitor.mark("ChineseLunarConverter.toLunarDate " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+		Assert.assertTrue(result > 0);
+	}
+}
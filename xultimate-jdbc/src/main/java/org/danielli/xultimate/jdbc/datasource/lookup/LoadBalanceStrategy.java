@@ -0,0 +1,17 @@
+package org.danielli.xultimate.jdbc.datasource.lookup;
+
+/**
+ * 从库负载均衡策略。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see ReadWriteDataSource
+ */
+public enum LoadBalanceStrategy {
+	/** 轮询 */
+	ROUND_ROBIN,
+	/** 按权重随机 */
+	WEIGHTED,
+	/** 活跃连接数最少 */
+	LEAST_ACTIVE
+}
@@ -0,0 +1,353 @@
+package org.danielli.xultimate.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * 读写分离数据源。只读事务中的连接从可用的从库中按{@link LoadBalanceStrategy}选择，其余连接（写操作、非只读事务）使用主库；
+ * 当前线程获取过主库连接后的{@link #setReadYourWritesMillis(long)}毫秒内，只读请求同样使用主库，以保证读到自己的写入。
+ * 从库由后台线程定时检查，连接失败或复制延迟超过{@link #setMaxLagSeconds(long)}的从库不参与选择，没有可用从库时使用主库。
+ * <p>
+ * 可作为{@link RoutingDataSource}的目标数据源，实现分库后每个库的读写分离。使用DataSourceTransactionManager时，
+ * 事务的只读标记在获取连接之后才绑定到当前线程，需用LazyConnectionDataSourceProxy包装本数据源，使连接在第一次执行语句时才获取。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see ReplicaDataSource
+ * @see LoadBalanceStrategy
+ */
+public class ReadWriteDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteDataSource.class);
+
+	/** 主库 */
+	private DataSource primaryDataSource;
+	/** 从库列表 */
+	private List<ReplicaDataSource> replicaDataSources = Collections.emptyList();
+	/** 负载均衡策略 */
+	private LoadBalanceStrategy loadBalanceStrategy = LoadBalanceStrategy.ROUND_ROBIN;
+	/** 写入后读主库的时间窗口（毫秒），小于等于0时不开启 */
+	private long readYourWritesMillis = 1000;
+	/** 健康检查间隔（毫秒），小于等于0时不检查 */
+	private long healthCheckIntervalMillis = 5000;
+	/** 连接校验超时时间（秒） */
+	private int validationTimeoutSeconds = 3;
+	/** 复制延迟查询语句，为null时只校验连接，MySQL为SHOW SLAVE STATUS */
+	private String lagSql;
+	/** 复制延迟所在的列，MySQL为Seconds_Behind_Master */
+	private String lagColumn = "Seconds_Behind_Master";
+	/** 最大复制延迟（秒） */
+	private long maxLagSeconds = 10;
+
+	/** 当前线程最近一次获取主库连接的时间 */
+	private final ThreadLocal<Long> lastWriteTime = new ThreadLocal<>();
+
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	/** 可用从库快照 */
+	private volatile ReplicaSnapshot replicaSnapshot = new ReplicaSnapshot(Collections.<ReplicaDataSource>emptyList());
+
+	private ScheduledExecutorService scheduledExecutorService;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		Assert.notNull(primaryDataSource, "Primary data source must not be null");
+		for (ReplicaDataSource replicaDataSource : replicaDataSources) {
+			Assert.notNull(replicaDataSource.getDataSource(), "Replica data source must not be null");
+			Assert.isTrue(replicaDataSource.getWeight() > 0, "Replica weight must greater than 0");
+		}
+		refreshReplicaSnapshot();
+		if (healthCheckIntervalMillis > 0 && !replicaDataSources.isEmpty()) {
+			scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "ReadWriteDataSourceHealthChecker");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			scheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+				@Override
+				public void run() {
+					checkReplicas();
+				}
+			}, healthCheckIntervalMillis, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (scheduledExecutorService != null) {
+			scheduledExecutorService.shutdownNow();
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		ReplicaDataSource replicaDataSource = determineReplicaDataSource();
+		if (replicaDataSource == null) {
+			return primaryDataSource.getConnection();
+		}
+		return trackActive(replicaDataSource, replicaDataSource.getDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		ReplicaDataSource replicaDataSource = determineReplicaDataSource();
+		if (replicaDataSource == null) {
+			return primaryDataSource.getConnection(username, password);
+		}
+		return trackActive(replicaDataSource, replicaDataSource.getDataSource().getConnection(username, password));
+	}
+
+	/**
+	 * 当前请求是否为只读请求，默认为当前事务是否只读。
+	 */
+	protected boolean isReadOnlyRequest() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	/**
+	 * 确定本次使用的从库。
+	 *
+	 * @return 从库，使用主库时返回null。
+	 */
+	protected ReplicaDataSource determineReplicaDataSource() {
+		long currentTime = System.currentTimeMillis();
+		if (!isReadOnlyRequest()) {
+			if (readYourWritesMillis > 0) {
+				lastWriteTime.set(currentTime);
+			}
+			return null;
+		}
+		if (readYourWritesMillis > 0) {
+			Long writeTime = lastWriteTime.get();
+			if (writeTime != null) {
+				if (currentTime - writeTime < readYourWritesMillis) {
+					return null;
+				}
+				lastWriteTime.remove();
+			}
+		}
+		return selectReplicaDataSource(replicaSnapshot);
+	}
+
+	private ReplicaDataSource selectReplicaDataSource(ReplicaSnapshot replicaSnapshot) {
+		ReplicaDataSource[] replicas = replicaSnapshot.replicas;
+		if (replicas.length == 0) {
+			return null;
+		}
+		if (replicas.length == 1) {
+			return replicas[0];
+		}
+		switch (loadBalanceStrategy) {
+			case WEIGHTED:
+				int random = ThreadLocalRandom.current().nextInt(replicaSnapshot.totalWeight);
+				int[] cumulativeWeights = replicaSnapshot.cumulativeWeights;
+				int low = 0;
+				int high = cumulativeWeights.length - 1;
+				while (low < high) {
+					int middle = (low + high) >>> 1;
+					if (cumulativeWeights[middle] <= random) {
+						low = middle + 1;
+					} else {
+						high = middle;
+					}
+				}
+				return replicas[low];
+			case LEAST_ACTIVE:
+				int start = (sequence.getAndIncrement() & Integer.MAX_VALUE) % replicas.length;
+				ReplicaDataSource leastActive = replicas[start];
+				for (int i = 1; i < replicas.length; i++) {
+					ReplicaDataSource replica = replicas[(start + i) % replicas.length];
+					if (replica.getActiveCount() < leastActive.getActiveCount()) {
+						leastActive = replica;
+					}
+				}
+				return leastActive;
+			default:
+				return replicas[(sequence.getAndIncrement() & Integer.MAX_VALUE) % replicas.length];
+		}
+	}
+
+	/**
+	 * 最少活跃数策略下记录活跃连接数，连接关闭时减少。
+	 */
+	private Connection trackActive(ReplicaDataSource replicaDataSource, Connection connection) {
+		if (loadBalanceStrategy != LoadBalanceStrategy.LEAST_ACTIVE || connection == null) {
+			return connection;
+		}
+		replicaDataSource.getActiveCounter().incrementAndGet();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, new ActiveTrackingInvocationHandler(connection, replicaDataSource.getActiveCounter()));
+	}
+
+	/**
+	 * 检查所有从库的连接和复制延迟，并刷新可用从库。
+	 */
+	public void checkReplicas() {
+		for (ReplicaDataSource replicaDataSource : replicaDataSources) {
+			boolean available;
+			Connection connection = null;
+			Statement statement = null;
+			ResultSet resultSet = null;
+			try {
+				connection = replicaDataSource.getDataSource().getConnection();
+				if (lagSql == null) {
+					available = connection.isValid(validationTimeoutSeconds);
+				} else {
+					statement = connection.createStatement();
+					statement.setQueryTimeout(validationTimeoutSeconds);
+					resultSet = statement.executeQuery(lagSql);
+					Object lag = resultSet.next() ? resultSet.getObject(lagColumn) : null;
+					// 没有复制状态或复制已停止时延迟未知。
+					long lagSeconds = lag instanceof Number ? ((Number) lag).longValue() : -1;
+					replicaDataSource.setLagSeconds(lagSeconds);
+					available = lagSeconds >= 0 && lagSeconds <= maxLagSeconds;
+				}
+			} catch (Exception e) {
+				LOGGER.warn("Check replica data source [" + replicaDataSource.getDataSource() + "] failed: " + e.getMessage());
+				available = false;
+			} finally {
+				JdbcUtils.closeResultSet(resultSet);
+				JdbcUtils.closeStatement(statement);
+				JdbcUtils.closeConnection(connection);
+			}
+			if (replicaDataSource.isAvailable() != available) {
+				LOGGER.info("Replica data source [{}] is {}, lag {} seconds", replicaDataSource.getDataSource(), available ? "available" : "unavailable", replicaDataSource.getLagSeconds());
+			}
+			replicaDataSource.setAvailable(available);
+		}
+		refreshReplicaSnapshot();
+	}
+
+	private void refreshReplicaSnapshot() {
+		List<ReplicaDataSource> availableReplicaDataSources = new ArrayList<>(replicaDataSources.size());
+		for (ReplicaDataSource replicaDataSource : replicaDataSources) {
+			if (replicaDataSource.isAvailable()) {
+				availableReplicaDataSources.add(replicaDataSource);
+			}
+		}
+		this.replicaSnapshot = new ReplicaSnapshot(availableReplicaDataSources);
+	}
+
+	public void setPrimaryDataSource(DataSource primaryDataSource) {
+		this.primaryDataSource = primaryDataSource;
+	}
+
+	public void setReplicaDataSources(List<ReplicaDataSource> replicaDataSources) {
+		this.replicaDataSources = replicaDataSources;
+	}
+
+	public List<ReplicaDataSource> getReplicaDataSources() {
+		return replicaDataSources;
+	}
+
+	public void setLoadBalanceStrategy(LoadBalanceStrategy loadBalanceStrategy) {
+		this.loadBalanceStrategy = loadBalanceStrategy;
+	}
+
+	public void setReadYourWritesMillis(long readYourWritesMillis) {
+		this.readYourWritesMillis = readYourWritesMillis;
+	}
+
+	public void setHealthCheckIntervalMillis(long healthCheckIntervalMillis) {
+		this.healthCheckIntervalMillis = healthCheckIntervalMillis;
+	}
+
+	public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+		this.validationTimeoutSeconds = validationTimeoutSeconds;
+	}
+
+	public void setLagSql(String lagSql) {
+		this.lagSql = lagSql;
+	}
+
+	public void setLagColumn(String lagColumn) {
+		this.lagColumn = lagColumn;
+	}
+
+	public void setMaxLagSeconds(long maxLagSeconds) {
+		this.maxLagSeconds = maxLagSeconds;
+	}
+
+	/**
+	 * 可用从库快照，健康检查后整体替换。
+	 */
+	private static class ReplicaSnapshot {
+
+		private final ReplicaDataSource[] replicas;
+
+		private final int[] cumulativeWeights;
+
+		private final int totalWeight;
+
+		ReplicaSnapshot(List<ReplicaDataSource> replicaDataSources) {
+			this.replicas = replicaDataSources.toArray(new ReplicaDataSource[replicaDataSources.size()]);
+			this.cumulativeWeights = new int[replicas.length];
+			int totalWeight = 0;
+			for (int i = 0; i < replicas.length; i++) {
+				totalWeight += replicas[i].getWeight();
+				cumulativeWeights[i] = totalWeight;
+			}
+			this.totalWeight = totalWeight;
+		}
+	}
+
+	private static class ActiveTrackingInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final AtomicInteger activeCounter;
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		ActiveTrackingInvocationHandler(Connection target, AtomicInteger activeCounter) {
+			this.target = target;
+			this.activeCounter = activeCounter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String methodName = method.getName();
+			if ("equals".equals(methodName)) {
+				return proxy == args[0];
+			} else if ("hashCode".equals(methodName)) {
+				return System.identityHashCode(proxy);
+			} else if ("close".equals(methodName) && closed.compareAndSet(false, true)) {
+				activeCounter.decrementAndGet();
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
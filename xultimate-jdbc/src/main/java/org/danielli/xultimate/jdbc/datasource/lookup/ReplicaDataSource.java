@@ -0,0 +1,74 @@
+package org.danielli.xultimate.jdbc.datasource.lookup;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/**
+ * 从库数据源，包含权重及健康检查得到的状态。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see ReadWriteDataSource
+ */
+public class ReplicaDataSource {
+
+	/** 数据源 */
+	private DataSource dataSource;
+	/** 权重 */
+	private int weight = 1;
+	/** 是否可用 */
+	private volatile boolean available = true;
+	/** 最近一次采样的复制延迟（秒），未知为-1 */
+	private volatile long lagSeconds = -1;
+	/** 活跃连接数 */
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	public ReplicaDataSource() {
+	}
+
+	public ReplicaDataSource(DataSource dataSource, int weight) {
+		this.dataSource = dataSource;
+		this.weight = weight;
+	}
+
+	public DataSource getDataSource() {
+		return dataSource;
+	}
+
+	public void setDataSource(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	public void setWeight(int weight) {
+		this.weight = weight;
+	}
+
+	public boolean isAvailable() {
+		return available;
+	}
+
+	void setAvailable(boolean available) {
+		this.available = available;
+	}
+
+	public long getLagSeconds() {
+		return lagSeconds;
+	}
+
+	void setLagSeconds(long lagSeconds) {
+		this.lagSeconds = lagSeconds;
+	}
+
+	public int getActiveCount() {
+		return activeCount.get();
+	}
+
+	AtomicInteger getActiveCounter() {
+		return activeCount;
+	}
+}
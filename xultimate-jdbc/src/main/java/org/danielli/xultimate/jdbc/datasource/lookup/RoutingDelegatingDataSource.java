@@ -0,0 +1,93 @@
+package org.danielli.xultimate.jdbc.datasource.lookup;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * 根据{@link DataSourceContext#currentLookupKey()}将所有调用直接委派给目标数据源的DataSource实现，
+ * 目标数据源映射在创建时复制，调用时不经过代理和反射。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see RoutingProxyDataSourceFactoryBean
+ */
+public class RoutingDelegatingDataSource implements DataSource {
+
+	/** 目标数据源映射 */
+	private final Map<String, DataSource> targetDataSources;
+
+	public RoutingDelegatingDataSource(Map<String, DataSource> targetDataSources) {
+		this.targetDataSources = new HashMap<>(targetDataSources);
+	}
+
+	/**
+	 * 获取当前的目标数据源。
+	 *
+	 * @return 目标数据源。
+	 * @throws IllegalStateException 当前数据源Key没有对应的目标数据源时抛出。
+	 */
+	protected DataSource determineTargetDataSource() {
+		String lookupKey = DataSourceContext.currentLookupKey();
+		DataSource dataSource = targetDataSources.get(lookupKey);
+		if (dataSource == null) {
+			throw new IllegalStateException("Cannot determine target DataSource for lookup key [" + lookupKey + "]");
+		}
+		return dataSource;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return determineTargetDataSource().getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return determineTargetDataSource().getConnection(username, password);
+	}
+
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return determineTargetDataSource().getLogWriter();
+	}
+
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		determineTargetDataSource().setLogWriter(out);
+	}
+
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		determineTargetDataSource().setLoginTimeout(seconds);
+	}
+
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return determineTargetDataSource().getLoginTimeout();
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		return determineTargetDataSource().getParentLogger();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		return determineTargetDataSource().unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || determineTargetDataSource().isWrapperFor(iface);
+	}
+}
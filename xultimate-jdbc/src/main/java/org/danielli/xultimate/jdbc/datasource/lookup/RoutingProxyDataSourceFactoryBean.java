@@ -1,22 +1,17 @@
 package org.danielli.xultimate.jdbc.datasource.lookup;
 
-import java.lang.reflect.Method;
 import java.util.Map;
 
 import javax.sql.DataSource;
 
-import net.sf.cglib.proxy.Enhancer;
-import net.sf.cglib.proxy.InvocationHandler;
-
-import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.FactoryBean;
 
 
-public class RoutingProxyDataSourceFactoryBean implements FactoryBean<DataSource>, InvocationHandler, BeanClassLoaderAware {
+public class RoutingProxyDataSourceFactoryBean implements FactoryBean<DataSource> {
 	
 	private Map<String, DataSource> targetDataSources;
 	
-	private ClassLoader classLoader;
+	private DataSource routingDataSource;
 
 	public Map<String, DataSource> getTargetDataSources() {
 		return targetDataSources;
@@ -27,24 +22,11 @@ public class RoutingProxyDataSourceFactoryBean implements FactoryBean<DataSource
 	}
 
 	@Override
-	public void setBeanClassLoader(ClassLoader classLoader) {
-		this.classLoader = classLoader;
-	}
-	
-	@Override
-	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-		return method.invoke(targetDataSources.get(DataSourceContext.currentLookupKey()), args);
-	}
-
-	@Override
-	public DataSource getObject() throws Exception {
-		Enhancer enhancer = new Enhancer();
-		enhancer.setClassLoader(classLoader);
-		enhancer.setUseCache(true);
-		enhancer.setInterfaces(new Class<?>[] { DataSource.class });
-		enhancer.setInterceptDuringConstruction(true);
-		enhancer.setCallback(this);
-		return (DataSource) enhancer.create();
+	public synchronized DataSource getObject() throws Exception {
+		if (routingDataSource == null) {
+			routingDataSource = new RoutingDelegatingDataSource(targetDataSources);
+		}
+		return routingDataSource;
 	}
 
 	@Override
@@ -56,11 +38,4 @@ public class RoutingProxyDataSourceFactoryBean implements FactoryBean<DataSource
 	public boolean isSingleton() {
 		return true;
 	}
-
-
-
-
-	
-	
-	
 }
@@ -3,6 +3,7 @@ package org.danielli.xultimate.jdbc.support.incrementer;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.danielli.xultimate.util.Assert;
+import org.danielli.xultimate.util.reflect.BeanUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
 
@@ -32,7 +33,15 @@ public abstract class AbstractKeyMaxValueIncrementer extends AbstractDataFieldMa
 	private long step = 1;
 	
 	private ReentrantLock reentrantLock = new ReentrantLock();
+
+	/** 预取阈值，大于0时开启双缓冲号段，当前号段的使用比例达到该值时后台预取下一个号段 */
+	private double prefetchThreshold = 0;
+	
+	/** 自适应号段的最大缓存个数，小于等于cacheSize时号段大小固定 */
+	private int maxCacheSize = 0;
 	
+	private SegmentBuffer segmentBuffer;
+
 	/**
 	 * Default constructor for bean property style usage.
 	 * @see #setKeyName
@@ -51,6 +60,9 @@ public abstract class AbstractKeyMaxValueIncrementer extends AbstractDataFieldMa
 	
 	@Override
 	protected long getNextKey() throws DataAccessException {
+		if (segmentBuffer != null) {
+			return segmentBuffer.getNextKey();
+		}
 		reentrantLock.lock();
 		try {
 			this.nextId += this.step;
@@ -66,6 +78,17 @@ public abstract class AbstractKeyMaxValueIncrementer extends AbstractDataFieldMa
 	
 	protected abstract long getNextMaxId() throws DataAccessException;
 	
+	/**
+	 * 按指定的缓存个数获取下一个最大值，用于自适应号段。默认只支持{@link #getCacheSize()}，
+	 * 子类需覆盖此方法才能使用{@link #setMaxCacheSize(int)}。
+	 */
+	protected long getNextMaxId(int cacheSize) throws DataAccessException {
+		if (cacheSize != getCacheSize()) {
+			throw new UnsupportedOperationException(getClass().getName() + " does not support adaptive cache size");
+		}
+		return getNextMaxId();
+	}
+	
 	/**
 	 * Set the name of the Key.
 	 */
@@ -102,6 +125,18 @@ public abstract class AbstractKeyMaxValueIncrementer extends AbstractDataFieldMa
 		if (this.keyName == null) {
 			throw new IllegalArgumentException("Property 'keyName' is required");
 		}
+		if (this.maxCacheSize > this.cacheSize) {
+			// 默认的getNextMaxId(int)不支持自适应号段，在预取线程中才会失败，因此启动时检查。
+			Assert.isTrue(BeanUtils.findMethod(getClass(), "getNextMaxId", int.class).getDeclaringClass() != AbstractKeyMaxValueIncrementer.class, "Property 'maxCacheSize' requires " + getClass().getName() + " to override getNextMaxId(int)");
+		}
+		if (this.prefetchThreshold > 0) {
+			this.segmentBuffer = new SegmentBuffer(new SegmentBuffer.SegmentLoader() {
+				@Override
+				public SegmentBuffer.Segment load(int cacheSize) throws DataAccessException {
+					return new SegmentBuffer.Segment(getNextMaxId(cacheSize), cacheSize);
+				}
+			}, this.step, this.cacheSize, this.maxCacheSize, this.prefetchThreshold);
+		}
 	}
 
 	/**
@@ -117,4 +152,32 @@ public abstract class AbstractKeyMaxValueIncrementer extends AbstractDataFieldMa
 	public void setStep(long step) {
 		this.step = step;
 	}
+
+	/**
+	 * 获取预取阈值。
+	 */
+	public double getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	/**
+	 * 设置预取阈值，取值范围(0, 1]，如0.8表示当前号段使用80%后后台预取下一个号段。默认为0，即不预取。
+	 */
+	public void setPrefetchThreshold(double prefetchThreshold) {
+		this.prefetchThreshold = prefetchThreshold;
+	}
+
+	/**
+	 * 获取自适应号段的最大缓存个数。
+	 */
+	public int getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * 设置自适应号段的最大缓存个数，仅在开启预取时生效。大于cacheSize时子类需覆盖{@link #getNextMaxId(int)}，否则初始化失败。
+	 */
+	public void setMaxCacheSize(int maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
 }
@@ -37,6 +37,11 @@ public abstract class AbstractSequenceMaxValueIncrementer extends AbstractDataFi
 	
 	private ReentrantLock reentrantLock = new ReentrantLock();
 
+	/** 预取阈值，大于0时开启双缓冲号段，当前号段的使用比例达到该值时后台预取下一个号段 */
+	private double prefetchThreshold = 0;
+	
+	private SegmentBuffer segmentBuffer;
+	
 	/**
 	 * 创建实例。并通过相应的setter方法完成必要设置。
 	 * 
@@ -61,36 +66,27 @@ public abstract class AbstractSequenceMaxValueIncrementer extends AbstractDataFi
 		Assert.isTrue(this.step > 0, "Property 'step' must greater than 0");
 		Assert.isTrue(this.cacheSize > 0, "Property 'cacheSize' must greater than 0");
 		super.afterPropertiesSet();
+		if (this.prefetchThreshold > 0) {
+			// 序列每次的增长量由数据库定义，号段大小固定为cacheSize。
+			this.segmentBuffer = new SegmentBuffer(new SegmentBuffer.SegmentLoader() {
+				@Override
+				public SegmentBuffer.Segment load(int cacheSize) {
+					return new SegmentBuffer.Segment(getNextMaxId(), getCacheSize());
+				}
+			}, this.step, this.cacheSize, this.cacheSize, this.prefetchThreshold);
+		}
 	}
 	
 	@Override
 	protected long getNextKey() {
+		if (segmentBuffer != null) {
+			return segmentBuffer.getNextKey();
+		}
 		reentrantLock.lock();
 		try {
 			this.nextId += this.step;
 			if (this.maxId < this.nextId) {
-				Connection con = DataSourceUtils.getConnection(getDataSource());
-				Statement stmt = null;
-				ResultSet rs = null;
-				try {
-					stmt = con.createStatement();
-					DataSourceUtils.applyTransactionTimeout(stmt, getDataSource());
-					rs = stmt.executeQuery(getSequenceQuery());
-					if (rs.next()) {
-						this.maxId = rs.getLong(1);
-					}
-					else {
-						throw new DataAccessResourceFailureException("Sequence query did not return a result");
-					}
-				}
-				catch (SQLException ex) {
-					throw new DataAccessResourceFailureException("Could not obtain sequence value", ex);
-				}
-				finally {
-					JdbcUtils.closeResultSet(rs);
-					JdbcUtils.closeStatement(stmt);
-					DataSourceUtils.releaseConnection(con, getDataSource());
-				}
+				this.maxId = getNextMaxId();
 				this.nextId = this.maxId - this.cacheSize * this.step + 1;
 			}
 			return this.nextId;
@@ -99,6 +95,34 @@ public abstract class AbstractSequenceMaxValueIncrementer extends AbstractDataFi
 		}
 	}
 	
+	/**
+	 * 查询序列获取下一个最大值。
+	 */
+	private long getNextMaxId() {
+		Connection con = DataSourceUtils.getConnection(getDataSource());
+		Statement stmt = null;
+		ResultSet rs = null;
+		try {
+			stmt = con.createStatement();
+			DataSourceUtils.applyTransactionTimeout(stmt, getDataSource());
+			rs = stmt.executeQuery(getSequenceQuery());
+			if (rs.next()) {
+				return rs.getLong(1);
+			}
+			else {
+				throw new DataAccessResourceFailureException("Sequence query did not return a result");
+			}
+		}
+		catch (SQLException ex) {
+			throw new DataAccessResourceFailureException("Could not obtain sequence value", ex);
+		}
+		finally {
+			JdbcUtils.closeResultSet(rs);
+			JdbcUtils.closeStatement(stmt);
+			DataSourceUtils.releaseConnection(con, getDataSource());
+		}
+	}
+	
 	/**
 	 * 查询序列获取下一个值的语句。
 	 */
@@ -132,4 +156,17 @@ public abstract class AbstractSequenceMaxValueIncrementer extends AbstractDataFi
 		this.step = step;
 	}
 
+	/**
+	 * 获取预取阈值。
+	 */
+	public double getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	/**
+	 * 设置预取阈值，取值范围(0, 1]，如0.8表示当前号段使用80%后后台预取下一个号段。默认为0，即不预取。
+	 */
+	public void setPrefetchThreshold(double prefetchThreshold) {
+		this.prefetchThreshold = prefetchThreshold;
+	}
 }
@@ -37,7 +37,14 @@ public class MySQLMaxValueIncrementer extends AbstractColumnMaxValueIncrementer
 	private long step = 1;
 	
 	private ReentrantLock reentrantLock = new ReentrantLock();
-
+	
+	/** 预取阈值，大于0时开启双缓冲号段，当前号段的使用比例达到该值时后台预取下一个号段 */
+	private double prefetchThreshold = 0;
+	
+	/** 自适应号段的最大缓存个数，小于等于cacheSize时号段大小固定 */
+	private int maxCacheSize = 0;
+	
+	private SegmentBuffer segmentBuffer;
 
 	/**
 	 * Default constructor for bean property style usage.
@@ -64,54 +71,72 @@ public class MySQLMaxValueIncrementer extends AbstractColumnMaxValueIncrementer
 		Assert.isTrue(this.step > 0, "Property 'step' must greater than 0");
 		Assert.isTrue(this.getCacheSize() > 0, "Property 'cacheSize' must greater than 0");
 		super.afterPropertiesSet();
+		if (this.prefetchThreshold > 0) {
+			this.segmentBuffer = new SegmentBuffer(new SegmentBuffer.SegmentLoader() {
+				@Override
+				public SegmentBuffer.Segment load(int cacheSize) throws DataAccessException {
+					return new SegmentBuffer.Segment(getNextMaxId(cacheSize), cacheSize);
+				}
+			}, this.step, getCacheSize(), this.maxCacheSize, this.prefetchThreshold);
+		}
 	}
 
 	@Override
 	protected long getNextKey() throws DataAccessException {
+		if (segmentBuffer != null) {
+			return segmentBuffer.getNextKey();
+		}
 		reentrantLock.lock();
 		try {
 			this.nextId += this.step;
 			if (this.maxId < this.nextId) {
-				/*
-				* Need to use straight JDBC code because we need to make sure that the insert and select
-				* are performed on the same connection (otherwise we can't be sure that last_insert_id()
-				* returned the correct value)
-				*/
-				Connection con = DataSourceUtils.getConnection(getDataSource());
-				Statement stmt = null;
-				try {
-					stmt = con.createStatement();
-					DataSourceUtils.applyTransactionTimeout(stmt, getDataSource());
-					// Increment the sequence column...
-					String columnName = getColumnName();
-					stmt.executeUpdate("update "+ getIncrementerName() + " set " + columnName +
-							" = last_insert_id(" + columnName + " + " + (getCacheSize() * this.step) + ")");
-					// Retrieve the new max of the sequence column...
-					ResultSet rs = stmt.executeQuery(VALUE_SQL);
-					try {
-						if (!rs.next()) {
-							throw new DataAccessResourceFailureException("last_insert_id() failed after executing an update");
-						}
-						this.maxId = rs.getLong(1);
-					}
-					finally {
-						JdbcUtils.closeResultSet(rs);
-					}
-					this.nextId = this.maxId - getCacheSize() * this.step + 1;
-				}
-				catch (SQLException ex) {
-					throw new DataAccessResourceFailureException("Could not obtain last_insert_id()", ex);
-				}
-				finally {
-					JdbcUtils.closeStatement(stmt);
-					DataSourceUtils.releaseConnection(con, getDataSource());
-				}
+				this.maxId = getNextMaxId(getCacheSize());
+				this.nextId = this.maxId - getCacheSize() * this.step + 1;
 			}
 			return this.nextId;
 		} finally {
 			reentrantLock.unlock();
 		}
 	}
+	
+	/**
+	 * 按指定的缓存个数增长并获取下一个最大值。
+	 */
+	private long getNextMaxId(int cacheSize) throws DataAccessException {
+		/*
+		* Need to use straight JDBC code because we need to make sure that the insert and select
+		* are performed on the same connection (otherwise we can't be sure that last_insert_id()
+		* returned the correct value)
+		*/
+		Connection con = DataSourceUtils.getConnection(getDataSource());
+		Statement stmt = null;
+		try {
+			stmt = con.createStatement();
+			DataSourceUtils.applyTransactionTimeout(stmt, getDataSource());
+			// Increment the sequence column...
+			String columnName = getColumnName();
+			stmt.executeUpdate("update "+ getIncrementerName() + " set " + columnName +
+					" = last_insert_id(" + columnName + " + " + (cacheSize * this.step) + ")");
+			// Retrieve the new max of the sequence column...
+			ResultSet rs = stmt.executeQuery(VALUE_SQL);
+			try {
+				if (!rs.next()) {
+					throw new DataAccessResourceFailureException("last_insert_id() failed after executing an update");
+				}
+				return rs.getLong(1);
+			}
+			finally {
+				JdbcUtils.closeResultSet(rs);
+			}
+		}
+		catch (SQLException ex) {
+			throw new DataAccessResourceFailureException("Could not obtain last_insert_id()", ex);
+		}
+		finally {
+			JdbcUtils.closeStatement(stmt);
+			DataSourceUtils.releaseConnection(con, getDataSource());
+		}
+	}
 
 	/**
 	 * 获取步进。
@@ -126,4 +151,32 @@ public class MySQLMaxValueIncrementer extends AbstractColumnMaxValueIncrementer
 	public void setStep(long step) {
 		this.step = step;
 	}
+
+	/**
+	 * 获取预取阈值。
+	 */
+	public double getPrefetchThreshold() {
+		return prefetchThreshold;
+	}
+
+	/**
+	 * 设置预取阈值，取值范围(0, 1]，如0.8表示当前号段使用80%后后台预取下一个号段。默认为0，即不预取。
+	 */
+	public void setPrefetchThreshold(double prefetchThreshold) {
+		this.prefetchThreshold = prefetchThreshold;
+	}
+
+	/**
+	 * 获取自适应号段的最大缓存个数。
+	 */
+	public int getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * 设置自适应号段的最大缓存个数，仅在开启预取时生效。
+	 */
+	public void setMaxCacheSize(int maxCacheSize) {
+		this.maxCacheSize = maxCacheSize;
+	}
 }
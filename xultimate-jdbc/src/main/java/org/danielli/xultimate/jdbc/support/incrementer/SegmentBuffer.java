@@ -0,0 +1,219 @@
+package org.danielli.xultimate.jdbc.support.incrementer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.danielli.xultimate.util.Assert;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * 双缓冲号段。当前号段的使用比例达到预取阈值后，由后台线程加载下一个号段，当前号段用尽时直接切换，
+ * 调用方不再在号段边界上同步等待数据库往返。
+ * <p>
+ * 当maxCacheSize大于cacheSize时开启自适应：号段消耗时间短于{@link #setSegmentDurationMillis(long)}的一半时，
+ * 下一个号段的缓存个数翻倍，长于两倍时减半，范围在cacheSize与maxCacheSize之间。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class SegmentBuffer {
+
+	private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool(new ThreadFactory() {
+
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "SegmentBufferLoader-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/** 号段加载器 */
+	private final SegmentLoader segmentLoader;
+
+	/** 步进 */
+	private final long step;
+
+	/** 最小缓存个数 */
+	private final int minCacheSize;
+
+	/** 最大缓存个数 */
+	private final int maxCacheSize;
+
+	/** 预取阈值，当前号段的使用比例达到该值时开始预取 */
+	private final double prefetchThreshold;
+
+	/** 号段的期望消耗时间（毫秒） */
+	private long segmentDurationMillis = 60000;
+
+	/** 此次请求的下一个值 */
+	private long nextId = 0;
+
+	/** 此次请求的最大值 */
+	private long maxId = 0;
+
+	/** 达到该值时开始预取 */
+	private long prefetchId = Long.MAX_VALUE;
+
+	/** 当前号段的开始时间，0表示尚未加载号段 */
+	private long segmentStartTime = 0;
+
+	/** 下一个号段的缓存个数 */
+	private int nextCacheSize;
+
+	/** 正在预取的号段 */
+	private Future<Segment> nextSegment;
+
+	private ReentrantLock reentrantLock = new ReentrantLock();
+
+	/**
+	 * 创建实例。
+	 *
+	 * @param segmentLoader 号段加载器。
+	 * @param step 步进。
+	 * @param cacheSize 缓存个数，自适应时为最小缓存个数。
+	 * @param maxCacheSize 最大缓存个数，小于等于cacheSize时不开启自适应。
+	 * @param prefetchThreshold 预取阈值，取值范围(0, 1]。
+	 */
+	public SegmentBuffer(SegmentLoader segmentLoader, long step, int cacheSize, int maxCacheSize, double prefetchThreshold) {
+		Assert.notNull(segmentLoader, "Segment loader must not be null");
+		Assert.isTrue(step > 0, "Step must greater than 0");
+		Assert.isTrue(cacheSize > 0, "Cache size must greater than 0");
+		Assert.isTrue(prefetchThreshold > 0 && prefetchThreshold <= 1, "Prefetch threshold must in (0, 1]");
+		this.segmentLoader = segmentLoader;
+		this.step = step;
+		this.minCacheSize = cacheSize;
+		this.maxCacheSize = Math.max(cacheSize, maxCacheSize);
+		this.prefetchThreshold = prefetchThreshold;
+		this.nextCacheSize = cacheSize;
+	}
+
+	/**
+	 * 获取下一个值。
+	 */
+	public long getNextKey() throws DataAccessException {
+		reentrantLock.lock();
+		try {
+			this.nextId += this.step;
+			if (this.maxId < this.nextId) {
+				switchSegment();
+			}
+			if (this.nextSegment == null && this.nextId >= this.prefetchId) {
+				final int cacheSize = this.nextCacheSize;
+				this.nextSegment = EXECUTOR_SERVICE.submit(new Callable<Segment>() {
+					@Override
+					public Segment call() throws Exception {
+						return segmentLoader.load(cacheSize);
+					}
+				});
+			}
+			return this.nextId;
+		} finally {
+			reentrantLock.unlock();
+		}
+	}
+
+	private void switchSegment() {
+		Segment segment;
+		if (this.nextSegment == null) {
+			segment = this.segmentLoader.load(this.nextCacheSize);
+		} else {
+			try {
+				segment = this.nextSegment.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DataAccessResourceFailureException("Interrupted while waiting for the next segment", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof DataAccessException) {
+					throw (DataAccessException) e.getCause();
+				}
+				throw new DataAccessResourceFailureException("Could not prefetch the next segment", e.getCause());
+			} finally {
+				this.nextSegment = null;
+			}
+		}
+
+		long currentTime = System.currentTimeMillis();
+		if (this.segmentStartTime > 0 && this.maxCacheSize > this.minCacheSize) {
+			long duration = currentTime - this.segmentStartTime;
+			if (duration < this.segmentDurationMillis / 2) {
+				this.nextCacheSize = (int) Math.min(this.maxCacheSize, this.nextCacheSize * 2L);
+			} else if (duration > this.segmentDurationMillis * 2) {
+				this.nextCacheSize = Math.max(this.minCacheSize, this.nextCacheSize / 2);
+			}
+		}
+		this.segmentStartTime = currentTime;
+
+		this.maxId = segment.getMaxId();
+		this.nextId = this.maxId - segment.getCacheSize() * this.step + 1;
+		this.prefetchId = this.nextId + (long) Math.ceil(segment.getCacheSize() * this.prefetchThreshold - 1) * this.step;
+	}
+
+	/**
+	 * 设置号段的期望消耗时间（毫秒），用于自适应调整缓存个数，默认60秒。
+	 */
+	public void setSegmentDurationMillis(long segmentDurationMillis) {
+		this.segmentDurationMillis = segmentDurationMillis;
+	}
+
+	/**
+	 * 返回下一个号段的缓存个数。
+	 */
+	public int getNextCacheSize() {
+		return this.nextCacheSize;
+	}
+
+	/**
+	 * 号段加载器。
+	 *
+	 * @author Daniel Li
+	 * @since 16 Oct 2026
+	 */
+	public interface SegmentLoader {
+
+		/**
+		 * 加载号段。
+		 *
+		 * @param cacheSize 期望的缓存个数，加载器可以忽略该值并在返回的号段中给出实际的缓存个数。
+		 * @return 号段。
+		 */
+		Segment load(int cacheSize) throws DataAccessException;
+	}
+
+	/**
+	 * 号段。包含(maxId - cacheSize * step, maxId]区间内按步进分配的值。
+	 *
+	 * @author Daniel Li
+	 * @since 16 Oct 2026
+	 */
+	public static class Segment {
+
+		/** 最大值 */
+		private final long maxId;
+
+		/** 缓存个数 */
+		private final int cacheSize;
+
+		public Segment(long maxId, int cacheSize) {
+			this.maxId = maxId;
+			this.cacheSize = cacheSize;
+		}
+
+		public long getMaxId() {
+			return maxId;
+		}
+
+		public int getCacheSize() {
+			return cacheSize;
+		}
+	}
+}
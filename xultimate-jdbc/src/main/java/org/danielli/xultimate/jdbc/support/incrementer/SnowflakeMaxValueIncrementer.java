@@ -0,0 +1,199 @@
+package org.danielli.xultimate.jdbc.support.incrementer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.danielli.xultimate.util.Assert;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * 基于时间的主键生成器（Snowflake），无需访问数据库或Redis。生成的64位主键由高到低依次为：
+ * 符号位（0）、相对{@link #setEpoch(long) 起始时间}的毫秒数、{@link #setWorkerId(long) 节点ID}、毫秒内的序号。
+ * 只要各节点的节点ID不同，即可部署在不同机器中同时主键不会重复，且主键随时间递增。
+ * <p>
+ * 上一次的时间戳和序号保存在一个{@link AtomicLong}中，通过CAS更新，{@link #nextLongValue()}无锁。
+ * 同一毫秒内序号用尽时借用下一毫秒；时钟回拨不超过{@link #setMaxBackwardMillis(long)}时沿用上一次的时间戳继续生成，
+ * 超过时抛出{@link DataAccessResourceFailureException}。借用的时间同样不超过该值，超过时等待时钟追上。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class SnowflakeMaxValueIncrementer extends AbstractDataFieldMaxValueIncrementer {
+
+	/** 起始时间，默认为2013-06-15 00:00:00 UTC */
+	private long epoch = 1371254400000L;
+
+	/** 节点ID */
+	private long workerId = 0;
+
+	/** 节点ID的位数 */
+	private int workerIdBits = 10;
+
+	/** 序号的位数 */
+	private int sequenceBits = 12;
+
+	/** 允许的时钟回拨毫秒数 */
+	private long maxBackwardMillis = 5;
+
+	private long sequenceMask;
+
+	private long maxTimestamp;
+
+	private int timestampShift;
+
+	/** 上一次的时间戳（相对起始时间）左移sequenceBits位后与序号的组合 */
+	private final AtomicLong lastState = new AtomicLong();
+
+	/**
+	 * Default constructor for bean property style usage.
+	 * @see #setWorkerId
+	 */
+	public SnowflakeMaxValueIncrementer() {
+	}
+
+	/**
+	 * Convenience constructor.
+	 * @param workerId 节点ID。
+	 */
+	public SnowflakeMaxValueIncrementer(long workerId) {
+		this.workerId = workerId;
+		afterPropertiesSet();
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		Assert.isTrue(workerIdBits >= 0 && sequenceBits > 0 && workerIdBits + sequenceBits < 63, "Property 'workerIdBits' and 'sequenceBits' must leave bits for timestamp");
+		Assert.isTrue(workerId >= 0 && workerId < (1L << workerIdBits), "Property 'workerId' must between 0 and " + ((1L << workerIdBits) - 1));
+		Assert.isTrue(maxBackwardMillis >= 0, "Property 'maxBackwardMillis' must not less than 0");
+		this.sequenceMask = (1L << sequenceBits) - 1;
+		this.timestampShift = workerIdBits + sequenceBits;
+		this.maxTimestamp = (1L << (63 - timestampShift)) - 1;
+	}
+
+	@Override
+	protected long getNextKey() throws DataAccessException {
+		while (true) {
+			long state = lastState.get();
+			long lastTimestamp = state >>> sequenceBits;
+			long timestamp = currentTimeMillis() - epoch;
+			long nextState;
+			if (timestamp > lastTimestamp) {
+				nextState = timestamp << sequenceBits;
+			} else if (lastTimestamp - timestamp > maxBackwardMillis) {
+				throw new DataAccessResourceFailureException("Clock moved backwards by " + (lastTimestamp - timestamp) + " ms, more than " + maxBackwardMillis + " ms");
+			} else if ((state & sequenceMask) < sequenceMask) {
+				nextState = state + 1;
+			} else if (lastTimestamp + 1 - timestamp <= maxBackwardMillis) {
+				// 序号用尽，借用下一毫秒。
+				nextState = (lastTimestamp + 1) << sequenceBits;
+			} else {
+				Thread.yield();
+				continue;
+			}
+			if (nextState >>> sequenceBits > maxTimestamp) {
+				throw new DataAccessResourceFailureException("Timestamp overflow, epoch " + epoch + " is too early");
+			}
+			if (lastState.compareAndSet(state, nextState)) {
+				return ((nextState >>> sequenceBits) << timestampShift) | (workerId << sequenceBits) | (nextState & sequenceMask);
+			}
+		}
+	}
+
+	/**
+	 * 获取当前时间，子类可覆盖以使用其他时钟。
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * 获取主键中的生成时间。
+	 *
+	 * @param key 此生成器生成的主键。
+	 * @return 生成时间的毫秒数。
+	 */
+	public long getTimeMillis(long key) {
+		return (key >>> timestampShift) + epoch;
+	}
+
+	/**
+	 * 获取主键中的节点ID。
+	 *
+	 * @param key 此生成器生成的主键。
+	 * @return 节点ID。
+	 */
+	public long getWorkerId(long key) {
+		return (key >>> sequenceBits) & ((1L << workerIdBits) - 1);
+	}
+
+	/**
+	 * 获取起始时间。
+	 */
+	public long getEpoch() {
+		return epoch;
+	}
+
+	/**
+	 * 设置起始时间的毫秒数，部署后不能再修改。
+	 */
+	public void setEpoch(long epoch) {
+		this.epoch = epoch;
+	}
+
+	/**
+	 * 获取节点ID。
+	 */
+	public long getWorkerId() {
+		return workerId;
+	}
+
+	/**
+	 * 设置节点ID，取值范围[0, 2^workerIdBits)，各节点不能重复。
+	 */
+	public void setWorkerId(long workerId) {
+		this.workerId = workerId;
+	}
+
+	/**
+	 * 获取节点ID的位数。
+	 */
+	public int getWorkerIdBits() {
+		return workerIdBits;
+	}
+
+	/**
+	 * 设置节点ID的位数，默认为10，即最多1024个节点。
+	 */
+	public void setWorkerIdBits(int workerIdBits) {
+		this.workerIdBits = workerIdBits;
+	}
+
+	/**
+	 * 获取序号的位数。
+	 */
+	public int getSequenceBits() {
+		return sequenceBits;
+	}
+
+	/**
+	 * 设置序号的位数，默认为12，即每个节点每毫秒4096个主键。
+	 */
+	public void setSequenceBits(int sequenceBits) {
+		this.sequenceBits = sequenceBits;
+	}
+
+	/**
+	 * 获取允许的时钟回拨毫秒数。
+	 */
+	public long getMaxBackwardMillis() {
+		return maxBackwardMillis;
+	}
+
+	/**
+	 * 设置允许的时钟回拨毫秒数，默认为5。为0时不允许回拨，序号用尽时等待下一毫秒。
+	 */
+	public void setMaxBackwardMillis(long maxBackwardMillis) {
+		this.maxBackwardMillis = maxBackwardMillis;
+	}
+}
@@ -20,8 +20,14 @@ import static java.util.Arrays.asList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +38,8 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 /**
@@ -43,6 +51,13 @@ import org.springframework.util.Assert;
  * which means the {@link PlatformTransactionManager} most likely to break the transaction should be the <em>last</em>
  * in the list configured. A {@link PlatformTransactionManager} throwing an exception during commit will automatically
  * cause the remaining transaction managers to roll back instead of committing.
+ * <p />
+ * With a {@link #setCommitExecutor(Executor) commit executor} configured, the commit latency is reduced from the sum of
+ * all commit times to the commit time of the last {@link PlatformTransactionManager} plus the slowest of the others:
+ * every transaction is flushed and checked on the calling thread first (prepare), the last
+ * {@link PlatformTransactionManager} is committed on its own and only then are the remaining ones committed in
+ * parallel. A failure stops the commits not yet started, which are rolled back in reverse order as before. The commit
+ * time of every {@link PlatformTransactionManager} is reported to the {@link CommitTimingListener}.
  * 
  * @author Michael Hunger
  * @author Oliver Gierke
@@ -55,6 +70,9 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 	private final List<PlatformTransactionManager> transactionManagers;
 	private final SynchronizationManager synchronizationManager;
 
+	private Executor commitExecutor;
+	private CommitTimingListener commitTimingListener;
+
 	/**
 	 * Creates a new {@link ChainedTransactionManager} delegating to the given {@link PlatformTransactionManager}s.
 	 * 
@@ -133,8 +151,17 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 
 		MultiTransactionStatus multiTransactionStatus = (MultiTransactionStatus) status;
 
+		if (commitExecutor != null && transactionManagers.size() > 1 && prepare(multiTransactionStatus)) {
+			commitInParallel(multiTransactionStatus);
+		} else {
+			commitInOrder(multiTransactionStatus);
+		}
+	}
+
+	private void commitInOrder(MultiTransactionStatus multiTransactionStatus) {
+
 		boolean commit = true;
-		Exception commitException = null;
+		Throwable commitException = null;
 		PlatformTransactionManager commitExceptionTransactionManager = null;
 
 		for (PlatformTransactionManager transactionManager : reverse(transactionManagers)) {
@@ -142,7 +169,7 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 			if (commit) {
 
 				try {
-					multiTransactionStatus.commit(transactionManager);
+					commitAndReport(multiTransactionStatus, transactionManager);
 				} catch (Exception ex) {
 					commit = false;
 					commitException = ex;
@@ -153,13 +180,172 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 
 				// after unsucessfull commit we must try to rollback remaining transaction managers
 
+				rollbackAfterCommit(multiTransactionStatus, transactionManager);
+			}
+		}
+
+		completeCommit(multiTransactionStatus, commitException, commitExceptionTransactionManager);
+	}
+
+	/**
+	 * Prepares the parallel commit on the calling thread: flushes every transaction and makes sure none of them is
+	 * rollback-only, completed, owns its synchronizations or holds suspended resources. Otherwise the ordered commit is
+	 * used, which handles these cases the same way as without a commit executor.
+	 */
+	private boolean prepare(MultiTransactionStatus multiTransactionStatus) {
+
+		for (PlatformTransactionManager transactionManager : reverse(transactionManagers)) {
+
+			TransactionStatus transactionStatus = multiTransactionStatus.getTransactionStatus(transactionManager);
+
+			if (transactionStatus == null || transactionStatus.isRollbackOnly() || transactionStatus.isCompleted()) {
+				return false;
+			}
+
+			if (transactionStatus instanceof DefaultTransactionStatus
+					&& ((DefaultTransactionStatus) transactionStatus).isNewSynchronization()) {
+				return false;
+			}
+
+			// resuming suspended resources (e.g. an outer transaction suspended by PROPAGATION_REQUIRES_NEW) rebinds
+			// them to the committing thread, so they must be resumed on the calling thread
+
+			if (transactionStatus instanceof DefaultTransactionStatus
+					&& ((DefaultTransactionStatus) transactionStatus).getSuspendedResources() != null) {
+				return false;
+			}
+
+			try {
+				transactionStatus.flush();
+			} catch (Exception ex) {
+				LOGGER.debug("Flush exception (" + transactionManager + "), committing in order", ex);
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void commitInParallel(MultiTransactionStatus multiTransactionStatus) {
+
+		List<PlatformTransactionManager> reversedTransactionManagers = reverse(transactionManagers);
+
+		// the last transaction manager is the most likely to break the transaction, so it is committed on its own first
+		// and a failure still rolls back all the others
+
+		PlatformTransactionManager lastTransactionManager = reversedTransactionManagers.get(0);
+
+		try {
+			commitAndReport(multiTransactionStatus, lastTransactionManager);
+		} catch (Exception ex) {
+
+			for (PlatformTransactionManager transactionManager : reversedTransactionManagers.subList(1,
+					reversedTransactionManagers.size())) {
+				rollbackAfterCommit(multiTransactionStatus, transactionManager);
+			}
+
+			completeCommit(multiTransactionStatus, ex, lastTransactionManager);
+			return;
+		}
+
+		// transactional resources (e.g. JDBC connections) are bound to the calling thread, so each commit thread gets
+		// a copy of them for the duration of the commit
+
+		Map<Object, Object> resources = new HashMap<Object, Object>(TransactionSynchronizationManager.getResourceMap());
+		AtomicBoolean failed = new AtomicBoolean();
+		List<ParallelCommit> parallelCommits = new ArrayList<ParallelCommit>(reversedTransactionManagers.size() - 1);
+
+		for (PlatformTransactionManager transactionManager : reversedTransactionManagers.subList(1,
+				reversedTransactionManagers.size())) {
+
+			ParallelCommit parallelCommit = new ParallelCommit(multiTransactionStatus, transactionManager,
+					Thread.currentThread(), resources, failed);
+			parallelCommits.add(parallelCommit);
+
+			try {
+				commitExecutor.execute(parallelCommit);
+			} catch (RejectedExecutionException ex) {
+				parallelCommit.run();
+			}
+		}
+
+		Throwable commitException = null;
+		PlatformTransactionManager commitExceptionTransactionManager = null;
+
+		for (ParallelCommit parallelCommit : parallelCommits) {
+
+			parallelCommit.await();
+
+			// resources released by the transaction manager on the commit thread must not stay bound to the calling thread
+
+			for (Object key : parallelCommit.unboundResourceKeys) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(key);
+			}
+
+			if (parallelCommit.commitException != null) {
+				if (commitException == null) {
+					commitException = parallelCommit.commitException;
+					commitExceptionTransactionManager = parallelCommit.transactionManager;
+				} else {
+					LOGGER.warn("Commit exception (" + parallelCommit.transactionManager + ") "
+							+ parallelCommit.commitException.getMessage(), parallelCommit.commitException);
+				}
+			}
+		}
+
+		// commits that did not start because of a failure are rolled back in reverse order
+
+		for (ParallelCommit parallelCommit : parallelCommits) {
+			if (!parallelCommit.started) {
+				rollbackAfterCommit(multiTransactionStatus, parallelCommit.transactionManager);
+			}
+		}
+
+		completeCommit(multiTransactionStatus, commitException, commitExceptionTransactionManager);
+	}
+
+	private void commitAndReport(MultiTransactionStatus multiTransactionStatus,
+			PlatformTransactionManager transactionManager) {
+
+		long start = System.nanoTime();
+		Throwable failure = null;
+
+		try {
+			multiTransactionStatus.commit(transactionManager);
+		} catch (RuntimeException | Error ex) {
+			failure = ex;
+			throw ex;
+		} finally {
+
+			long elapsedNanos = System.nanoTime() - start;
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Commit " + (failure == null ? "completed" : "failed") + " (" + transactionManager + ") in "
+						+ TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms");
+			}
+
+			if (commitTimingListener != null) {
 				try {
-					multiTransactionStatus.rollback(transactionManager);
+					commitTimingListener.commitCompleted(transactionManager, elapsedNanos, failure);
 				} catch (Exception ex) {
-					LOGGER.warn("Rollback exception (after commit) (" + transactionManager + ") " + ex.getMessage(), ex);
+					LOGGER.warn("Commit timing listener exception (" + transactionManager + ") " + ex.getMessage(), ex);
 				}
 			}
 		}
+	}
+
+	private void rollbackAfterCommit(MultiTransactionStatus multiTransactionStatus,
+			PlatformTransactionManager transactionManager) {
+
+		try {
+			multiTransactionStatus.rollback(transactionManager);
+		} catch (Exception ex) {
+			LOGGER.warn("Rollback exception (after commit) (" + transactionManager + ") " + ex.getMessage(), ex);
+		}
+	}
+
+	private void completeCommit(MultiTransactionStatus multiTransactionStatus, Throwable commitException,
+			PlatformTransactionManager commitExceptionTransactionManager) {
 
 		if (multiTransactionStatus.isNewSynchonization()) {
 			synchronizationManager.clearSynchronization();
@@ -207,7 +393,27 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 		}
 	}
 
-	private <T> Iterable<T> reverse(Collection<T> collection) {
+	/**
+	 * Sets the {@link Executor} used to commit the {@link PlatformTransactionManager}s in parallel. Without one (the
+	 * default) they are committed one after another in reverse order. The executor should be bounded, e.g. a
+	 * {@link java.util.concurrent.ThreadPoolExecutor} with a bounded queue; rejected commits run on the calling thread.
+	 * 
+	 * @param commitExecutor can be {@literal null}.
+	 */
+	public void setCommitExecutor(Executor commitExecutor) {
+		this.commitExecutor = commitExecutor;
+	}
+
+	/**
+	 * Sets the {@link CommitTimingListener} notified with the commit time of every {@link PlatformTransactionManager}.
+	 * 
+	 * @param commitTimingListener can be {@literal null}.
+	 */
+	public void setCommitTimingListener(CommitTimingListener commitTimingListener) {
+		this.commitTimingListener = commitTimingListener;
+	}
+
+	private <T> List<T> reverse(Collection<T> collection) {
 
 		List<T> list = new ArrayList<T>(collection);
 		Collections.reverse(list);
@@ -221,4 +427,104 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 	private int lastTransactionManagerIndex() {
 		return transactionManagers.size() - 1;
 	}
+
+	/**
+	 * Commit of a single {@link PlatformTransactionManager} on a commit thread, with the resources of the calling
+	 * thread bound to it.
+	 */
+	private class ParallelCommit implements Runnable {
+
+		private final MultiTransactionStatus multiTransactionStatus;
+		private final PlatformTransactionManager transactionManager;
+		private final Thread callingThread;
+		private final Map<Object, Object> resources;
+		private final AtomicBoolean failed;
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private final List<Object> unboundResourceKeys = new ArrayList<Object>();
+
+		private boolean started;
+		private Throwable commitException;
+
+		ParallelCommit(MultiTransactionStatus multiTransactionStatus, PlatformTransactionManager transactionManager,
+				Thread callingThread, Map<Object, Object> resources, AtomicBoolean failed) {
+
+			this.multiTransactionStatus = multiTransactionStatus;
+			this.transactionManager = transactionManager;
+			this.callingThread = callingThread;
+			this.resources = resources;
+			this.failed = failed;
+		}
+
+		public void run() {
+
+			try {
+
+				if (failed.get()) {
+					return;
+				}
+
+				started = true;
+
+				if (Thread.currentThread() == callingThread) {
+					commit();
+					return;
+				}
+
+				List<Object> boundResourceKeys = new ArrayList<Object>(resources.size());
+
+				for (Map.Entry<Object, Object> resource : resources.entrySet()) {
+					if (!TransactionSynchronizationManager.hasResource(resource.getKey())) {
+						TransactionSynchronizationManager.bindResource(resource.getKey(), resource.getValue());
+						boundResourceKeys.add(resource.getKey());
+					}
+				}
+
+				try {
+					commit();
+				} finally {
+					for (Object key : boundResourceKeys) {
+						if (TransactionSynchronizationManager.hasResource(key)) {
+							TransactionSynchronizationManager.unbindResource(key);
+						} else {
+							unboundResourceKeys.add(key);
+						}
+					}
+				}
+
+			} finally {
+				completed.countDown();
+			}
+		}
+
+		private void commit() {
+
+			try {
+				commitAndReport(multiTransactionStatus, transactionManager);
+			} catch (Throwable ex) {
+				commitException = ex;
+				failed.set(true);
+			}
+		}
+
+		/**
+		 * Waits for the commit to complete, a commit cannot be abandoned halfway so interrupts are deferred.
+		 */
+		void await() {
+
+			boolean interrupted = false;
+
+			while (true) {
+				try {
+					completed.await();
+					break;
+				} catch (InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.danielli.xultimate.transaction;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 事务提交耗时监听器。{@link ChainedTransactionManager}每提交完一个{@link PlatformTransactionManager}（无论成功或失败）都会通知一次，
+ * 可用于统计各数据库的提交耗时，找出拖慢提交的数据库。并行提交时会在执行提交的线程中调用，实现需线程安全。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public interface CommitTimingListener {
+
+	/**
+	 * 提交完成。
+	 *
+	 * @param transactionManager 提交的事务管理器。
+	 * @param elapsedNanos 提交耗时（纳秒）。
+	 * @param failure 提交失败时的异常，成功时为null。
+	 */
+	void commitCompleted(PlatformTransactionManager transactionManager, long elapsedNanos, Throwable failure);
+}
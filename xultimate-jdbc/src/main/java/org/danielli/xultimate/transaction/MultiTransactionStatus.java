@@ -169,7 +169,7 @@ class MultiTransactionStatus implements TransactionStatus {
 		return transactionStatuses.get(mainTransactionManager);
 	}
 
-	private TransactionStatus getTransactionStatus(PlatformTransactionManager transactionManager) {
+	TransactionStatus getTransactionStatus(PlatformTransactionManager transactionManager) {
 		return this.getTransactionStatuses().get(transactionManager);
 	}
 
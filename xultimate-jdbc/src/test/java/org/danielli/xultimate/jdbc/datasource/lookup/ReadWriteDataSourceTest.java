@@ -0,0 +1,155 @@
+package org.danielli.xultimate.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteDataSourceTest {
+
+	/**
+	 * 记录获取连接次数的数据源。
+	 */
+	private static class StubDataSource extends AbstractDataSource {
+
+		private final AtomicInteger connectionCount = new AtomicInteger();
+
+		private volatile boolean valid = true;
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			connectionCount.incrementAndGet();
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, new InvocationHandler() {
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+					if ("isValid".equals(method.getName())) {
+						return valid;
+					}
+					return null;
+				}
+			});
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+	}
+
+	private StubDataSource primaryDataSource = new StubDataSource();
+
+	private List<StubDataSource> replicaStubDataSources = Arrays.asList(new StubDataSource(), new StubDataSource(), new StubDataSource());
+
+	private ReadWriteDataSource createReadWriteDataSource(LoadBalanceStrategy loadBalanceStrategy, long readYourWritesMillis) throws Exception {
+		ReadWriteDataSource readWriteDataSource = new ReadWriteDataSource();
+		readWriteDataSource.setPrimaryDataSource(primaryDataSource);
+		List<ReplicaDataSource> replicaDataSources = new ArrayList<>();
+		for (int i = 0; i < replicaStubDataSources.size(); i++) {
+			replicaDataSources.add(new ReplicaDataSource(replicaStubDataSources.get(i), i + 1));
+		}
+		readWriteDataSource.setReplicaDataSources(replicaDataSources);
+		readWriteDataSource.setLoadBalanceStrategy(loadBalanceStrategy);
+		readWriteDataSource.setReadYourWritesMillis(readYourWritesMillis);
+		readWriteDataSource.setHealthCheckIntervalMillis(0);
+		readWriteDataSource.afterPropertiesSet();
+		return readWriteDataSource;
+	}
+
+	@After
+	public void after() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	public void testRoundRobin() throws Exception {
+		ReadWriteDataSource readWriteDataSource = createReadWriteDataSource(LoadBalanceStrategy.ROUND_ROBIN, 0);
+		readWriteDataSource.getConnection();
+		Assert.assertEquals(1, primaryDataSource.connectionCount.get());
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		for (int i = 0; i < 300; i++) {
+			readWriteDataSource.getConnection();
+		}
+		Assert.assertEquals(1, primaryDataSource.connectionCount.get());
+		for (StubDataSource replicaStubDataSource : replicaStubDataSources) {
+			Assert.assertEquals(100, replicaStubDataSource.connectionCount.get());
+		}
+	}
+
+	@Test
+	public void testWeighted() throws Exception {
+		ReadWriteDataSource readWriteDataSource = createReadWriteDataSource(LoadBalanceStrategy.WEIGHTED, 0);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		for (int i = 0; i < 60000; i++) {
+			readWriteDataSource.getConnection();
+		}
+		// 权重为1:2:3。
+		Assert.assertTrue(replicaStubDataSources.get(0).connectionCount.get() < replicaStubDataSources.get(1).connectionCount.get());
+		Assert.assertTrue(replicaStubDataSources.get(1).connectionCount.get() < replicaStubDataSources.get(2).connectionCount.get());
+	}
+
+	@Test
+	public void testLeastActive() throws Exception {
+		ReadWriteDataSource readWriteDataSource = createReadWriteDataSource(LoadBalanceStrategy.LEAST_ACTIVE, 0);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		List<Connection> connections = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			connections.add(readWriteDataSource.getConnection());
+		}
+		for (ReplicaDataSource replicaDataSource : readWriteDataSource.getReplicaDataSources()) {
+			Assert.assertEquals(10, replicaDataSource.getActiveCount());
+		}
+		for (Connection connection : connections) {
+			connection.close();
+			connection.close();
+		}
+		for (ReplicaDataSource replicaDataSource : readWriteDataSource.getReplicaDataSources()) {
+			Assert.assertEquals(0, replicaDataSource.getActiveCount());
+		}
+	}
+
+	@Test
+	public void testReadYourWrites() throws Exception {
+		ReadWriteDataSource readWriteDataSource = createReadWriteDataSource(LoadBalanceStrategy.ROUND_ROBIN, 200);
+		readWriteDataSource.getConnection();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		readWriteDataSource.getConnection();
+		Assert.assertEquals(2, primaryDataSource.connectionCount.get());
+
+		Thread.sleep(300);
+		readWriteDataSource.getConnection();
+		Assert.assertEquals(2, primaryDataSource.connectionCount.get());
+	}
+
+	@Test
+	public void testHealthCheck() throws Exception {
+		ReadWriteDataSource readWriteDataSource = createReadWriteDataSource(LoadBalanceStrategy.ROUND_ROBIN, 0);
+		replicaStubDataSources.get(0).valid = false;
+		readWriteDataSource.checkReplicas();
+		Assert.assertFalse(readWriteDataSource.getReplicaDataSources().get(0).isAvailable());
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		int connectionCount = replicaStubDataSources.get(0).connectionCount.get();
+		for (int i = 0; i < 100; i++) {
+			readWriteDataSource.getConnection();
+		}
+		Assert.assertEquals(connectionCount, replicaStubDataSources.get(0).connectionCount.get());
+
+		replicaStubDataSources.get(1).valid = false;
+		replicaStubDataSources.get(2).valid = false;
+		readWriteDataSource.checkReplicas();
+		readWriteDataSource.getConnection();
+		Assert.assertEquals(1, primaryDataSource.connectionCount.get());
+	}
+}
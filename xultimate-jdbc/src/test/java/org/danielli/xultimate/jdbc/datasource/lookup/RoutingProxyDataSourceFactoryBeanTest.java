@@ -0,0 +1,113 @@
+package org.danielli.xultimate.jdbc.datasource.lookup;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.InvocationHandler;
+
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+public class RoutingProxyDataSourceFactoryBeanTest {
+
+	/**
+	 * 直接返回null连接的数据源，只用于测量路由开销。
+	 */
+	private static class StubDataSource extends AbstractDataSource {
+
+		private int connectionCount;
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			connectionCount++;
+			return null;
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+	}
+
+	@After
+	public void after() {
+		DataSourceContext.setCurrentLookupKey(null);
+	}
+
+	@Test
+	public void testRouting() throws Exception {
+		StubDataSource userDataSource = new StubDataSource();
+		StubDataSource otherDataSource = new StubDataSource();
+		Map<String, DataSource> targetDataSources = new HashMap<>();
+		targetDataSources.put("user", userDataSource);
+		targetDataSources.put("other", otherDataSource);
+		RoutingProxyDataSourceFactoryBean factoryBean = new RoutingProxyDataSourceFactoryBean();
+		factoryBean.setTargetDataSources(targetDataSources);
+		DataSource routingDataSource = factoryBean.getObject();
+
+		DataSourceContext.setCurrentLookupKey("user");
+		routingDataSource.getConnection();
+		DataSourceContext.setCurrentLookupKey("other");
+		routingDataSource.getConnection();
+		routingDataSource.getConnection();
+		Assert.assertEquals(1, userDataSource.connectionCount);
+		Assert.assertEquals(2, otherDataSource.connectionCount);
+
+		DataSourceContext.setCurrentLookupKey("unknown");
+		try {
+			routingDataSource.getConnection();
+			Assert.fail();
+		} catch (IllegalStateException e) {
+		}
+	}
+
+	@Test
+	public void testPerformance() throws Exception {
+		final Map<String, DataSource> targetDataSources = new HashMap<>();
+		for (int i = 0; i < 16; i++) {
+			targetDataSources.put("dataSource" + i, new StubDataSource());
+		}
+		RoutingProxyDataSourceFactoryBean factoryBean = new RoutingProxyDataSourceFactoryBean();
+		factoryBean.setTargetDataSources(targetDataSources);
+		DataSource routingDataSource = factoryBean.getObject();
+
+		// 原cglib代理的实现，用于对比。
+		Enhancer enhancer = new Enhancer();
+		enhancer.setInterfaces(new Class<?>[] { DataSource.class });
+		enhancer.setCallback(new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				return method.invoke(targetDataSources.get(DataSourceContext.currentLookupKey()), args);
+			}
+		});
+		DataSource cglibDataSource = (DataSource) enhancer.create();
+
+		DataSourceContext.setCurrentLookupKey("dataSource7");
+		PerformanceMonitor.start("RoutingProxyDataSourceFactoryBeanTest");
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 1000000; j++) {
+				cglibDataSource.getConnection();
+			}
+			PerformanceMonitor.mark("cglib getConnection " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 1000000; j++) {
+				routingDataSource.getConnection();
+			}
+			PerformanceMonitor.mark("RoutingDelegatingDataSource getConnection " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+}
@@ -0,0 +1,93 @@
+package org.danielli.xultimate.jdbc.support.incrementer;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentBufferTest {
+
+	/**
+	 * 模拟数据库中的最大值，每次加载有1毫秒延迟。
+	 */
+	private static class DelayedSegmentLoader implements SegmentBuffer.SegmentLoader {
+
+		private final AtomicLong maxId = new AtomicLong();
+
+		private final long step;
+
+		private final AtomicInteger loadCount = new AtomicInteger();
+
+		DelayedSegmentLoader(long step) {
+			this.step = step;
+		}
+
+		@Override
+		public SegmentBuffer.Segment load(int cacheSize) {
+			loadCount.incrementAndGet();
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new SegmentBuffer.Segment(maxId.addAndGet(cacheSize * step), cacheSize);
+		}
+	}
+
+	@Test
+	public void testSequential() {
+		DelayedSegmentLoader segmentLoader = new DelayedSegmentLoader(2);
+		SegmentBuffer segmentBuffer = new SegmentBuffer(segmentLoader, 2, 10, 10, 0.5);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals(i * 2 + 1, segmentBuffer.getNextKey());
+		}
+		// 最后一个号段使用过半后已提交下一个号段的预取。
+		Assert.assertTrue(segmentLoader.loadCount.get() >= 100 && segmentLoader.loadCount.get() <= 101);
+	}
+
+	@Test
+	public void testAdaptive() {
+		DelayedSegmentLoader segmentLoader = new DelayedSegmentLoader(1);
+		SegmentBuffer segmentBuffer = new SegmentBuffer(segmentLoader, 1, 10, 1000, 0.8);
+		segmentBuffer.setSegmentDurationMillis(60000);
+		for (int i = 0; i < 10000; i++) {
+			Assert.assertEquals(i + 1, segmentBuffer.getNextKey());
+		}
+		Assert.assertEquals(1000, segmentBuffer.getNextCacheSize());
+	}
+
+	@Test
+	public void testConcurrent() throws InterruptedException {
+		final SegmentBuffer segmentBuffer = new SegmentBuffer(new DelayedSegmentLoader(1), 1, 100, 10000, 0.8);
+		final int threadCount = 8;
+		final int countPerThread = 10000;
+		final Set<Long> idSet = new HashSet<>();
+		final CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						long[] ids = new long[countPerThread];
+						for (int j = 0; j < countPerThread; j++) {
+							ids[j] = segmentBuffer.getNextKey();
+						}
+						synchronized (idSet) {
+							for (long id : ids) {
+								idSet.add(id);
+							}
+						}
+					} finally {
+						countDownLatch.countDown();
+					}
+				}
+			}.start();
+		}
+		countDownLatch.await();
+		Assert.assertEquals(threadCount * countPerThread, idSet.size());
+	}
+}
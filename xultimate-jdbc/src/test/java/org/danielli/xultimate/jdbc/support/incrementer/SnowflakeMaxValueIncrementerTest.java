@@ -0,0 +1,113 @@
+package org.danielli.xultimate.jdbc.support.incrementer;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+public class SnowflakeMaxValueIncrementerTest {
+
+	/**
+	 * 时钟可手动调整的生成器。
+	 */
+	private static class ManualClockIncrementer extends SnowflakeMaxValueIncrementer {
+
+		private volatile long timeMillis = System.currentTimeMillis();
+
+		@Override
+		protected long currentTimeMillis() {
+			return timeMillis;
+		}
+	}
+
+	@Test
+	public void testLayout() {
+		SnowflakeMaxValueIncrementer incrementer = new SnowflakeMaxValueIncrementer(513);
+		long start = System.currentTimeMillis();
+		long key = incrementer.nextLongValue();
+		Assert.assertTrue(key > 0);
+		Assert.assertEquals(513, incrementer.getWorkerId(key));
+		Assert.assertTrue(incrementer.getTimeMillis(key) >= start && incrementer.getTimeMillis(key) <= System.currentTimeMillis());
+		Assert.assertTrue(incrementer.nextLongValue() > key);
+	}
+
+	@Test
+	public void testClockBackward() {
+		ManualClockIncrementer incrementer = new ManualClockIncrementer();
+		incrementer.setWorkerId(1);
+		incrementer.setSequenceBits(2);
+		incrementer.setMaxBackwardMillis(3);
+		incrementer.afterPropertiesSet();
+
+		long lastKey = incrementer.nextLongValue();
+		// 时钟回拨在允许范围内，主键继续递增：当前毫秒剩余3个序号，之后借用下两毫秒的8个序号。
+		incrementer.timeMillis -= 1;
+		for (int i = 0; i < 11; i++) {
+			long key = incrementer.nextLongValue();
+			Assert.assertTrue(key > lastKey);
+			lastKey = key;
+		}
+		// 上一次的时间戳已比时钟快5毫秒，超出允许范围。
+		incrementer.timeMillis -= 2;
+		try {
+			incrementer.nextLongValue();
+			Assert.fail();
+		} catch (DataAccessResourceFailureException e) {
+		}
+		incrementer.timeMillis += 10;
+		Assert.assertTrue(incrementer.nextLongValue() > lastKey);
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final SnowflakeMaxValueIncrementer incrementer = new SnowflakeMaxValueIncrementer(1);
+		final int threadCount = 8;
+		final int count = 500000;
+		final long[][] keys = new long[threadCount][count];
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final CountDownLatch endLatch = new CountDownLatch(threadCount);
+		for (int i = 0; i < threadCount; i++) {
+			final long[] threadKeys = keys[i];
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+						for (int j = 0; j < count; j++) {
+							threadKeys[j] = incrementer.nextLongValue();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						endLatch.countDown();
+					}
+				}
+			}.start();
+		}
+
+		PerformanceMonitor.start("SnowflakeMaxValueIncrementerTest");
+		startLatch.countDown();
+		endLatch.await();
+		PerformanceMonitor.mark(threadCount + " threads, " + threadCount * count + " keys");
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+
+		long[] allKeys = new long[threadCount * count];
+		for (int i = 0; i < threadCount; i++) {
+			// 同一线程内递增。
+			for (int j = 1; j < count; j++) {
+				Assert.assertTrue(keys[i][j] > keys[i][j - 1]);
+			}
+			System.arraycopy(keys[i], 0, allKeys, i * count, count);
+		}
+		Arrays.sort(allKeys);
+		for (int i = 1; i < allKeys.length; i++) {
+			Assert.assertTrue(allKeys[i] != allKeys[i - 1]);
+		}
+	}
+}
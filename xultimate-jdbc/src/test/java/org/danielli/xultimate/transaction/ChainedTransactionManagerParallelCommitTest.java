@@ -0,0 +1,258 @@
+package org.danielli.xultimate.transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.transaction.HeuristicCompletionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ChainedTransactionManagerParallelCommitTest {
+
+	/**
+	 * 提交耗时固定的事务管理器，记录提交和回滚的顺序。
+	 */
+	private static class StubTransactionManager implements PlatformTransactionManager {
+
+		private final String name;
+
+		private final long commitMillis;
+
+		private final boolean failOnCommit;
+
+		private final List<String> events;
+
+		StubTransactionManager(String name, long commitMillis, boolean failOnCommit, List<String> events) {
+			this.name = name;
+			this.commitMillis = commitMillis;
+			this.failOnCommit = failOnCommit;
+			this.events = events;
+		}
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) throws TransactionException {
+			try {
+				Thread.sleep(commitMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (failOnCommit) {
+				events.add("fail " + name);
+				throw new TransactionSystemException("Commit failed on " + name);
+			}
+			events.add("commit " + name);
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) throws TransactionException {
+			events.add("rollback " + name);
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * 将连接（以字符串代替）绑定到当前线程的事务管理器，支持挂起和恢复，记录恢复所在的线程。
+	 */
+	private static class ResourceTransactionManager extends AbstractPlatformTransactionManager {
+
+		private static final long serialVersionUID = 1L;
+
+		private static class Transaction {
+			String connection;
+		}
+
+		private final String name;
+
+		private final List<Thread> resumeThreads = Collections.synchronizedList(new ArrayList<Thread>());
+
+		private int connectionCount;
+
+		ResourceTransactionManager(String name) {
+			this.name = name;
+			// 不创建事务同步，挂起外部事务时只挂起资源，提交时不会因isNewSynchronization而顺序提交。
+			setTransactionSynchronization(SYNCHRONIZATION_NEVER);
+		}
+
+		@Override
+		protected Object doGetTransaction() throws TransactionException {
+			Transaction transaction = new Transaction();
+			transaction.connection = (String) TransactionSynchronizationManager.getResource(this);
+			return transaction;
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) throws TransactionException {
+			return ((Transaction) transaction).connection != null;
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) throws TransactionException {
+			String connection = name + "-" + (++connectionCount);
+			((Transaction) transaction).connection = connection;
+			TransactionSynchronizationManager.bindResource(this, connection);
+		}
+
+		@Override
+		protected Object doSuspend(Object transaction) throws TransactionException {
+			((Transaction) transaction).connection = null;
+			return TransactionSynchronizationManager.unbindResource(this);
+		}
+
+		@Override
+		protected void doResume(Object transaction, Object suspendedResources) throws TransactionException {
+			resumeThreads.add(Thread.currentThread());
+			TransactionSynchronizationManager.bindResource(this, suspendedResources);
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) throws TransactionException {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) throws TransactionException {
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(this);
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+	private final Map<PlatformTransactionManager, Long> commitTimes = new ConcurrentHashMap<>();
+
+	private ExecutorService executorService;
+
+	@After
+	public void after() {
+		if (executorService != null) {
+			executorService.shutdownNow();
+		}
+	}
+
+	private ChainedTransactionManager createChainedTransactionManager(int threads, PlatformTransactionManager... transactionManagers) {
+		ChainedTransactionManager chainedTransactionManager = new ChainedTransactionManager(transactionManagers);
+		executorService = Executors.newFixedThreadPool(threads);
+		chainedTransactionManager.setCommitExecutor(executorService);
+		chainedTransactionManager.setCommitTimingListener(new CommitTimingListener() {
+			@Override
+			public void commitCompleted(PlatformTransactionManager transactionManager, long elapsedNanos, Throwable failure) {
+				commitTimes.put(transactionManager, elapsedNanos);
+			}
+		});
+		return chainedTransactionManager;
+	}
+
+	@Test
+	public void testParallelCommit() {
+		PlatformTransactionManager[] transactionManagers = new PlatformTransactionManager[5];
+		for (int i = 0; i < transactionManagers.length; i++) {
+			transactionManagers[i] = new StubTransactionManager("tm" + i, 200, false, events);
+		}
+		ChainedTransactionManager chainedTransactionManager = createChainedTransactionManager(4, transactionManagers);
+
+		long start = System.currentTimeMillis();
+		chainedTransactionManager.commit(chainedTransactionManager.getTransaction(new DefaultTransactionDefinition()));
+		long elapsedMillis = System.currentTimeMillis() - start;
+
+		// 最后一个单独提交，其余并行提交，约为2次提交的耗时，顺序提交为5次。
+		Assert.assertTrue(elapsedMillis < 800);
+		Assert.assertEquals("commit tm4", events.get(0));
+		Assert.assertEquals(5, events.size());
+		Assert.assertEquals(5, commitTimes.size());
+		for (Long commitTime : commitTimes.values()) {
+			Assert.assertTrue(commitTime >= 150000000L);
+		}
+	}
+
+	@Test
+	public void testLastCommitFailed() {
+		ChainedTransactionManager chainedTransactionManager = createChainedTransactionManager(4,
+				new StubTransactionManager("tm0", 0, false, events),
+				new StubTransactionManager("tm1", 0, false, events),
+				new StubTransactionManager("tm2", 0, true, events));
+		try {
+			chainedTransactionManager.commit(chainedTransactionManager.getTransaction(new DefaultTransactionDefinition()));
+			Assert.fail();
+		} catch (HeuristicCompletionException e) {
+			Assert.assertEquals(HeuristicCompletionException.STATE_ROLLED_BACK, e.getOutcomeState());
+		}
+		Assert.assertEquals(Arrays.asList("fail tm2", "rollback tm1", "rollback tm0"), new ArrayList<>(events));
+	}
+
+	@Test
+	public void testParallelCommitFailed() {
+		// 单线程执行，tm2失败后tm1和tm0不再提交，并按逆序回滚。
+		ChainedTransactionManager chainedTransactionManager = createChainedTransactionManager(1,
+				new StubTransactionManager("tm0", 0, false, events),
+				new StubTransactionManager("tm1", 0, false, events),
+				new StubTransactionManager("tm2", 0, true, events),
+				new StubTransactionManager("tm3", 0, false, events));
+		try {
+			chainedTransactionManager.commit(chainedTransactionManager.getTransaction(new DefaultTransactionDefinition()));
+			Assert.fail();
+		} catch (HeuristicCompletionException e) {
+			Assert.assertEquals(HeuristicCompletionException.STATE_MIXED, e.getOutcomeState());
+		}
+		Assert.assertEquals(Arrays.asList("commit tm3", "fail tm2", "rollback tm1", "rollback tm0"), new ArrayList<>(events));
+	}
+
+	@Test
+	public void testRequiresNewInsideTransaction() {
+		// 内部事务挂起了外部事务，提交时在调用线程恢复，不能在提交线程中恢复。
+		ResourceTransactionManager[] transactionManagers = { new ResourceTransactionManager("tm0"), new ResourceTransactionManager("tm1"), new ResourceTransactionManager("tm2") };
+		ChainedTransactionManager chainedTransactionManager = createChainedTransactionManager(4, transactionManagers);
+
+		MultiTransactionStatus outerStatus = chainedTransactionManager.getTransaction(new DefaultTransactionDefinition());
+		DefaultTransactionDefinition requiresNew = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		MultiTransactionStatus innerStatus = chainedTransactionManager.getTransaction(requiresNew);
+		for (ResourceTransactionManager transactionManager : transactionManagers) {
+			Assert.assertEquals(transactionManager.name + "-2", TransactionSynchronizationManager.getResource(transactionManager));
+		}
+
+		chainedTransactionManager.commit(innerStatus);
+		Assert.assertTrue(TransactionSynchronizationManager.isSynchronizationActive());
+		for (ResourceTransactionManager transactionManager : transactionManagers) {
+			Assert.assertEquals(transactionManager.name + "-1", TransactionSynchronizationManager.getResource(transactionManager));
+			Assert.assertEquals(Arrays.asList(Thread.currentThread()), transactionManager.resumeThreads);
+		}
+
+		chainedTransactionManager.commit(outerStatus);
+		for (ResourceTransactionManager transactionManager : transactionManagers) {
+			Assert.assertFalse(TransactionSynchronizationManager.hasResource(transactionManager));
+		}
+		Assert.assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+	}
+}
@@ -0,0 +1,343 @@
+package org.danielli.xultimate.shard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.danielli.xultimate.util.Assert;
+
+/**
+ * 不可变的路由索引。区间按开始区间排序后存放在基本类型数组中，通过二分查找定位；每个区间的HASH槽直接映射到虚拟Socket序号，
+ * 每个虚拟Socket的分区区间同样按开始区间排序后二分查找。构建后路由为O(log n)，且不产生对象分配。
+ * <p>
+ * 区间均为闭区间。同一层级内的区间重叠（包括端点相同）时与按添加顺序线性查找的结果一致：先添加的区间优先，
+ * 后添加的区间只保留未被覆盖的部分，因此一个区间可能被截成多段。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ *
+ * @param <I> 区间信息，如虚拟表区间。
+ * @param <S> Shard信息。
+ */
+public final class RoutingIndex<I, S> {
+
+	/** 未找到 */
+	public static final int NOT_FOUND = -1;
+
+	/** 排序后的开始区间 */
+	private final long[] startIntervals;
+	/** 排序后的结束区间 */
+	private final long[] endIntervals;
+	/** 与排序后区间对应的区间信息 */
+	private final Object[] intervals;
+	/** 区间的HASH槽与虚拟Socket序号的映射，未绑定为{@link #NOT_FOUND} */
+	private final int[][] slotSockets;
+	/** 虚拟Socket下排序后的分区开始区间 */
+	private final long[][] partitionStartIntervals;
+	/** 虚拟Socket下排序后的分区结束区间 */
+	private final long[][] partitionEndIntervals;
+	/** 虚拟Socket下与排序后分区区间对应的Shard信息 */
+	private final Object[][] partitionShards;
+
+	private RoutingIndex(long[] startIntervals, long[] endIntervals, Object[] intervals, int[][] slotSockets, long[][] partitionStartIntervals, long[][] partitionEndIntervals, Object[][] partitionShards) {
+		this.startIntervals = startIntervals;
+		this.endIntervals = endIntervals;
+		this.intervals = intervals;
+		this.slotSockets = slotSockets;
+		this.partitionStartIntervals = partitionStartIntervals;
+		this.partitionEndIntervals = partitionEndIntervals;
+		this.partitionShards = partitionShards;
+	}
+
+	/**
+	 * 查找区间值所在区间的位置。
+	 * @param intervalValue 区间值。
+	 * @return 区间位置，不存在返回{@link #NOT_FOUND}。
+	 */
+	public int indexOf(long intervalValue) {
+		int position = floor(startIntervals, intervalValue);
+		if (position == NOT_FOUND || intervalValue > endIntervals[position]) {
+			return NOT_FOUND;
+		}
+		return position;
+	}
+
+	/**
+	 * 获取指定位置的区间信息。
+	 * @param position 区间位置。
+	 * @return 区间信息。
+	 */
+	@SuppressWarnings("unchecked")
+	public I getInterval(int position) {
+		return (I) intervals[position];
+	}
+
+	/**
+	 * 在指定区间中路由区间值。
+	 * @param position 区间位置，由{@link #indexOf(long)}返回。
+	 * @param intervalValue 区间值。
+	 * @return Shard信息，不存在返回null。
+	 */
+	@SuppressWarnings("unchecked")
+	public S route(int position, long intervalValue) {
+		int[] slots = slotSockets[position];
+		long slot = intervalValue % slots.length;
+		if (slot < 0) {
+			return null;
+		}
+		int socket = slots[(int) slot];
+		if (socket == NOT_FOUND) {
+			return null;
+		}
+		long[] startIntervals = partitionStartIntervals[socket];
+		int partition = floor(startIntervals, intervalValue);
+		if (partition == NOT_FOUND || intervalValue > partitionEndIntervals[socket][partition]) {
+			return null;
+		}
+		return (S) partitionShards[socket][partition];
+	}
+
+	/**
+	 * 路由区间值。
+	 * @param intervalValue 区间值。
+	 * @return Shard信息，不存在返回null。
+	 */
+	public S route(long intervalValue) {
+		int position = indexOf(intervalValue);
+		return position == NOT_FOUND ? null : route(position, intervalValue);
+	}
+
+	/**
+	 * 获取区间段的个数。区间被先添加的区间截断时，多于添加的区间个数。
+	 */
+	public int size() {
+		return startIntervals.length;
+	}
+
+	/**
+	 * 查找小于等于value的最大元素位置。
+	 */
+	private static int floor(long[] sortedValues, long value) {
+		int low = 0;
+		int high = sortedValues.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (sortedValues[middle] <= value) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return high;
+	}
+
+	/**
+	 * 路由索引构建器，非线程安全。
+	 *
+	 * @author Daniel Li
+	 * @since 16 Oct 2026
+	 *
+	 * @param <I> 区间信息。
+	 * @param <S> Shard信息。
+	 */
+	public static class Builder<I, S> {
+
+		private final Map<Long, IntervalEntry> intervalEntryMap = new HashMap<>();
+
+		private final List<IntervalEntry> intervalEntryList = new ArrayList<>();
+
+		private final Map<Long, Integer> socketOrdinalMap = new HashMap<>();
+
+		private final List<List<PartitionEntry>> socketPartitionEntryList = new ArrayList<>();
+
+		/**
+		 * 添加区间。
+		 * @param intervalId 区间ID。
+		 * @param startInterval 开始区间。
+		 * @param endInterval 结束区间。
+		 * @param hashValuesCount HASH值的个数。
+		 * @param interval 区间信息。
+		 * @return 构建器。
+		 */
+		public Builder<I, S> addInterval(long intervalId, long startInterval, long endInterval, int hashValuesCount, I interval) {
+			Assert.isTrue(hashValuesCount > 0, "Hash values count must greater than 0");
+			Assert.isTrue(!intervalEntryMap.containsKey(intervalId), "Duplicate interval id " + intervalId);
+			int[] slots = new int[hashValuesCount];
+			Arrays.fill(slots, NOT_FOUND);
+			IntervalEntry intervalEntry = new IntervalEntry(Math.min(startInterval, endInterval), Math.max(startInterval, endInterval), slots, interval);
+			intervalEntryMap.put(intervalId, intervalEntry);
+			intervalEntryList.add(intervalEntry);
+			return this;
+		}
+
+		/**
+		 * 将区间的HASH值绑定到虚拟Socket。同一HASH值重复绑定时保留先绑定的虚拟Socket，超出HASH值个数的值被忽略。
+		 * @param intervalId 区间ID，需已添加。
+		 * @param socketId 虚拟Socket ID。
+		 * @param hashValues HASH值。
+		 * @return 构建器。
+		 */
+		public Builder<I, S> bind(long intervalId, long socketId, int[] hashValues) {
+			IntervalEntry intervalEntry = intervalEntryMap.get(intervalId);
+			if (intervalEntry == null) {
+				return this;
+			}
+			int socket = socketOrdinal(socketId);
+			for (int hashValue : hashValues) {
+				if (hashValue >= 0 && hashValue < intervalEntry.slots.length && intervalEntry.slots[hashValue] == NOT_FOUND) {
+					intervalEntry.slots[hashValue] = socket;
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * 添加虚拟Socket下的分区区间。
+		 * @param socketId 虚拟Socket ID。
+		 * @param startInterval 开始区间。
+		 * @param endInterval 结束区间。
+		 * @param shard Shard信息。
+		 * @return 构建器。
+		 */
+		public Builder<I, S> addPartition(long socketId, long startInterval, long endInterval, S shard) {
+			socketPartitionEntryList.get(socketOrdinal(socketId)).add(new PartitionEntry(Math.min(startInterval, endInterval), Math.max(startInterval, endInterval), shard));
+			return this;
+		}
+
+		private int socketOrdinal(long socketId) {
+			Integer socket = socketOrdinalMap.get(socketId);
+			if (socket == null) {
+				socket = socketPartitionEntryList.size();
+				socketOrdinalMap.put(socketId, socket);
+				socketPartitionEntryList.add(new ArrayList<PartitionEntry>());
+			}
+			return socket;
+		}
+
+		/**
+		 * 构建路由索引。
+		 * @return 路由索引。
+		 */
+		public RoutingIndex<I, S> build() {
+			List<Segment<IntervalEntry>> intervalSegmentList = flatten(intervalEntryList);
+			int intervalCount = intervalSegmentList.size();
+			long[] startIntervals = new long[intervalCount];
+			long[] endIntervals = new long[intervalCount];
+			Object[] intervals = new Object[intervalCount];
+			int[][] slotSockets = new int[intervalCount][];
+			for (int i = 0; i < intervalCount; i++) {
+				Segment<IntervalEntry> intervalSegment = intervalSegmentList.get(i);
+				startIntervals[i] = intervalSegment.startInterval;
+				endIntervals[i] = intervalSegment.endInterval;
+				intervals[i] = intervalSegment.entry.interval;
+				slotSockets[i] = intervalSegment.entry.slots.clone();
+			}
+
+			int socketCount = socketPartitionEntryList.size();
+			long[][] partitionStartIntervals = new long[socketCount][];
+			long[][] partitionEndIntervals = new long[socketCount][];
+			Object[][] partitionShards = new Object[socketCount][];
+			for (int socket = 0; socket < socketCount; socket++) {
+				List<Segment<PartitionEntry>> partitionSegmentList = flatten(socketPartitionEntryList.get(socket));
+				int partitionCount = partitionSegmentList.size();
+				partitionStartIntervals[socket] = new long[partitionCount];
+				partitionEndIntervals[socket] = new long[partitionCount];
+				partitionShards[socket] = new Object[partitionCount];
+				for (int i = 0; i < partitionCount; i++) {
+					Segment<PartitionEntry> partitionSegment = partitionSegmentList.get(i);
+					partitionStartIntervals[socket][i] = partitionSegment.startInterval;
+					partitionEndIntervals[socket][i] = partitionSegment.endInterval;
+					partitionShards[socket][i] = partitionSegment.entry.shard;
+				}
+			}
+			return new RoutingIndex<>(startIntervals, endIntervals, intervals, slotSockets, partitionStartIntervals, partitionEndIntervals, partitionShards);
+		}
+
+		/**
+		 * 按添加顺序将区间拆成互不重叠的区间段，先添加的区间优先，返回按开始区间排序的区间段。
+		 */
+		private static <E extends IntervalBounds> List<Segment<E>> flatten(List<E> entryList) {
+			TreeMap<Long, Segment<E>> segmentMap = new TreeMap<>();
+			List<Segment<E>> pieceList = new ArrayList<>();
+			for (E entry : entryList) {
+				pieceList.clear();
+				long cursor = entry.startInterval;
+				boolean covered = false;
+				Long fromKey = segmentMap.floorKey(cursor);
+				Collection<Segment<E>> candidates = fromKey == null ? segmentMap.values() : segmentMap.tailMap(fromKey, true).values();
+				for (Segment<E> segment : candidates) {
+					if (segment.startInterval > entry.endInterval) {
+						break;
+					}
+					if (segment.endInterval < cursor) {
+						continue;
+					}
+					if (segment.startInterval > cursor) {
+						pieceList.add(new Segment<>(cursor, segment.startInterval - 1, entry));
+					}
+					if (segment.endInterval >= entry.endInterval) {
+						covered = true;
+						break;
+					}
+					cursor = segment.endInterval + 1;
+				}
+				if (!covered) {
+					pieceList.add(new Segment<>(cursor, entry.endInterval, entry));
+				}
+				for (Segment<E> piece : pieceList) {
+					segmentMap.put(piece.startInterval, piece);
+				}
+			}
+			return new ArrayList<>(segmentMap.values());
+		}
+	}
+
+	private static class IntervalBounds {
+
+		final long startInterval;
+
+		final long endInterval;
+
+		IntervalBounds(long startInterval, long endInterval) {
+			this.startInterval = startInterval;
+			this.endInterval = endInterval;
+		}
+	}
+
+	private static class IntervalEntry extends IntervalBounds {
+
+		final int[] slots;
+
+		final Object interval;
+
+		IntervalEntry(long startInterval, long endInterval, int[] slots, Object interval) {
+			super(startInterval, endInterval);
+			this.slots = slots;
+			this.interval = interval;
+		}
+	}
+
+	private static class Segment<E> extends IntervalBounds {
+
+		final E entry;
+
+		Segment(long startInterval, long endInterval, E entry) {
+			super(startInterval, endInterval);
+			this.entry = entry;
+		}
+	}
+
+	private static class PartitionEntry extends IntervalBounds {
+
+		final Object shard;
+
+		PartitionEntry(long startInterval, long endInterval, Object shard) {
+			super(startInterval, endInterval);
+			this.shard = shard;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package org.danielli.xultimate.shard;
+
+import org.danielli.xultimate.shard.dto.ShardInfo;
+
+/**
+ * Shard回调，在Shard对应的数据源上执行查询。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ *
+ * @param <T> 查询结果类型。
+ */
+public interface ShardCallback<T> {
+
+	/**
+	 * 在Shard上执行。执行期间当前线程的数据源Key已切换为该Shard的虚拟路由数据源KEY。
+	 * 
+	 * @param shardInfo Shard信息。
+	 * @return 查询结果。
+	 * @throws Exception 查询异常。
+	 */
+	T doInShard(ShardInfo shardInfo) throws Exception;
+}
@@ -1,6 +1,7 @@
 package org.danielli.xultimate.shard;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.danielli.xultimate.shard.dto.ShardInfo;
@@ -31,6 +32,15 @@ public interface ShardInfoGenerator {
 	 */
 	Map<ShardInfo, Collection<Long>> createShardInfosByIntervalValue(String virtualDatabaseName, String virtualTableName, Collection<Long> intervalValues);
 	
+	/**
+	 * 批量路由区间值并按Shard信息分组，元数据只加载一次，调用方可按分组对每个Shard执行一次查询。
+	 * @param virtualDatabaseName 虚拟数据库的名称。
+	 * @param virtualTableName 虚拟表的名称。
+	 * @param intervalValues 区间值集合。
+	 * @return Shard信息与区间值列表的映射，区间值保持原有顺序，无法路由的区间值被忽略。
+	 */
+	Map<ShardInfo, List<Long>> groupByShardInfo(String virtualDatabaseName, String virtualTableName, Collection<Long> intervalValues);
+	
 	/**
 	 * 创建Shard信息集合。
 	 * @param virtualDatabaseName 虚拟数据库的名称。
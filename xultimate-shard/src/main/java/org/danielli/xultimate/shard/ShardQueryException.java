@@ -0,0 +1,34 @@
+package org.danielli.xultimate.shard;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.danielli.xultimate.shard.dto.ShardInfo;
+import org.springframework.core.NestedRuntimeException;
+
+/**
+ * Shard查询异常。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see NestedRuntimeException
+ */
+public class ShardQueryException extends NestedRuntimeException {
+
+	private static final long serialVersionUID = -4177218846503402761L;
+
+	/** 失败的Shard与异常的映射 */
+	private final Map<ShardInfo, Throwable> failures;
+
+	public ShardQueryException(String message, Map<ShardInfo, Throwable> failures) {
+		super(message, failures.isEmpty() ? null : failures.values().iterator().next());
+		this.failures = Collections.unmodifiableMap(failures);
+	}
+
+	/**
+	 * 获取失败的Shard与异常的映射。
+	 */
+	public Map<ShardInfo, Throwable> getFailures() {
+		return failures;
+	}
+}
@@ -0,0 +1,197 @@
+package org.danielli.xultimate.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.danielli.xultimate.jdbc.datasource.lookup.DataSourceContext;
+import org.danielli.xultimate.shard.dto.ShardInfo;
+import org.danielli.xultimate.util.Assert;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * 分库、分表的并行查询执行器（Scatter-Gather）。将{@link ShardInfoGenerator#createShardInfos(String, String)}返回的各Shard提交到有界线程池并行执行，
+ * 每个任务在执行期间将{@link DataSourceContext}切换为对应Shard的虚拟路由数据源KEY，跨Shard查询的耗时由各Shard耗时之和变为其中的最大值。
+ * <p>
+ * 所有Shard共享一个超时时间，从提交开始计算；线程池已满时由调用线程执行，退化为顺序查询而不是拒绝。
+ * 失败或超时的Shard按{@link FailurePolicy}处理。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ * @see ShardCallback
+ * @see ShardQueryResult
+ */
+public class ShardQueryExecutor implements InitializingBean, DisposableBean {
+
+	/**
+	 * 失败策略。
+	 */
+	public enum FailurePolicy {
+		/** 任一Shard失败或超时时取消其余Shard，并抛出{@link ShardQueryException} */
+		FAIL_FAST,
+		/** 忽略失败或超时的Shard，返回其余Shard的结果 */
+		IGNORE
+	}
+
+	/** 核心线程数 */
+	private int corePoolSize = Runtime.getRuntime().availableProcessors();
+	/** 最大线程数 */
+	private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+	/** 等待队列长度 */
+	private int queueCapacity = 1000;
+	/** 超时时间（毫秒），小于等于0时不超时 */
+	private long timeoutMillis = 10000;
+	/** 失败策略 */
+	private FailurePolicy failurePolicy = FailurePolicy.FAIL_FAST;
+
+	private ThreadPoolExecutor threadPoolExecutor;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		Assert.isTrue(corePoolSize > 0 && maxPoolSize >= corePoolSize, "Pool size must greater than 0 and max pool size must not less than core pool size");
+		threadPoolExecutor = new ThreadPoolExecutor(corePoolSize, maxPoolSize, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+
+			private final AtomicInteger threadNumber = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "ShardQueryExecutor-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (threadPoolExecutor != null) {
+			threadPoolExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 并行执行，使用默认的超时时间和失败策略。
+	 *
+	 * @param virtualDatabaseName 虚拟数据库的名称。
+	 * @param shardInfos Shard信息集合。
+	 * @param shardCallback Shard回调。
+	 * @return 并行查询结果。
+	 * @throws ShardQueryException 失败策略为{@link FailurePolicy#FAIL_FAST}且有Shard失败或超时时抛出。
+	 */
+	public <T> ShardQueryResult<T> execute(String virtualDatabaseName, Collection<ShardInfo> shardInfos, ShardCallback<T> shardCallback) throws ShardQueryException {
+		return execute(virtualDatabaseName, shardInfos, shardCallback, timeoutMillis, failurePolicy);
+	}
+
+	/**
+	 * 并行执行。
+	 *
+	 * @param virtualDatabaseName 虚拟数据库的名称。
+	 * @param shardInfos Shard信息集合。
+	 * @param shardCallback Shard回调。
+	 * @param timeoutMillis 超时时间（毫秒），小于等于0时不超时。
+	 * @param failurePolicy 失败策略。
+	 * @return 并行查询结果。
+	 * @throws ShardQueryException 失败策略为{@link FailurePolicy#FAIL_FAST}且有Shard失败或超时时抛出。
+	 */
+	public <T> ShardQueryResult<T> execute(final String virtualDatabaseName, Collection<ShardInfo> shardInfos, final ShardCallback<T> shardCallback, long timeoutMillis, FailurePolicy failurePolicy) throws ShardQueryException {
+		Assert.notNull(threadPoolExecutor, "Shard query executor is not initialized");
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+
+		List<ShardInfo> shardInfoList = new ArrayList<>(shardInfos);
+		List<Future<T>> futureList = new ArrayList<>(shardInfoList.size());
+		for (final ShardInfo shardInfo : shardInfoList) {
+			futureList.add(threadPoolExecutor.submit(new Callable<T>() {
+				@Override
+				public T call() throws Exception {
+					String oldLookupKey = DataSourceContext.setCurrentLookupKey(shardInfo.getVirtualRoutingDataSourceKey(virtualDatabaseName));
+					try {
+						return shardCallback.doInShard(shardInfo);
+					} finally {
+						DataSourceContext.setCurrentLookupKey(oldLookupKey);
+					}
+				}
+			}));
+		}
+
+		Map<ShardInfo, T> results = new LinkedHashMap<>();
+		Map<ShardInfo, Throwable> failures = new LinkedHashMap<>();
+		for (int i = 0; i < futureList.size(); i++) {
+			ShardInfo shardInfo = shardInfoList.get(i);
+			Future<T> future = futureList.get(i);
+			try {
+				if (timeoutMillis > 0) {
+					results.put(shardInfo, future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+				} else {
+					results.put(shardInfo, future.get());
+				}
+				continue;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancel(futureList);
+				failures.put(shardInfo, e);
+				throw new ShardQueryException("Interrupted while waiting for shard " + shardInfo.getVirtualRoutingDataSourceKey(virtualDatabaseName), failures);
+			} catch (ExecutionException e) {
+				failures.put(shardInfo, e.getCause());
+			} catch (TimeoutException e) {
+				future.cancel(true);
+				failures.put(shardInfo, e);
+			}
+			if (failurePolicy == FailurePolicy.FAIL_FAST) {
+				cancel(futureList);
+				throw new ShardQueryException("Query on shard " + shardInfo.getVirtualRoutingDataSourceKey(virtualDatabaseName) + " failed", failures);
+			}
+		}
+		return new ShardQueryResult<>(results, failures);
+	}
+
+	/**
+	 * 并行查询并合并各Shard返回的元素列表，之后可交给{@link ShardUtils}进行排序、分页、汇总等操作。
+	 *
+	 * @param virtualDatabaseName 虚拟数据库的名称。
+	 * @param shardInfos Shard信息集合。
+	 * @param shardCallback Shard回调，返回该Shard的元素列表。
+	 * @return 合并后的元素列表，失败策略为{@link FailurePolicy#IGNORE}时不包含失败Shard的元素。
+	 * @throws ShardQueryException 失败策略为{@link FailurePolicy#FAIL_FAST}且有Shard失败或超时时抛出。
+	 */
+	public <E> List<E> query(String virtualDatabaseName, Collection<ShardInfo> shardInfos, ShardCallback<List<E>> shardCallback) throws ShardQueryException {
+		return ShardQueryResult.flatten(execute(virtualDatabaseName, shardInfos, shardCallback));
+	}
+
+	private static void cancel(List<? extends Future<?>> futureList) {
+		for (Future<?> future : futureList) {
+			future.cancel(true);
+		}
+	}
+
+	public void setCorePoolSize(int corePoolSize) {
+		this.corePoolSize = corePoolSize;
+	}
+
+	public void setMaxPoolSize(int maxPoolSize) {
+		this.maxPoolSize = maxPoolSize;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public void setTimeoutMillis(long timeoutMillis) {
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	public void setFailurePolicy(FailurePolicy failurePolicy) {
+		this.failurePolicy = failurePolicy;
+	}
+}
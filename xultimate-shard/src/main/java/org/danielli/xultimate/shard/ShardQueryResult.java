@@ -0,0 +1,74 @@
+package org.danielli.xultimate.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.danielli.xultimate.shard.dto.ShardInfo;
+
+/**
+ * 并行查询结果。包含成功Shard的查询结果和失败Shard的异常，失败策略为{@link ShardQueryExecutor.FailurePolicy#IGNORE}时可能只有部分结果。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ *
+ * @param <T> 查询结果类型。
+ */
+public class ShardQueryResult<T> {
+
+	/** 成功的Shard与查询结果的映射，按Shard的提交顺序排列 */
+	private final Map<ShardInfo, T> results;
+
+	/** 失败的Shard与异常的映射 */
+	private final Map<ShardInfo, Throwable> failures;
+
+	public ShardQueryResult(Map<ShardInfo, T> results, Map<ShardInfo, Throwable> failures) {
+		this.results = Collections.unmodifiableMap(results);
+		this.failures = Collections.unmodifiableMap(failures);
+	}
+
+	/**
+	 * 获取成功的Shard与查询结果的映射。
+	 */
+	public Map<ShardInfo, T> getResults() {
+		return results;
+	}
+
+	/**
+	 * 获取失败的Shard与异常的映射。
+	 */
+	public Map<ShardInfo, Throwable> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * 是否只有部分Shard成功。
+	 */
+	public boolean isPartial() {
+		return !failures.isEmpty();
+	}
+
+	/**
+	 * 合并各Shard返回的元素列表，之后可交给{@link ShardUtils}进行排序、分页、汇总等操作。
+	 * 
+	 * @param result 查询结果，各Shard返回元素集合。
+	 * @return 合并后的元素列表。
+	 */
+	public static <E> List<E> flatten(ShardQueryResult<? extends Collection<E>> result) {
+		int size = 0;
+		for (Collection<E> elements : result.getResults().values()) {
+			if (elements != null) {
+				size += elements.size();
+			}
+		}
+		List<E> mergedElements = new ArrayList<>(size);
+		for (Collection<E> elements : result.getResults().values()) {
+			if (elements != null) {
+				mergedElements.addAll(elements);
+			}
+		}
+		return mergedElements;
+	}
+}
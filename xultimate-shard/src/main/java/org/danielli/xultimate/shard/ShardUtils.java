@@ -1,13 +1,17 @@
 package org.danielli.xultimate.shard;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 
+import org.danielli.xultimate.util.Assert;
 import org.danielli.xultimate.util.collections.CollectionUtils;
 
 /**
@@ -88,6 +92,87 @@ public abstract class ShardUtils {
 		}
 	}
 	
+	/**
+	 * 多路归并。各Shard的结果已按comparator排序，通过堆逐个取出当前最小的元素，内存占用与Shard个数成正比，不需要先合并成一个列表再排序。
+	 * 比较结果相同时，先取迭代器在sortedIterators中靠前的元素。
+	 * 
+	 * @param sortedIterators 各Shard已排序结果的迭代器。
+	 * @param comparator 比较器，需与各Shard的排序规则一致。
+	 * @return 归并后的迭代器，按需从各Shard的迭代器中读取元素。
+	 */
+	public static <E> Iterator<E> merge(Collection<? extends Iterator<? extends E>> sortedIterators, Comparator<? super E> comparator) {
+		return new MergeIterator<E>(sortedIterators, comparator);
+	}
+	
+	/**
+	 * 多路归并后分页。各Shard的结果已按comparator排序，归并到offset + limit个元素时停止，时间复杂度为O((offset + limit) log k)，k为Shard个数。
+	 * 
+	 * @param sortedElementsList 各Shard已排序的元素列表，每个Shard最多需要返回offset + limit个元素。
+	 * @param comparator 比较器，需与各Shard的排序规则一致。
+	 * @param offset 起始位置。
+	 * @param limit 长度。
+	 * @return 归并并分页后的元素列表。
+	 */
+	public static <E> List<E> mergeAndLimit(Collection<? extends Collection<? extends E>> sortedElementsList, Comparator<? super E> comparator, int offset, int limit) {
+		Assert.isTrue(offset >= 0 && limit >= 0, "Offset and limit must not less than 0");
+		if (sortedElementsList == null) {
+			return new ArrayList<>(0);
+		}
+		List<Iterator<? extends E>> sortedIterators = new ArrayList<>(sortedElementsList.size());
+		for (Collection<? extends E> sortedElements : sortedElementsList) {
+			if (sortedElements != null) {
+				sortedIterators.add(sortedElements.iterator());
+			}
+		}
+		Iterator<E> mergeIterator = merge(sortedIterators, comparator);
+		for (int i = 0; i < offset && mergeIterator.hasNext(); i++) {
+			mergeIterator.next();
+		}
+		List<E> result = new ArrayList<>(Math.min(limit, 1024));
+		while (result.size() < limit && mergeIterator.hasNext()) {
+			result.add(mergeIterator.next());
+		}
+		return result;
+	}
+	
+	/**
+	 * 求前K个元素后分页，K为offset + limit。元素无需预先排序，通过大小为K的堆筛选，内存占用为O(K)，时间复杂度为O(n log K)。
+	 * 
+	 * @param elements 元素集合，可以是各Shard结果的迭代视图。
+	 * @param comparator 比较器。
+	 * @param offset 起始位置。
+	 * @param limit 长度。
+	 * @return 排序并分页后的元素列表。
+	 */
+	public static <E> List<E> top(Iterable<? extends E> elements, Comparator<? super E> comparator, int offset, int limit) {
+		Assert.isTrue(offset >= 0 && limit >= 0, "Offset and limit must not less than 0");
+		if (elements == null || limit == 0) {
+			return new ArrayList<>(0);
+		}
+		int topCount = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+		final Comparator<? super E> elementComparator = comparator;
+		PriorityQueue<E> maxHeap = new PriorityQueue<>(Math.min(topCount, 1024), new Comparator<E>() {
+			@Override
+			public int compare(E o1, E o2) {
+				return elementComparator.compare(o2, o1);
+			}
+		});
+		for (E element : elements) {
+			if (maxHeap.size() < topCount) {
+				maxHeap.offer(element);
+			} else if (comparator.compare(element, maxHeap.peek()) < 0) {
+				maxHeap.poll();
+				maxHeap.offer(element);
+			}
+		}
+		List<E> result = new ArrayList<>(Math.max(0, maxHeap.size() - offset));
+		while (maxHeap.size() > offset) {
+			result.add(maxHeap.poll());
+		}
+		Collections.reverse(result);
+		return result;
+	}
+	
 	/**
 	 * 求最大值。
 	 * 
@@ -233,4 +318,77 @@ public abstract class ShardUtils {
 			}
 		}
 	}
+	
+	/**
+	 * 多路归并迭代器。
+	 * 
+	 * @param <E> 元素类型。
+	 */
+	private static class MergeIterator<E> implements Iterator<E> {
+		
+		private final PriorityQueue<Cursor<E>> cursorHeap;
+		
+		MergeIterator(Collection<? extends Iterator<? extends E>> sortedIterators, final Comparator<? super E> comparator) {
+			this.cursorHeap = new PriorityQueue<>(Math.max(1, sortedIterators.size()), new Comparator<Cursor<E>>() {
+				@Override
+				public int compare(Cursor<E> o1, Cursor<E> o2) {
+					int result = comparator.compare(o1.head, o2.head);
+					return result != 0 ? result : o1.index - o2.index;
+				}
+			});
+			int index = 0;
+			for (Iterator<? extends E> sortedIterator : sortedIterators) {
+				if (sortedIterator.hasNext()) {
+					cursorHeap.offer(new Cursor<E>(sortedIterator, index));
+				}
+				index++;
+			}
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return !cursorHeap.isEmpty();
+		}
+		
+		@Override
+		public E next() {
+			Cursor<E> cursor = cursorHeap.poll();
+			if (cursor == null) {
+				throw new NoSuchElementException();
+			}
+			E element = cursor.head;
+			if (cursor.advance()) {
+				cursorHeap.offer(cursor);
+			}
+			return element;
+		}
+		
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	private static class Cursor<E> {
+		
+		private final Iterator<? extends E> iterator;
+		
+		private final int index;
+		
+		private E head;
+		
+		Cursor(Iterator<? extends E> iterator, int index) {
+			this.iterator = iterator;
+			this.index = index;
+			this.head = iterator.next();
+		}
+		
+		boolean advance() {
+			if (iterator.hasNext()) {
+				head = iterator.next();
+				return true;
+			}
+			return false;
+		}
+	}
 }
@@ -0,0 +1,20 @@
+package org.danielli.xultimate.shard.aggregate;
+
+/**
+ * 聚合函数。各Shard返回的是部分聚合结果，合并规则如下。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public enum AggregateFunction {
+	/** 个数，合并时求和 */
+	COUNT,
+	/** 汇总，合并时求和 */
+	SUM,
+	/** 最小值，合并时取最小值 */
+	MIN,
+	/** 最大值，合并时取最大值 */
+	MAX,
+	/** 平均值，各Shard需返回SUM和COUNT，合并时分别求和后相除 */
+	AVG
+}
@@ -0,0 +1,51 @@
+package org.danielli.xultimate.shard.aggregate;
+
+/**
+ * 聚合结果，对应一个分组。
+ * 
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ *
+ * @param <K> 分组KEY类型。
+ */
+public class AggregateResult<K> {
+
+	/** 分组KEY */
+	private final K groupKey;
+	/** 按聚合添加顺序排列的聚合值，没有值时为null */
+	private final Number[] values;
+
+	public AggregateResult(K groupKey, Number[] values) {
+		this.groupKey = groupKey;
+		this.values = values;
+	}
+
+	public K getGroupKey() {
+		return groupKey;
+	}
+
+	/**
+	 * 获取聚合值。COUNT为Long；SUM、MIN、MAX在所有部分结果均为整数时为Long，有带小数的BigDecimal且没有浮点数时为BigDecimal，
+	 * 否则为Double；AVG为Double。
+	 * 
+	 * @param index 聚合的序号，即添加聚合时返回的值。
+	 * @return 聚合值，所有部分结果均为null时返回null。
+	 */
+	public Number getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * 获取聚合值的long形式，没有值时返回0。
+	 */
+	public long getLongValue(int index) {
+		return values[index] == null ? 0 : values[index].longValue();
+	}
+
+	/**
+	 * 获取聚合值的double形式，没有值时返回0。
+	 */
+	public double getDoubleValue(int index) {
+		return values[index] == null ? 0 : values[index].doubleValue();
+	}
+}
@@ -0,0 +1,345 @@
+package org.danielli.xultimate.shard.aggregate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.danielli.xultimate.shard.Filter;
+import org.danielli.xultimate.util.Assert;
+
+/**
+ * 分库、分表后的聚合合并器。按分组KEY合并各Shard返回的部分聚合结果（COUNT、SUM、MIN、MAX，AVG以SUM和COUNT表示），
+ * 每个分组只保留基本类型数组形式的累加器，各Shard的结果到达后即可通过{@link #add(Object)}增量合并，无需保留原始结果。
+ * <p>
+ * 整数值按long累加，出现带小数的BigDecimal时转为BigDecimal精确累加，出现浮点数或long溢出时转为double。
+ * 非线程安全，并行查询时应在结果到达的线程中串行添加。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ *
+ * @param <S> Shard返回的部分结果类型。
+ * @param <K> 分组KEY类型。
+ */
+public class ShardAggregator<S, K> {
+
+	private static final byte EMPTY = 0;
+
+	private static final byte LONG = 1;
+
+	private static final byte DOUBLE = 2;
+
+	private static final byte DECIMAL = 3;
+
+	/** 分组KEY生成器 */
+	private final Filter<S, K> groupKeyFilter;
+
+	private final List<AggregateFunction> aggregateFunctionList = new ArrayList<>();
+
+	private final List<Filter<S, ? extends Number>> valueFilterList = new ArrayList<>();
+
+	/** AVG的COUNT值生成器，其他聚合为null */
+	private final List<Filter<S, ? extends Number>> countFilterList = new ArrayList<>();
+
+	private final Map<K, Accumulator> accumulatorMap = new LinkedHashMap<>();
+
+	private boolean avgPresent = false;
+
+	/**
+	 * 创建实例。
+	 *
+	 * @param groupKeyFilter 分组KEY生成器，返回相同KEY的部分结果会被合并。
+	 */
+	public ShardAggregator(Filter<S, K> groupKeyFilter) {
+		Assert.notNull(groupKeyFilter, "Group key filter must not be null");
+		this.groupKeyFilter = groupKeyFilter;
+	}
+
+	/**
+	 * 添加COUNT、SUM、MIN或MAX聚合，需在添加结果之前调用。
+	 *
+	 * @param aggregateFunction 聚合函数，不能为AVG。
+	 * @param valueFilter 部分聚合值生成器。
+	 * @return 聚合的序号，用于{@link AggregateResult#getValue(int)}。
+	 */
+	public int aggregate(AggregateFunction aggregateFunction, Filter<S, ? extends Number> valueFilter) {
+		Assert.isTrue(aggregateFunction != AggregateFunction.AVG, "AVG must be added by avg(sumFilter, countFilter)");
+		return addAggregate(aggregateFunction, valueFilter, null);
+	}
+
+	/**
+	 * 添加AVG聚合，需在添加结果之前调用。
+	 *
+	 * @param sumFilter 部分SUM值生成器。
+	 * @param countFilter 部分COUNT值生成器。
+	 * @return 聚合的序号，用于{@link AggregateResult#getValue(int)}。
+	 */
+	public int avg(Filter<S, ? extends Number> sumFilter, Filter<S, ? extends Number> countFilter) {
+		Assert.notNull(countFilter, "Count filter must not be null");
+		avgPresent = true;
+		return addAggregate(AggregateFunction.AVG, sumFilter, countFilter);
+	}
+
+	private int addAggregate(AggregateFunction aggregateFunction, Filter<S, ? extends Number> valueFilter, Filter<S, ? extends Number> countFilter) {
+		Assert.notNull(valueFilter, "Value filter must not be null");
+		Assert.isTrue(accumulatorMap.isEmpty(), "Aggregates must be added before results");
+		aggregateFunctionList.add(aggregateFunction);
+		valueFilterList.add(valueFilter);
+		countFilterList.add(countFilter);
+		return aggregateFunctionList.size() - 1;
+	}
+
+	/**
+	 * 合并一个部分结果。
+	 *
+	 * @param partialResult Shard返回的部分结果。
+	 */
+	public void add(S partialResult) {
+		K groupKey = groupKeyFilter.doFilter(partialResult);
+		Accumulator accumulator = accumulatorMap.get(groupKey);
+		if (accumulator == null) {
+			accumulator = new Accumulator(aggregateFunctionList.size(), avgPresent);
+			accumulatorMap.put(groupKey, accumulator);
+		}
+		for (int i = 0; i < aggregateFunctionList.size(); i++) {
+			Number value = valueFilterList.get(i).doFilter(partialResult);
+			switch (aggregateFunctionList.get(i)) {
+				case MIN:
+					accumulator.compare(i, value, true);
+					break;
+				case MAX:
+					accumulator.compare(i, value, false);
+					break;
+				case AVG:
+					Number count = countFilterList.get(i).doFilter(partialResult);
+					if (count != null) {
+						accumulator.counts[i] += count.longValue();
+					}
+					accumulator.sum(i, value);
+					break;
+				default:
+					accumulator.sum(i, value);
+			}
+		}
+	}
+
+	/**
+	 * 合并一个Shard返回的全部部分结果。
+	 *
+	 * @param partialResults Shard返回的部分结果集合。
+	 */
+	public void addAll(Collection<? extends S> partialResults) {
+		if (partialResults == null) {
+			return;
+		}
+		for (S partialResult : partialResults) {
+			add(partialResult);
+		}
+	}
+
+	/**
+	 * 获取分组个数。
+	 */
+	public int size() {
+		return accumulatorMap.size();
+	}
+
+	/**
+	 * 获取聚合结果，按分组首次出现的顺序排列。
+	 *
+	 * @return 聚合结果列表。
+	 */
+	public List<AggregateResult<K>> getResults() {
+		List<AggregateResult<K>> aggregateResultList = new ArrayList<>(accumulatorMap.size());
+		for (Map.Entry<K, Accumulator> entry : accumulatorMap.entrySet()) {
+			Accumulator accumulator = entry.getValue();
+			Number[] values = new Number[aggregateFunctionList.size()];
+			for (int i = 0; i < values.length; i++) {
+				switch (aggregateFunctionList.get(i)) {
+					case COUNT:
+						if (accumulator.states[i] == DOUBLE) {
+							values[i] = (long) accumulator.doubleValues[i];
+						} else if (accumulator.states[i] == DECIMAL) {
+							values[i] = accumulator.decimalValues[i].longValue();
+						} else {
+							values[i] = accumulator.longValues[i];
+						}
+						break;
+					case AVG:
+						if (accumulator.states[i] != EMPTY && accumulator.counts[i] != 0) {
+							values[i] = accumulator.getDoubleValue(i) / accumulator.counts[i];
+						}
+						break;
+					default:
+						if (accumulator.states[i] == LONG) {
+							values[i] = accumulator.longValues[i];
+						} else if (accumulator.states[i] == DOUBLE) {
+							values[i] = accumulator.doubleValues[i];
+						} else if (accumulator.states[i] == DECIMAL) {
+							values[i] = accumulator.decimalValues[i];
+						}
+				}
+			}
+			aggregateResultList.add(new AggregateResult<>(entry.getKey(), values));
+		}
+		return aggregateResultList;
+	}
+
+	/**
+	 * 是否可以按long精确处理。
+	 */
+	private static boolean isIntegral(Number value) {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte || value instanceof AtomicLong || value instanceof AtomicInteger) {
+			return true;
+		}
+		if (value instanceof BigInteger) {
+			return ((BigInteger) value).bitLength() < 64;
+		}
+		if (value instanceof BigDecimal) {
+			BigDecimal decimal = (BigDecimal) value;
+			return decimal.scale() == 0 && decimal.unscaledValue().bitLength() < 64;
+		}
+		return false;
+	}
+
+	/**
+	 * 是否可以按BigDecimal精确处理。
+	 */
+	private static boolean isExact(Number value) {
+		return value instanceof BigDecimal || isIntegral(value);
+	}
+
+	private static BigDecimal toDecimal(Number value) {
+		if (value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		}
+		return BigDecimal.valueOf(value.longValue());
+	}
+
+	/**
+	 * 分组的累加器。
+	 */
+	private static class Accumulator {
+
+		private final long[] longValues;
+
+		private final double[] doubleValues;
+
+		/** 首次出现BigDecimal累加值时创建 */
+		private BigDecimal[] decimalValues;
+
+		private final byte[] states;
+
+		/** AVG的COUNT值，没有AVG聚合时为null */
+		private final long[] counts;
+
+		Accumulator(int size, boolean avgPresent) {
+			this.longValues = new long[size];
+			this.doubleValues = new double[size];
+			this.states = new byte[size];
+			this.counts = avgPresent ? new long[size] : null;
+		}
+
+		double getDoubleValue(int index) {
+			switch (states[index]) {
+				case LONG:
+					return longValues[index];
+				case DECIMAL:
+					return decimalValues[index].doubleValue();
+				default:
+					return doubleValues[index];
+			}
+		}
+
+		BigDecimal getDecimalValue(int index) {
+			return states[index] == LONG ? BigDecimal.valueOf(longValues[index]) : decimalValues[index];
+		}
+
+		void setDecimal(int index, BigDecimal value) {
+			if (decimalValues == null) {
+				decimalValues = new BigDecimal[states.length];
+			}
+			decimalValues[index] = value;
+			states[index] = DECIMAL;
+		}
+
+		void set(int index, Number value) {
+			if (isIntegral(value)) {
+				longValues[index] = value.longValue();
+				states[index] = LONG;
+			} else if (value instanceof BigDecimal) {
+				setDecimal(index, (BigDecimal) value);
+			} else {
+				doubleValues[index] = value.doubleValue();
+				states[index] = DOUBLE;
+			}
+		}
+
+		void sum(int index, Number value) {
+			if (value == null) {
+				return;
+			}
+			switch (states[index]) {
+				case EMPTY:
+					set(index, value);
+					break;
+				case LONG:
+					if (isIntegral(value)) {
+						long left = longValues[index];
+						long right = value.longValue();
+						long result = left + right;
+						if (((left ^ result) & (right ^ result)) >= 0) {
+							longValues[index] = result;
+							break;
+						}
+					} else if (value instanceof BigDecimal) {
+						setDecimal(index, BigDecimal.valueOf(longValues[index]).add((BigDecimal) value));
+						break;
+					}
+					doubleValues[index] = longValues[index] + value.doubleValue();
+					states[index] = DOUBLE;
+					break;
+				case DECIMAL:
+					if (isExact(value)) {
+						decimalValues[index] = decimalValues[index].add(toDecimal(value));
+					} else {
+						doubleValues[index] = decimalValues[index].doubleValue() + value.doubleValue();
+						states[index] = DOUBLE;
+					}
+					break;
+				default:
+					doubleValues[index] += value.doubleValue();
+			}
+		}
+
+		void compare(int index, Number value, boolean min) {
+			if (value == null) {
+				return;
+			}
+			if (states[index] == EMPTY) {
+				set(index, value);
+			} else if (states[index] == LONG && isIntegral(value)) {
+				long longValue = value.longValue();
+				if (min ? longValue < longValues[index] : longValue > longValues[index]) {
+					longValues[index] = longValue;
+				}
+			} else if (states[index] != DOUBLE && isExact(value)) {
+				int result = toDecimal(value).compareTo(getDecimalValue(index));
+				if (min ? result < 0 : result > 0) {
+					set(index, value);
+				}
+			} else {
+				double doubleValue = value.doubleValue();
+				double currentValue = getDoubleValue(index);
+				if (min ? doubleValue < currentValue : doubleValue > currentValue) {
+					set(index, value);
+				}
+			}
+		}
+	}
+}
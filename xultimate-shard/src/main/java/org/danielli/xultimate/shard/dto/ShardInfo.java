@@ -5,8 +5,7 @@ import java.io.Serializable;
 import org.danielli.xultimate.util.Assert;
 import org.danielli.xultimate.util.builder.BuildType;
 import org.danielli.xultimate.util.builder.Buildable;
-import org.danielli.xultimate.util.builder.EqualsBuilderUtils;
-import org.danielli.xultimate.util.builder.HashCodeBuilderUtils;
+import org.danielli.xultimate.util.builder.BuildableUtils;
 
 /**
  * Shard信息。
@@ -66,11 +65,11 @@ public class ShardInfo implements Serializable {
 	
 	@Override
 	public boolean equals(Object obj) {
-		return EqualsBuilderUtils.reflectionEqualsForBothClass(this, obj);
+		return BuildableUtils.equals(this, obj);
 	}
 	
 	@Override
 	public int hashCode() {
-		return HashCodeBuilderUtils.reflectionHashCode(this);
+		return BuildableUtils.hashCode(this);
 	}
 }
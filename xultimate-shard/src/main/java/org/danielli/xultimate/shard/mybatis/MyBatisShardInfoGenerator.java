@@ -5,12 +5,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Resource;
 
+import org.danielli.xultimate.shard.RoutingIndex;
 import org.danielli.xultimate.shard.ShardInfoGenerator;
 import org.danielli.xultimate.shard.dto.ShardInfo;
 import org.danielli.xultimate.shard.mybatis.biz.PartitionedTableIntervalBiz;
@@ -104,13 +106,56 @@ public class MyBatisShardInfoGenerator implements ShardInfoGenerator {
 	
 	@Override
 	public Map<ShardInfo, Collection<Long>> createShardInfosByIntervalValue(String virtualDatabaseName, String virtualTableName, Collection<Long> intervalValues) {
+		return new HashMap<ShardInfo, Collection<Long>>(groupByShardInfo(virtualDatabaseName, virtualTableName, intervalValues));
+	}
+	
+	@Override
+	public Map<ShardInfo, List<Long>> groupByShardInfo(String virtualDatabaseName, String virtualTableName, Collection<Long> intervalValues) {
+		Map<ShardInfo, List<Long>> shardInfoMap = new HashMap<>();
+		if (CollectionUtils.isEmpty(intervalValues)) {
+			return shardInfoMap;
+		}
 		List<VirtualTableInterval> virtualTableIntervalList = virtualTableIntervalBiz.findByVirtualDatabaseNameAndVirtualTableName(virtualDatabaseName, virtualTableName);
+		if (CollectionUtils.isEmpty(virtualTableIntervalList)) {
+			return shardInfoMap;
+		}
+		
+		// 先按与单值路由相同的线性查找定位全部区间值涉及的虚拟表区间，之后绑定记录、分区表区间信息各只查询一次。
+		Set<Long> virtualTableIntervalIdSet = new HashSet<>();
+		for (Long intervalValue : intervalValues) {
+			if (intervalValue == null) continue;
+			VirtualTableInterval virtualTableInterval = findVirtualTableIntervalId(virtualTableIntervalList, intervalValue);
+			if (virtualTableInterval != null) {
+				virtualTableIntervalIdSet.add(virtualTableInterval.getId());
+			}
+		}
+		if (virtualTableIntervalIdSet.isEmpty()) {
+			return shardInfoMap;
+		}
+		// 保持数据库中的顺序，区间端点相同时路由表与单值路由一样选择靠前的区间。
+		Map<Long, VirtualTableInterval> virtualTableIntervalMap = new LinkedHashMap<>();
+		for (VirtualTableInterval virtualTableInterval : virtualTableIntervalList) {
+			if (virtualTableIntervalIdSet.contains(virtualTableInterval.getId())) {
+				virtualTableIntervalMap.put(virtualTableInterval.getId(), virtualTableInterval);
+			}
+		}
+		
+		List<VirtualSocketBindRecord> virtualSocketBindRecordList = virtualSocketBindRecordBiz.findByVirtualTableIntervalIdList(new ArrayList<>(virtualTableIntervalMap.keySet()));
+		Set<Long> virtualSocketIdSet = findVirtualSocketIdSet(virtualSocketBindRecordList);
+		if (CollectionUtils.isEmpty(virtualSocketIdSet)) {
+			return shardInfoMap;
+		}
+		Long virtualTableId = virtualTableIntervalMap.values().iterator().next().getVirtualTableId();
+		List<Map<String, Object>> partitionedTableIntervalInfoList = partitionedTableIntervalBiz.findInfosByVirtualTableIdAndVirtualSocketIdSet(virtualTableId, virtualSocketIdSet);
 		
-		Map<ShardInfo, Collection<Long>> shardInfoMap = new HashMap<>();
+		RoutingTable routingTable = new RoutingTable(new ArrayList<>(virtualTableIntervalMap.values()), virtualSocketBindRecordList, partitionedTableIntervalInfoList);
 		for (Long intervalValue : intervalValues) {
-			ShardInfo shardInfo = createShardInfo(virtualTableIntervalList, intervalValue);
+			if (intervalValue == null) continue;
+			int position = routingTable.indexOf(intervalValue);
+			if (position == RoutingIndex.NOT_FOUND) continue;
+			ShardInfo shardInfo = routingTable.findShardInfo(position, intervalValue);
 			if (shardInfo != null) {
-				Collection<Long> resultValue = shardInfoMap.get(shardInfo);
+				List<Long> resultValue = shardInfoMap.get(shardInfo);
 				if (resultValue == null) {
 					resultValue = new ArrayList<>();
 					shardInfoMap.put(shardInfo, resultValue);
@@ -0,0 +1,140 @@
+package org.danielli.xultimate.shard.mybatis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.danielli.xultimate.shard.RoutingIndex;
+import org.danielli.xultimate.shard.dto.ShardInfo;
+import org.danielli.xultimate.shard.po.VirtualSocketBindRecord;
+import org.danielli.xultimate.shard.po.VirtualTableInterval;
+
+/**
+ * 虚拟表的路由表快照，由虚拟表区间、绑定记录、分区表区间信息一次性构建，构建后不可变，路由时不再访问数据库。
+ * 路由通过{@link RoutingIndex}完成，区间查找为二分查找，HASH值到虚拟Socket为数组直接映射。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class RoutingTable {
+
+	/** 路由索引 */
+	private final RoutingIndex<VirtualTableInterval, ShardInfo> routingIndex;
+	/** 可用区间对应的全部Shard信息 */
+	private final Collection<ShardInfo> availableShardInfos;
+	/** 构建时间 */
+	private final long createTime;
+
+	public RoutingTable(List<VirtualTableInterval> virtualTableIntervalList, List<VirtualSocketBindRecord> virtualSocketBindRecordList, List<Map<String, Object>> partitionedTableIntervalInfoList) {
+		this.createTime = System.currentTimeMillis();
+
+		RoutingIndex.Builder<VirtualTableInterval, ShardInfo> routingIndexBuilder = new RoutingIndex.Builder<>();
+		for (VirtualTableInterval virtualTableInterval : virtualTableIntervalList) {
+			routingIndexBuilder.addInterval(virtualTableInterval.getId(), virtualTableInterval.getStartInterval(), virtualTableInterval.getEndInterval(), virtualTableInterval.getHashValuesCount(), virtualTableInterval);
+		}
+
+		Map<Long, Set<Long>> virtualSocketIdSetMap = new HashMap<>();
+		for (VirtualSocketBindRecord virtualSocketBindRecord : virtualSocketBindRecordList) {
+			routingIndexBuilder.bind(virtualSocketBindRecord.getVirtualTableIntervalId(), virtualSocketBindRecord.getVirtualSocketId(), ArrayUtils.toPrimitive(virtualSocketBindRecord.getHashValues()));
+			Set<Long> virtualSocketIdSet = virtualSocketIdSetMap.get(virtualSocketBindRecord.getVirtualTableIntervalId());
+			if (virtualSocketIdSet == null) {
+				virtualSocketIdSet = new HashSet<>();
+				virtualSocketIdSetMap.put(virtualSocketBindRecord.getVirtualTableIntervalId(), virtualSocketIdSet);
+			}
+			virtualSocketIdSet.add(virtualSocketBindRecord.getVirtualSocketId());
+		}
+
+		Map<Long, List<ShardInfo>> shardInfoListMap = new HashMap<>();
+		for (Map<String, Object> partitionedTableIntervalInfo : partitionedTableIntervalInfoList) {
+			Long virtualSocketId = (Long) partitionedTableIntervalInfo.get("virtualSocketId");
+			ShardInfo shardInfo = new ShardInfo();
+			shardInfo.setPartitionedTableShardId((Long) partitionedTableIntervalInfo.get("partitionedTableShardId"));
+			shardInfo.setVirtualSocketAddress((String) partitionedTableIntervalInfo.get("virtualSocketAddress"));
+			routingIndexBuilder.addPartition(virtualSocketId, (Long) partitionedTableIntervalInfo.get("partitionedTableStartInterval"), (Long) partitionedTableIntervalInfo.get("partitionedTableEndInterval"), shardInfo);
+			List<ShardInfo> shardInfoList = shardInfoListMap.get(virtualSocketId);
+			if (shardInfoList == null) {
+				shardInfoList = new ArrayList<>();
+				shardInfoListMap.put(virtualSocketId, shardInfoList);
+			}
+			shardInfoList.add(shardInfo);
+		}
+		this.routingIndex = routingIndexBuilder.build();
+
+		Set<Long> availableVirtualSocketIdSet = new HashSet<>();
+		for (VirtualTableInterval virtualTableInterval : virtualTableIntervalList) {
+			if (!virtualTableInterval.getAvailable()) {
+				continue;
+			}
+			Set<Long> virtualSocketIdSet = virtualSocketIdSetMap.get(virtualTableInterval.getId());
+			if (virtualSocketIdSet != null) {
+				availableVirtualSocketIdSet.addAll(virtualSocketIdSet);
+			}
+		}
+		Set<ShardInfo> availableShardInfoSet = new HashSet<>();
+		for (Long virtualSocketId : availableVirtualSocketIdSet) {
+			List<ShardInfo> shardInfoList = shardInfoListMap.get(virtualSocketId);
+			if (shardInfoList != null) {
+				availableShardInfoSet.addAll(shardInfoList);
+			}
+		}
+		this.availableShardInfos = Collections.unmodifiableSet(availableShardInfoSet);
+	}
+
+	/**
+	 * 查找区间值所在的虚拟表区间的位置。
+	 * @param intervalValue 区间值。
+	 * @return 虚拟表区间的位置，不存在返回{@link RoutingIndex#NOT_FOUND}。
+	 */
+	public int indexOf(long intervalValue) {
+		return routingIndex.indexOf(intervalValue);
+	}
+
+	/**
+	 * 获取指定位置的虚拟表区间。
+	 * @param position 虚拟表区间的位置。
+	 * @return 虚拟表区间。
+	 */
+	public VirtualTableInterval getVirtualTableInterval(int position) {
+		return routingIndex.getInterval(position);
+	}
+
+	/**
+	 * 查找区间值所在的虚拟表区间。
+	 * @param intervalValue 区间值。
+	 * @return 虚拟表区间，不存在返回null。
+	 */
+	public VirtualTableInterval findVirtualTableInterval(long intervalValue) {
+		int position = routingIndex.indexOf(intervalValue);
+		return position == RoutingIndex.NOT_FOUND ? null : routingIndex.getInterval(position);
+	}
+
+	/**
+	 * 在指定位置的虚拟表区间中路由区间值。
+	 * @param position 虚拟表区间的位置。
+	 * @param intervalValue 区间值。
+	 * @return Shard信息，不存在返回null。
+	 */
+	public ShardInfo findShardInfo(int position, long intervalValue) {
+		return routingIndex.route(position, intervalValue);
+	}
+
+	/**
+	 * 获取可用区间对应的全部Shard信息。
+	 */
+	public Collection<ShardInfo> getAvailableShardInfos() {
+		return availableShardInfos;
+	}
+
+	/**
+	 * 获取构建时间。
+	 */
+	public long getCreateTime() {
+		return createTime;
+	}
+}
@@ -0,0 +1,244 @@
+package org.danielli.xultimate.shard.mybatis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Resource;
+
+import org.danielli.xultimate.shard.RoutingIndex;
+import org.danielli.xultimate.shard.ShardInfoGenerator;
+import org.danielli.xultimate.shard.dto.ShardInfo;
+import org.danielli.xultimate.shard.mybatis.biz.PartitionedTableIntervalBiz;
+import org.danielli.xultimate.shard.mybatis.biz.VirtualSocketBindRecordBiz;
+import org.danielli.xultimate.shard.mybatis.biz.VirtualTableIntervalBiz;
+import org.danielli.xultimate.shard.po.VirtualSocketBindRecord;
+import org.danielli.xultimate.shard.po.VirtualTableInterval;
+import org.danielli.xultimate.util.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 基于内存路由表的Shard信息生成器。每个虚拟表首次路由时加载{@link RoutingTable}，之后的路由为纯内存查找；
+ * 路由表按{@code shard.routingTable.refreshSeconds}定时重建并整体替换，也可以通过{@link #invalidate(String, String)}显式失效。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+@Service("routingTableShardInfoGenerator")
+public class RoutingTableShardInfoGenerator implements ShardInfoGenerator, InitializingBean, DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RoutingTableShardInfoGenerator.class);
+
+	@Resource(name = "partitionedTableIntervalBizImpl")
+	private PartitionedTableIntervalBiz partitionedTableIntervalBiz;
+
+	@Resource(name = "virtualTableIntervalBizImpl")
+	private VirtualTableIntervalBiz virtualTableIntervalBiz;
+
+	@Resource(name = "virtualSocketBindRecordBizImpl")
+	private VirtualSocketBindRecordBiz virtualSocketBindRecordBiz;
+
+	/** 路由表刷新间隔（秒），小于等于0时不定时刷新。 */
+	@Value("${shard.routingTable.refreshSeconds:60}")
+	private Integer refreshSeconds;
+
+	private final ConcurrentMap<RoutingTableKey, RoutingTable> routingTableMap = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService scheduledExecutorService;
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (refreshSeconds != null && refreshSeconds > 0) {
+			scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "RoutingTableRefresher");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			scheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+				@Override
+				public void run() {
+					refresh();
+				}
+			}, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		if (scheduledExecutorService != null) {
+			scheduledExecutorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * 重建所有已加载的路由表，重建期间被失效的路由表不会被重新放回。
+	 */
+	public void refresh() {
+		for (RoutingTableKey routingTableKey : routingTableMap.keySet()) {
+			try {
+				routingTableMap.replace(routingTableKey, loadRoutingTable(routingTableKey.virtualDatabaseName, routingTableKey.virtualTableName));
+			} catch (Exception e) {
+				LOGGER.error("Refresh routing table [" + routingTableKey + "] failed, keep using the previous one", e);
+			}
+		}
+	}
+
+	/**
+	 * 失效指定虚拟表的路由表，下次路由时重新加载。
+	 * @param virtualDatabaseName 虚拟数据库的名称。
+	 * @param virtualTableName 虚拟表的名称。
+	 */
+	public void invalidate(String virtualDatabaseName, String virtualTableName) {
+		routingTableMap.remove(new RoutingTableKey(virtualDatabaseName, virtualTableName));
+	}
+
+	/**
+	 * 失效所有路由表。
+	 */
+	public void invalidateAll() {
+		routingTableMap.clear();
+	}
+
+	/**
+	 * 获取指定虚拟表的路由表。
+	 * @param virtualDatabaseName 虚拟数据库的名称。
+	 * @param virtualTableName 虚拟表的名称。
+	 * @return 路由表。
+	 */
+	public RoutingTable getRoutingTable(String virtualDatabaseName, String virtualTableName) {
+		RoutingTableKey routingTableKey = new RoutingTableKey(virtualDatabaseName, virtualTableName);
+		RoutingTable routingTable = routingTableMap.get(routingTableKey);
+		if (routingTable == null) {
+			routingTable = loadRoutingTable(virtualDatabaseName, virtualTableName);
+			RoutingTable previousRoutingTable = routingTableMap.putIfAbsent(routingTableKey, routingTable);
+			if (previousRoutingTable != null) {
+				routingTable = previousRoutingTable;
+			}
+		}
+		return routingTable;
+	}
+
+	protected RoutingTable loadRoutingTable(String virtualDatabaseName, String virtualTableName) {
+		List<VirtualTableInterval> virtualTableIntervalList = virtualTableIntervalBiz.findByVirtualDatabaseNameAndVirtualTableName(virtualDatabaseName, virtualTableName);
+		if (CollectionUtils.isEmpty(virtualTableIntervalList)) {
+			return new RoutingTable(new ArrayList<VirtualTableInterval>(), new ArrayList<VirtualSocketBindRecord>(), new ArrayList<Map<String, Object>>());
+		}
+
+		List<Long> virtualTableIntervalIdList = new ArrayList<>();
+		for (VirtualTableInterval virtualTableInterval : virtualTableIntervalList) {
+			virtualTableIntervalIdList.add(virtualTableInterval.getId());
+		}
+		Long virtualTableId = virtualTableIntervalList.get(0).getVirtualTableId();
+
+		List<VirtualSocketBindRecord> virtualSocketBindRecordList = virtualSocketBindRecordBiz.findByVirtualTableIntervalIdList(virtualTableIntervalIdList);
+		Set<Long> virtualSocketIdSet = new HashSet<>();
+		for (VirtualSocketBindRecord virtualSocketBindRecord : virtualSocketBindRecordList) {
+			virtualSocketIdSet.add(virtualSocketBindRecord.getVirtualSocketId());
+		}
+
+		List<Map<String, Object>> partitionedTableIntervalInfoList;
+		if (CollectionUtils.isEmpty(virtualSocketIdSet)) {
+			partitionedTableIntervalInfoList = new ArrayList<>();
+		} else {
+			partitionedTableIntervalInfoList = partitionedTableIntervalBiz.findInfosByVirtualTableIdAndVirtualSocketIdSet(virtualTableId, virtualSocketIdSet);
+		}
+		return new RoutingTable(virtualTableIntervalList, virtualSocketBindRecordList, partitionedTableIntervalInfoList);
+	}
+
+	private ShardInfo createShardInfo(RoutingTable routingTable, String virtualDatabaseName, String virtualTableName, Long intervalValue) {
+		int position = routingTable.indexOf(intervalValue);
+		if (position == RoutingIndex.NOT_FOUND) return null;
+
+		VirtualTableInterval virtualTableInterval = routingTable.getVirtualTableInterval(position);
+		if (!virtualTableInterval.getAvailable()) {
+			// 首次路由到不可用区间时将其置为可用，该区间的分区需要出现在createShardInfos中，因此重建路由表。
+			virtualTableIntervalBiz.updateAvailableById(virtualTableInterval.getId(), true);
+			invalidate(virtualDatabaseName, virtualTableName);
+		}
+		return routingTable.findShardInfo(position, intervalValue);
+	}
+
+	@Override
+	public ShardInfo createShardInfo(String virtualDatabaseName, String virtualTableName, Long intervalValue) {
+		RoutingTable routingTable = getRoutingTable(virtualDatabaseName, virtualTableName);
+		return createShardInfo(routingTable, virtualDatabaseName, virtualTableName, intervalValue);
+	}
+
+	@Override
+	public Map<ShardInfo, Collection<Long>> createShardInfosByIntervalValue(String virtualDatabaseName, String virtualTableName, Collection<Long> intervalValues) {
+		return new HashMap<ShardInfo, Collection<Long>>(groupByShardInfo(virtualDatabaseName, virtualTableName, intervalValues));
+	}
+
+	@Override
+	public Map<ShardInfo, List<Long>> groupByShardInfo(String virtualDatabaseName, String virtualTableName, Collection<Long> intervalValues) {
+		RoutingTable routingTable = getRoutingTable(virtualDatabaseName, virtualTableName);
+
+		Map<ShardInfo, List<Long>> shardInfoMap = new HashMap<>();
+		for (Long intervalValue : intervalValues) {
+			if (intervalValue == null) continue;
+			ShardInfo shardInfo = createShardInfo(routingTable, virtualDatabaseName, virtualTableName, intervalValue);
+			if (shardInfo != null) {
+				List<Long> resultValue = shardInfoMap.get(shardInfo);
+				if (resultValue == null) {
+					resultValue = new ArrayList<>();
+					shardInfoMap.put(shardInfo, resultValue);
+				}
+				resultValue.add(intervalValue);
+			}
+		}
+		return shardInfoMap;
+	}
+
+	@Override
+	public Collection<ShardInfo> createShardInfos(String virtualDatabaseName, String virtualTableName) {
+		return new HashSet<>(getRoutingTable(virtualDatabaseName, virtualTableName).getAvailableShardInfos());
+	}
+
+	private static class RoutingTableKey {
+
+		private final String virtualDatabaseName;
+
+		private final String virtualTableName;
+
+		RoutingTableKey(String virtualDatabaseName, String virtualTableName) {
+			this.virtualDatabaseName = virtualDatabaseName;
+			this.virtualTableName = virtualTableName;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof RoutingTableKey)) return false;
+			RoutingTableKey other = (RoutingTableKey) obj;
+			return virtualDatabaseName.equals(other.virtualDatabaseName) && virtualTableName.equals(other.virtualTableName);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * virtualDatabaseName.hashCode() + virtualTableName.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return virtualDatabaseName + "." + virtualTableName;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package org.danielli.xultimate.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RoutingIndexTest {
+
+	private static final int INTERVAL_COUNT = 5000;
+
+	private static final long INTERVAL_LENGTH = 100000;
+
+	private static final int HASH_VALUES_COUNT = 1024;
+
+	private static final int SOCKET_COUNT = 64;
+
+	private static final long PARTITION_LENGTH = 1000000;
+
+	/**
+	 * 线性扫描的路由实现，用于对比。
+	 */
+	private static class LinearRouter {
+
+		private final List<long[]> intervalList = new ArrayList<>();
+
+		private final List<int[][]> bindList = new ArrayList<>();
+
+		private final List<List<long[]>> partitionList = new ArrayList<>();
+
+		private final List<List<String>> shardList = new ArrayList<>();
+
+		String route(long intervalValue) {
+			for (int i = 0; i < intervalList.size(); i++) {
+				long[] interval = intervalList.get(i);
+				if (intervalValue < interval[0] || intervalValue > interval[1]) {
+					continue;
+				}
+				int hashValue = (int) (intervalValue % interval[2]);
+				int[][] binds = bindList.get(i);
+				for (int socket = 0; socket < binds.length; socket++) {
+					if (!ArrayUtils.contains(binds[socket], hashValue)) {
+						continue;
+					}
+					List<long[]> partitions = partitionList.get(socket);
+					for (int j = 0; j < partitions.size(); j++) {
+						if (intervalValue >= partitions.get(j)[0] && intervalValue <= partitions.get(j)[1]) {
+							return shardList.get(socket).get(j);
+						}
+					}
+					return null;
+				}
+				return null;
+			}
+			return null;
+		}
+	}
+
+	@Test
+	public void testRoute() {
+		RoutingIndex.Builder<Long, String> routingIndexBuilder = new RoutingIndex.Builder<>();
+		LinearRouter linearRouter = new LinearRouter();
+
+		int[][] binds = new int[SOCKET_COUNT][HASH_VALUES_COUNT / SOCKET_COUNT];
+		for (int hashValue = 0; hashValue < HASH_VALUES_COUNT; hashValue++) {
+			binds[hashValue % SOCKET_COUNT][hashValue / SOCKET_COUNT] = hashValue;
+		}
+		// 乱序添加区间，并留出空洞。
+		for (int i = INTERVAL_COUNT - 1; i >= 0; i--) {
+			long startInterval = i * INTERVAL_LENGTH;
+			long endInterval = startInterval + INTERVAL_LENGTH - 10;
+			routingIndexBuilder.addInterval(i, startInterval, endInterval, HASH_VALUES_COUNT, (long) i);
+			for (int socket = 0; socket < SOCKET_COUNT; socket++) {
+				routingIndexBuilder.bind(i, socket, binds[socket]);
+			}
+		}
+		for (int i = 0; i < INTERVAL_COUNT; i++) {
+			long startInterval = i * INTERVAL_LENGTH;
+			linearRouter.intervalList.add(new long[] { startInterval, startInterval + INTERVAL_LENGTH - 10, HASH_VALUES_COUNT });
+			linearRouter.bindList.add(binds);
+		}
+		long maxInterval = INTERVAL_COUNT * INTERVAL_LENGTH;
+		for (int socket = 0; socket < SOCKET_COUNT; socket++) {
+			List<long[]> partitions = new ArrayList<>();
+			List<String> shards = new ArrayList<>();
+			for (long startInterval = 0; startInterval < maxInterval; startInterval += PARTITION_LENGTH) {
+				String shard = socket + "_" + startInterval / PARTITION_LENGTH;
+				routingIndexBuilder.addPartition(socket, startInterval, startInterval + PARTITION_LENGTH - 1, shard);
+				partitions.add(new long[] { startInterval, startInterval + PARTITION_LENGTH - 1 });
+				shards.add(shard);
+			}
+			linearRouter.partitionList.add(partitions);
+			linearRouter.shardList.add(shards);
+		}
+		RoutingIndex<Long, String> routingIndex = routingIndexBuilder.build();
+		Assert.assertEquals(INTERVAL_COUNT, routingIndex.size());
+
+		Random random = new Random(1);
+		long[] intervalValues = new long[10000];
+		for (int i = 0; i < intervalValues.length; i++) {
+			intervalValues[i] = (long) (random.nextDouble() * (maxInterval + INTERVAL_LENGTH)) - INTERVAL_LENGTH / 2;
+		}
+		for (long intervalValue : intervalValues) {
+			Assert.assertEquals(linearRouter.route(intervalValue), routingIndex.route(intervalValue));
+			int position = routingIndex.indexOf(intervalValue);
+			if (position != RoutingIndex.NOT_FOUND) {
+				Assert.assertEquals(Long.valueOf(intervalValue / INTERVAL_LENGTH), routingIndex.getInterval(position));
+			}
+		}
+
+		PerformanceMonitor.start("RoutingIndexTest");
+		for (int i = 0; i < 5; i++) {
+			for (long intervalValue : intervalValues) {
+				linearRouter.route(intervalValue);
+			}
+			PerformanceMonitor.mark("线性扫描 " + intervalValues.length + " routes " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (int j = 0; j < 100; j++) {
+				for (long intervalValue : intervalValues) {
+					routingIndex.route(intervalValue);
+				}
+			}
+			PerformanceMonitor.mark("路由索引 " + intervalValues.length * 100 + " routes " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+
+	@Test
+	public void testOverlap() {
+		// 端点相同时与线性扫描一致，先添加的区间优先。
+		RoutingIndex<Long, String> routingIndex = new RoutingIndex.Builder<Long, String>().addInterval(1, 0, 100, 8, 1L).addInterval(2, 100, 200, 8, 2L).build();
+		Assert.assertEquals(Long.valueOf(1L), routingIndex.getInterval(routingIndex.indexOf(100)));
+		Assert.assertEquals(Long.valueOf(2L), routingIndex.getInterval(routingIndex.indexOf(101)));
+
+		// 后添加的区间开始区间更小时，只保留未被覆盖的部分；被完全覆盖的区间不生效。
+		int[] hashValues = { 0, 1, 2, 3, 4, 5, 6, 7 };
+		routingIndex = new RoutingIndex.Builder<Long, String>()
+				.addInterval(1, 100, 200, 8, 1L).addInterval(2, 0, 300, 8, 2L).addInterval(3, 150, 160, 8, 3L)
+				.bind(1, 10, hashValues).bind(2, 10, hashValues).bind(3, 10, hashValues)
+				.addPartition(10, 150, 300, "b").addPartition(10, 0, 150, "a").addPartition(10, 50, 60, "c").build();
+		Assert.assertEquals(3, routingIndex.size());
+		Assert.assertEquals(Long.valueOf(2L), routingIndex.getInterval(routingIndex.indexOf(99)));
+		Assert.assertEquals(Long.valueOf(1L), routingIndex.getInterval(routingIndex.indexOf(100)));
+		Assert.assertEquals(Long.valueOf(1L), routingIndex.getInterval(routingIndex.indexOf(155)));
+		Assert.assertEquals(Long.valueOf(1L), routingIndex.getInterval(routingIndex.indexOf(200)));
+		Assert.assertEquals(Long.valueOf(2L), routingIndex.getInterval(routingIndex.indexOf(201)));
+		Assert.assertEquals(RoutingIndex.NOT_FOUND, routingIndex.indexOf(301));
+		Assert.assertEquals("a", routingIndex.route(55));
+		Assert.assertEquals("a", routingIndex.route(149));
+		Assert.assertEquals("b", routingIndex.route(150));
+		Assert.assertEquals("b", routingIndex.route(300));
+	}
+}
@@ -1,14 +1,26 @@
 package org.danielli.xultimate.shard;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Resource;
 
 import org.danielli.xultimate.shard.dto.ShardInfo;
+import org.danielli.xultimate.shard.mybatis.MyBatisShardInfoGenerator;
+import org.danielli.xultimate.shard.mybatis.RoutingTableShardInfoGenerator;
+import org.danielli.xultimate.shard.mybatis.biz.PartitionedTableIntervalBiz;
+import org.danielli.xultimate.shard.mybatis.biz.VirtualSocketBindRecordBiz;
+import org.danielli.xultimate.shard.mybatis.biz.VirtualTableIntervalBiz;
+import org.danielli.xultimate.shard.po.VirtualSocketBindRecord;
+import org.danielli.xultimate.shard.po.VirtualTableInterval;
 import org.danielli.xultimate.util.performance.PerformanceMonitor;
 import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
@@ -16,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(locations = { "classpath:applicationContext-service-crypto.xml", "classpath:applicationContext-service-config.xml", "classpath:applicationContext-dao-base.xml", "classpath:primaryKey/applicationContext-dao-primaryKey.xml", "classpath:shard/applicationContext-dao-shard.xml", "classpath:shard/applicationContext-dao-generic.xml", "classpath*:shard/applicationContext-service-*.xml" })
@@ -24,6 +37,9 @@ public class ShardInfoGeneratorTest {
 	@Resource(name = "myBatisShardInfoGenerator")
 	private ShardInfoGenerator shardInfoGenerator;
 	
+	@Resource(name = "routingTableShardInfoGenerator")
+	private ShardInfoGenerator routingTableShardInfoGenerator;
+	
 	@Resource(name = "primaryKey1Incrementer")
 	private DataFieldMaxValueIncrementer dataFieldMaxValueIncrementer;
 	
@@ -58,4 +74,162 @@ public class ShardInfoGeneratorTest {
 		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
 		PerformanceMonitor.remove();
 	}
+	
+	@Test
+	public void testRoutingTable() {
+		for (long id = 1; id < 300; id++) {
+			Assert.assertEquals(shardInfoGenerator.createShardInfo("test", "test_table", id), routingTableShardInfoGenerator.createShardInfo("test", "test_table", id));
+		}
+		Assert.assertEquals(shardInfoGenerator.createShardInfos("test", "test_table"), routingTableShardInfoGenerator.createShardInfos("test", "test_table"));
+		
+		PerformanceMonitor.start("ShardInfoGeneratorTest");
+		for (int i = 0; i < 5; i++) {
+			for (long id = 1; id < 10000; id++) {
+				shardInfoGenerator.createShardInfo("test", "test_table", id % 300);
+			}
+			PerformanceMonitor.mark("myBatisShardInfoGenerator 10000 routes " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			for (long id = 1; id < 10000; id++) {
+				routingTableShardInfoGenerator.createShardInfo("test", "test_table", id % 300);
+			}
+			PerformanceMonitor.mark("routingTableShardInfoGenerator 10000 routes " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+	
+	@Test
+	public void testGroupByShardInfo() {
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1; id <= 500; id++) {
+			ids.add(id % 299 + 1);
+		}
+		Map<ShardInfo, List<Long>> shardInfoMap = shardInfoGenerator.groupByShardInfo("test", "test_table", ids);
+		Assert.assertEquals(shardInfoMap, routingTableShardInfoGenerator.groupByShardInfo("test", "test_table", ids));
+		int count = 0;
+		for (Map.Entry<ShardInfo, List<Long>> shardInfo : shardInfoMap.entrySet()) {
+			for (Long id : shardInfo.getValue()) {
+				Assert.assertEquals(shardInfo.getKey(), shardInfoGenerator.createShardInfo("test", "test_table", id));
+			}
+			count += shardInfo.getValue().size();
+		}
+		Assert.assertEquals(ids.size(), count);
+		
+		PerformanceMonitor.start("ShardInfoGeneratorTest");
+		for (int i = 0; i < 5; i++) {
+			for (Long id : ids) {
+				shardInfoGenerator.createShardInfo("test", "test_table", id);
+			}
+			PerformanceMonitor.mark("myBatisShardInfoGenerator " + ids.size() + " single routes " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			shardInfoGenerator.groupByShardInfo("test", "test_table", ids);
+			PerformanceMonitor.mark("myBatisShardInfoGenerator " + ids.size() + " batch routes " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+	
+	private static VirtualTableInterval createVirtualTableInterval(Long id, Long startInterval, Long endInterval) {
+		VirtualTableInterval virtualTableInterval = new VirtualTableInterval();
+		virtualTableInterval.setId(id);
+		virtualTableInterval.setVirtualTableId(1L);
+		virtualTableInterval.setStartInterval(startInterval);
+		virtualTableInterval.setEndInterval(endInterval);
+		virtualTableInterval.setHashValuesCount(2);
+		virtualTableInterval.setAvailable(true);
+		return virtualTableInterval;
+	}
+	
+	private static VirtualSocketBindRecord createVirtualSocketBindRecord(Long virtualTableIntervalId, Long virtualSocketId) {
+		VirtualSocketBindRecord virtualSocketBindRecord = new VirtualSocketBindRecord();
+		virtualSocketBindRecord.setVirtualTableIntervalId(virtualTableIntervalId);
+		virtualSocketBindRecord.setVirtualSocketId(virtualSocketId);
+		virtualSocketBindRecord.setHashValues(new Integer[] { 0, 1 });
+		return virtualSocketBindRecord;
+	}
+	
+	private static Map<String, Object> createPartitionedTableIntervalInfo(Long virtualSocketId, Long partitionedTableShardId, String virtualSocketAddress) {
+		Map<String, Object> partitionedTableIntervalInfo = new HashMap<>();
+		partitionedTableIntervalInfo.put("virtualSocketId", virtualSocketId);
+		partitionedTableIntervalInfo.put("partitionedTableStartInterval", 0L);
+		partitionedTableIntervalInfo.put("partitionedTableEndInterval", 300L);
+		partitionedTableIntervalInfo.put("partitionedTableShardId", partitionedTableShardId);
+		partitionedTableIntervalInfo.put("virtualSocketAddress", virtualSocketAddress);
+		return partitionedTableIntervalInfo;
+	}
+	
+	@Test
+	public void testTouchingIntervals() {
+		// 虚拟表区间[0, 100]与[100, 200]端点相同，区间值100按数据库中的顺序属于前一个区间。
+		final List<VirtualTableInterval> virtualTableIntervalList = Arrays.asList(createVirtualTableInterval(1L, 0L, 100L), createVirtualTableInterval(2L, 100L, 200L));
+		final List<VirtualSocketBindRecord> virtualSocketBindRecordList = Arrays.asList(createVirtualSocketBindRecord(1L, 10L), createVirtualSocketBindRecord(2L, 20L));
+		final List<Map<String, Object>> partitionedTableIntervalInfoList = Arrays.asList(createPartitionedTableIntervalInfo(10L, 1L, "socket10"), createPartitionedTableIntervalInfo(20L, 2L, "socket20"));
+		
+		VirtualTableIntervalBiz virtualTableIntervalBiz = new VirtualTableIntervalBiz() {
+			@Override
+			public List<VirtualTableInterval> findByVirtualTableId(Long virtualTableId) {
+				return virtualTableIntervalList;
+			}
+			
+			@Override
+			public void updateAvailableById(Long id, boolean available) {
+			}
+			
+			@Override
+			public List<VirtualTableInterval> findByVirtualDatabaseNameAndVirtualTableName(String virtualDatabaseName, String virtualTableName) {
+				return virtualTableIntervalList;
+			}
+		};
+		VirtualSocketBindRecordBiz virtualSocketBindRecordBiz = new VirtualSocketBindRecordBiz() {
+			@Override
+			public List<VirtualSocketBindRecord> findByVirtualTableIntervalIdList(List<Long> virtualTableIntervalIdList) {
+				List<VirtualSocketBindRecord> resultList = new ArrayList<>();
+				for (VirtualSocketBindRecord virtualSocketBindRecord : virtualSocketBindRecordList) {
+					if (virtualTableIntervalIdList.contains(virtualSocketBindRecord.getVirtualTableIntervalId())) {
+						resultList.add(virtualSocketBindRecord);
+					}
+				}
+				return resultList;
+			}
+		};
+		PartitionedTableIntervalBiz partitionedTableIntervalBiz = new PartitionedTableIntervalBiz() {
+			@Override
+			public List<Map<String, Object>> findInfosByVirtualTableIdAndVirtualSocketIdSet(Long virtualTableId, Set<Long> virtualSocketIdSet) {
+				List<Map<String, Object>> resultList = new ArrayList<>();
+				for (Map<String, Object> partitionedTableIntervalInfo : partitionedTableIntervalInfoList) {
+					if (virtualSocketIdSet.contains(partitionedTableIntervalInfo.get("virtualSocketId"))) {
+						resultList.add(partitionedTableIntervalInfo);
+					}
+				}
+				return resultList;
+			}
+		};
+		ShardInfoGenerator[] shardInfoGenerators = { new MyBatisShardInfoGenerator(), new RoutingTableShardInfoGenerator() };
+		for (ShardInfoGenerator generator : shardInfoGenerators) {
+			ReflectionTestUtils.setField(generator, "virtualTableIntervalBiz", virtualTableIntervalBiz);
+			ReflectionTestUtils.setField(generator, "virtualSocketBindRecordBiz", virtualSocketBindRecordBiz);
+			ReflectionTestUtils.setField(generator, "partitionedTableIntervalBiz", partitionedTableIntervalBiz);
+		}
+		
+		List<Long> ids = Arrays.asList(150L, 100L, 50L, 200L, 101L);
+		for (ShardInfoGenerator generator : shardInfoGenerators) {
+			Assert.assertEquals(Long.valueOf(1L), generator.createShardInfo("test", "test_table", 100L).getPartitionedTableShardId());
+			Assert.assertEquals(Long.valueOf(2L), generator.createShardInfo("test", "test_table", 101L).getPartitionedTableShardId());
+			Map<ShardInfo, List<Long>> shardInfoMap = generator.groupByShardInfo("test", "test_table", ids);
+			Assert.assertEquals(2, shardInfoMap.size());
+			int count = 0;
+			for (Map.Entry<ShardInfo, List<Long>> shardInfo : shardInfoMap.entrySet()) {
+				for (Long id : shardInfo.getValue()) {
+					Assert.assertEquals(generator.createShardInfo("test", "test_table", id), shardInfo.getKey());
+				}
+				count += shardInfo.getValue().size();
+			}
+			Assert.assertEquals(ids.size(), count);
+		}
+		Assert.assertEquals(shardInfoGenerators[0].groupByShardInfo("test", "test_table", ids), shardInfoGenerators[1].groupByShardInfo("test", "test_table", ids));
+	}
 }
@@ -0,0 +1,100 @@
+package org.danielli.xultimate.shard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.danielli.xultimate.jdbc.datasource.lookup.DataSourceContext;
+import org.danielli.xultimate.shard.dto.ShardInfo;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShardQueryExecutorTest {
+
+	private ShardQueryExecutor shardQueryExecutor;
+
+	private List<ShardInfo> shardInfoList;
+
+	@Before
+	public void before() throws Exception {
+		shardQueryExecutor = new ShardQueryExecutor();
+		shardQueryExecutor.setCorePoolSize(8);
+		shardQueryExecutor.setMaxPoolSize(8);
+		shardQueryExecutor.setTimeoutMillis(1000);
+		shardQueryExecutor.afterPropertiesSet();
+
+		shardInfoList = new ArrayList<>();
+		for (long shardId = 1; shardId <= 8; shardId++) {
+			ShardInfo shardInfo = new ShardInfo();
+			shardInfo.setVirtualSocketAddress("127.0.0.1:" + (3305 + shardId % 2));
+			shardInfo.setPartitionedTableShardId(shardId);
+			shardInfoList.add(shardInfo);
+		}
+	}
+
+	@After
+	public void after() throws Exception {
+		shardQueryExecutor.destroy();
+	}
+
+	@Test
+	public void testQuery() {
+		long startTime = System.currentTimeMillis();
+		List<Long> elements = shardQueryExecutor.query("test", shardInfoList, new ShardCallback<List<Long>>() {
+			@Override
+			public List<Long> doInShard(ShardInfo shardInfo) throws Exception {
+				Assert.assertEquals(shardInfo.getVirtualRoutingDataSourceKey("test"), DataSourceContext.currentLookupKey());
+				Thread.sleep(200);
+				return Arrays.asList(shardInfo.getPartitionedTableShardId() * 10, shardInfo.getPartitionedTableShardId());
+			}
+		});
+		// 8个Shard各耗时200毫秒，并行执行时总耗时接近单个Shard。
+		Assert.assertTrue(System.currentTimeMillis() - startTime < 800);
+		Assert.assertEquals(16, elements.size());
+		Assert.assertNull(DataSourceContext.currentLookupKey());
+
+		List<Long> sortedElements = ShardUtils.limit(ShardUtils.sort(elements, new Comparator<Long>() {
+			@Override
+			public int compare(Long o1, Long o2) {
+				return o1.compareTo(o2);
+			}
+		}), 0, 3);
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L), sortedElements);
+	}
+
+	@Test
+	public void testIgnoreFailure() {
+		ShardQueryResult<Long> result = shardQueryExecutor.execute("test", shardInfoList, new ShardCallback<Long>() {
+			@Override
+			public Long doInShard(ShardInfo shardInfo) throws Exception {
+				if (shardInfo.getPartitionedTableShardId() == 3) {
+					throw new IllegalStateException("Shard 3 is down");
+				}
+				if (shardInfo.getPartitionedTableShardId() == 5) {
+					Thread.sleep(5000);
+				}
+				return shardInfo.getPartitionedTableShardId();
+			}
+		}, 500, ShardQueryExecutor.FailurePolicy.IGNORE);
+		Assert.assertTrue(result.isPartial());
+		Assert.assertEquals(6, result.getResults().size());
+		Assert.assertEquals(2, result.getFailures().size());
+		Assert.assertTrue(result.getFailures().get(shardInfoList.get(2)) instanceof IllegalStateException);
+	}
+
+	@Test(expected = ShardQueryException.class)
+	public void testFailFast() {
+		shardQueryExecutor.execute("test", shardInfoList, new ShardCallback<Long>() {
+			@Override
+			public Long doInShard(ShardInfo shardInfo) throws Exception {
+				if (shardInfo.getPartitionedTableShardId() == 3) {
+					throw new IllegalStateException("Shard 3 is down");
+				}
+				return shardInfo.getPartitionedTableShardId();
+			}
+		});
+	}
+}
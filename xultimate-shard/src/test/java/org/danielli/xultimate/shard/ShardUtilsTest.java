@@ -0,0 +1,110 @@
+package org.danielli.xultimate.shard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardUtilsTest {
+
+	private static final Comparator<Long> COMPARATOR = new Comparator<Long>() {
+		@Override
+		public int compare(Long o1, Long o2) {
+			return o1.compareTo(o2);
+		}
+	};
+
+	private List<List<Long>> createSortedElementsList(int shardCount, int elementCount) {
+		Random random = new Random(1);
+		List<List<Long>> sortedElementsList = new ArrayList<>(shardCount);
+		for (int i = 0; i < shardCount; i++) {
+			List<Long> sortedElements = new ArrayList<>(elementCount);
+			for (int j = 0; j < elementCount; j++) {
+				sortedElements.add((long) random.nextInt(elementCount * shardCount));
+			}
+			Collections.sort(sortedElements);
+			sortedElementsList.add(sortedElements);
+		}
+		return sortedElementsList;
+	}
+
+	private List<Long> sortAndLimit(List<List<Long>> elementsList, int offset, int limit) {
+		List<Long> elements = new ArrayList<>();
+		for (List<Long> shardElements : elementsList) {
+			elements.addAll(shardElements);
+		}
+		return new ArrayList<>(ShardUtils.limit(ShardUtils.sort(elements, COMPARATOR), offset, limit));
+	}
+
+	@Test
+	public void testMerge() {
+		List<List<Long>> sortedElementsList = createSortedElementsList(16, 1000);
+		List<Iterator<Long>> sortedIterators = new ArrayList<>();
+		for (List<Long> sortedElements : sortedElementsList) {
+			sortedIterators.add(sortedElements.iterator());
+		}
+		sortedIterators.add(Collections.<Long>emptyList().iterator());
+		List<Long> mergedElements = new ArrayList<>();
+		for (Iterator<Long> mergeIterator = ShardUtils.merge(sortedIterators, COMPARATOR); mergeIterator.hasNext();) {
+			mergedElements.add(mergeIterator.next());
+		}
+		Assert.assertEquals(sortAndLimit(sortedElementsList, 0, Integer.MAX_VALUE / 2), mergedElements);
+
+		Assert.assertEquals(sortAndLimit(sortedElementsList, 0, 20), ShardUtils.mergeAndLimit(sortedElementsList, COMPARATOR, 0, 20));
+		Assert.assertEquals(sortAndLimit(sortedElementsList, 15990, 20), ShardUtils.mergeAndLimit(sortedElementsList, COMPARATOR, 15990, 20));
+		Assert.assertTrue(ShardUtils.mergeAndLimit(sortedElementsList, COMPARATOR, 16000, 20).isEmpty());
+		Assert.assertEquals(sortAndLimit(sortedElementsList, 100, Integer.MAX_VALUE / 2), ShardUtils.mergeAndLimit(sortedElementsList, COMPARATOR, 100, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testTop() {
+		List<List<Long>> elementsList = createSortedElementsList(16, 1000);
+		List<Long> elements = new ArrayList<>();
+		for (List<Long> shardElements : elementsList) {
+			elements.addAll(shardElements);
+		}
+		Collections.shuffle(elements, new Random(1));
+		Assert.assertEquals(sortAndLimit(elementsList, 0, 20), ShardUtils.top(elements, COMPARATOR, 0, 20));
+		Assert.assertEquals(sortAndLimit(elementsList, 100, 20), ShardUtils.top(elements, COMPARATOR, 100, 20));
+		Assert.assertEquals(sortAndLimit(elementsList, 15990, 20), ShardUtils.top(elements, COMPARATOR, 15990, 20));
+		Assert.assertTrue(ShardUtils.top(elements, COMPARATOR, 16000, 20).isEmpty());
+		// offset + limit超过Integer.MAX_VALUE时不能溢出。
+		Assert.assertEquals(sortAndLimit(elementsList, 100, Integer.MAX_VALUE / 2), ShardUtils.top(elements, COMPARATOR, 100, Integer.MAX_VALUE));
+		Assert.assertEquals(sortAndLimit(elementsList, 100, Integer.MAX_VALUE / 2), ShardUtils.top(elements, COMPARATOR, 100, Integer.MAX_VALUE - 50));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeOffset() {
+		ShardUtils.top(Arrays.asList(1L, 2L), COMPARATOR, -1, 20);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeLimit() {
+		ShardUtils.mergeAndLimit(createSortedElementsList(2, 10), COMPARATOR, 0, -1);
+	}
+
+	@Test
+	public void testPerformance() {
+		List<List<Long>> sortedElementsList = createSortedElementsList(64, 10000);
+		PerformanceMonitor.start("ShardUtilsTest");
+		for (int i = 0; i < 5; i++) {
+			sortAndLimit(sortedElementsList, 1000, 20);
+			PerformanceMonitor.mark("sort + limit " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			ShardUtils.mergeAndLimit(sortedElementsList, COMPARATOR, 1000, 20);
+			PerformanceMonitor.mark("mergeAndLimit " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+}
@@ -0,0 +1,246 @@
+package org.danielli.xultimate.shard.aggregate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.danielli.xultimate.shard.Filter;
+import org.danielli.xultimate.shard.Operator;
+import org.danielli.xultimate.shard.ShardUtils;
+import org.danielli.xultimate.util.performance.PerformanceMonitor;
+import org.danielli.xultimate.util.time.stopwatch.support.AdvancedStopWatchSummary;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardAggregatorTest {
+
+	/**
+	 * 模拟 SELECT type, COUNT(*), SUM(amount), MIN(amount), MAX(amount) FROM ... GROUP BY type 的部分结果。
+	 */
+	private static class PartialResult {
+
+		private final String type;
+
+		private final Long count;
+
+		private final BigDecimal sum;
+
+		private final Integer min;
+
+		private final Integer max;
+
+		PartialResult(String type, Long count, BigDecimal sum, Integer min, Integer max) {
+			this.type = type;
+			this.count = count;
+			this.sum = sum;
+			this.min = min;
+			this.max = max;
+		}
+	}
+
+	private ShardAggregator<PartialResult, String> createShardAggregator() {
+		ShardAggregator<PartialResult, String> shardAggregator = new ShardAggregator<>(new Filter<PartialResult, String>() {
+			@Override
+			public String doFilter(PartialResult source) {
+				return source.type;
+			}
+		});
+		shardAggregator.aggregate(AggregateFunction.COUNT, new Filter<PartialResult, Long>() {
+			@Override
+			public Long doFilter(PartialResult source) {
+				return source.count;
+			}
+		});
+		shardAggregator.aggregate(AggregateFunction.SUM, new Filter<PartialResult, BigDecimal>() {
+			@Override
+			public BigDecimal doFilter(PartialResult source) {
+				return source.sum;
+			}
+		});
+		shardAggregator.aggregate(AggregateFunction.MIN, new Filter<PartialResult, Integer>() {
+			@Override
+			public Integer doFilter(PartialResult source) {
+				return source.min;
+			}
+		});
+		shardAggregator.aggregate(AggregateFunction.MAX, new Filter<PartialResult, Integer>() {
+			@Override
+			public Integer doFilter(PartialResult source) {
+				return source.max;
+			}
+		});
+		shardAggregator.avg(new Filter<PartialResult, BigDecimal>() {
+			@Override
+			public BigDecimal doFilter(PartialResult source) {
+				return source.sum;
+			}
+		}, new Filter<PartialResult, Long>() {
+			@Override
+			public Long doFilter(PartialResult source) {
+				return source.count;
+			}
+		});
+		return shardAggregator;
+	}
+
+	@Test
+	public void testAggregate() {
+		Random random = new Random(1);
+		ShardAggregator<PartialResult, String> shardAggregator = createShardAggregator();
+		Map<String, long[]> expectedMap = new HashMap<>();
+		for (int shard = 0; shard < 16; shard++) {
+			// 每个Shard先在本地做部分聚合。
+			Map<String, long[]> partialMap = new HashMap<>();
+			for (int i = 0; i < 1000; i++) {
+				String type = "type" + random.nextInt(10);
+				int amount = random.nextInt(10000) - 5000;
+				accumulate(partialMap, type, 1, amount, amount, amount);
+			}
+			List<PartialResult> partialResults = new ArrayList<>();
+			for (Map.Entry<String, long[]> entry : partialMap.entrySet()) {
+				long[] partial = entry.getValue();
+				partialResults.add(new PartialResult(entry.getKey(), partial[0], BigDecimal.valueOf(partial[1]), (int) partial[2], (int) partial[3]));
+				accumulate(expectedMap, entry.getKey(), partial[0], partial[1], partial[2], partial[3]);
+			}
+			shardAggregator.addAll(partialResults);
+		}
+		// 某个Shard中该分组没有数据。
+		shardAggregator.add(new PartialResult("type0", 0L, null, null, null));
+
+		Assert.assertEquals(expectedMap.size(), shardAggregator.size());
+		for (AggregateResult<String> aggregateResult : shardAggregator.getResults()) {
+			long[] expected = expectedMap.get(aggregateResult.getGroupKey());
+			Assert.assertEquals(expected[0], aggregateResult.getValue(0));
+			Assert.assertEquals(expected[1], aggregateResult.getValue(1));
+			Assert.assertEquals(expected[2], aggregateResult.getValue(2));
+			Assert.assertEquals(expected[3], aggregateResult.getValue(3));
+			Assert.assertEquals((double) expected[1] / expected[0], aggregateResult.getDoubleValue(4), 0.000001);
+		}
+	}
+
+	@Test
+	public void testPromoteToDouble() {
+		ShardAggregator<Number, String> shardAggregator = new ShardAggregator<>(new Filter<Number, String>() {
+			@Override
+			public String doFilter(Number source) {
+				return "all";
+			}
+		});
+		Filter<Number, Number> valueFilter = new Filter<Number, Number>() {
+			@Override
+			public Number doFilter(Number source) {
+				return source;
+			}
+		};
+		shardAggregator.aggregate(AggregateFunction.SUM, valueFilter);
+		shardAggregator.aggregate(AggregateFunction.MAX, valueFilter);
+		shardAggregator.add(Long.MAX_VALUE);
+		shardAggregator.add(1L);
+		shardAggregator.add(new BigDecimal("0.5"));
+		AggregateResult<String> aggregateResult = shardAggregator.getResults().get(0);
+		Assert.assertTrue(aggregateResult.getValue(0) instanceof Double);
+		Assert.assertEquals(Long.MAX_VALUE, aggregateResult.getValue(1));
+	}
+
+	@Test
+	public void testDecimal() {
+		ShardAggregator<Number, String> shardAggregator = new ShardAggregator<>(new Filter<Number, String>() {
+			@Override
+			public String doFilter(Number source) {
+				return "all";
+			}
+		});
+		Filter<Number, Number> valueFilter = new Filter<Number, Number>() {
+			@Override
+			public Number doFilter(Number source) {
+				return source;
+			}
+		};
+		shardAggregator.aggregate(AggregateFunction.SUM, valueFilter);
+		shardAggregator.aggregate(AggregateFunction.MIN, valueFilter);
+		shardAggregator.aggregate(AggregateFunction.MAX, valueFilter);
+		// 带小数的BigDecimal精确累加，不会出现0.1累加的误差。
+		shardAggregator.add(1L);
+		for (int i = 0; i < 10; i++) {
+			shardAggregator.add(new BigDecimal("0.1"));
+		}
+		shardAggregator.add(new BigDecimal("-0.25"));
+		AggregateResult<String> aggregateResult = shardAggregator.getResults().get(0);
+		Assert.assertEquals(new BigDecimal("1.75"), aggregateResult.getValue(0));
+		Assert.assertEquals(new BigDecimal("-0.25"), aggregateResult.getValue(1));
+		Assert.assertEquals(1L, aggregateResult.getValue(2));
+
+		// 出现浮点数时转为double。
+		shardAggregator.add(0.5D);
+		aggregateResult = shardAggregator.getResults().get(0);
+		Assert.assertEquals(2.25D, aggregateResult.getValue(0));
+	}
+
+	@Test
+	public void testPerformance() {
+		Random random = new Random(1);
+		List<Long[]> partialResults = new ArrayList<>();
+		for (int i = 0; i < 1000000; i++) {
+			partialResults.add(new Long[] { (long) random.nextInt(1000), 1L, (long) random.nextInt(10000) });
+		}
+		Filter<Long[], Long> groupKeyFilter = new Filter<Long[], Long>() {
+			@Override
+			public Long doFilter(Long[] source) {
+				return source[0];
+			}
+		};
+
+		PerformanceMonitor.start("ShardAggregatorTest");
+		for (int i = 0; i < 5; i++) {
+			List<Long[]> copiedPartialResults = new ArrayList<>(partialResults.size());
+			for (Long[] partialResult : partialResults) {
+				copiedPartialResults.add(partialResult.clone());
+			}
+			ShardUtils.sumOrCountOrAvg(copiedPartialResults, groupKeyFilter, new Operator<Long[]>() {
+				@Override
+				public Long[] operate(Long[] source, Long[] target) {
+					source[1] = source[1] + target[1];
+					source[2] = source[2] + target[2];
+					return source;
+				}
+			});
+			PerformanceMonitor.mark("sumOrCountOrAvg " + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			ShardAggregator<Long[], Long> shardAggregator = new ShardAggregator<>(groupKeyFilter);
+			shardAggregator.aggregate(AggregateFunction.COUNT, new Filter<Long[], Long>() {
+				@Override
+				public Long doFilter(Long[] source) {
+					return source[1];
+				}
+			});
+			shardAggregator.aggregate(AggregateFunction.SUM, new Filter<Long[], Long>() {
+				@Override
+				public Long doFilter(Long[] source) {
+					return source[2];
+				}
+			});
+			shardAggregator.addAll(partialResults);
+			Assert.assertEquals(1000, shardAggregator.getResults().size());
+			PerformanceMonitor.mark("ShardAggregator " + i);
+		}
+		PerformanceMonitor.stop();
+		PerformanceMonitor.summarize(new AdvancedStopWatchSummary(true));
+		PerformanceMonitor.remove();
+	}
+
+	private static void accumulate(Map<String, long[]> map, String type, long count, long sum, long min, long max) {
+		long[] values = map.get(type);
+		if (values == null) {
+			map.put(type, new long[] { count, sum, min, max });
+		} else {
+			values[0] += count;
+			values[1] += sum;
+			values[2] = Math.min(values[2], min);
+			values[3] = Math.max(values[3], max);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package org.danielli.xultimate.web.context.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 可配置压缩级别的Gzip输出流。开启syncFlush后，{@link #flush()}会输出当前已压缩的数据，适用于流式响应。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class ConfigurableGZIPOutputStream extends GZIPOutputStream {
+
+	/**
+	 * 创建实例。
+	 * 
+	 * @param outputStream 输出流。
+	 * @param bufferSize 缓冲区大小。
+	 * @param compressionLevel 压缩级别，取值范围0-9，-1为默认级别。
+	 * @param syncFlush 是否在flush时输出已压缩的数据。
+	 */
+	public ConfigurableGZIPOutputStream(OutputStream outputStream, int bufferSize, int compressionLevel, boolean syncFlush) throws IOException {
+		super(outputStream, bufferSize, syncFlush);
+		def.setLevel(compressionLevel);
+	}
+}
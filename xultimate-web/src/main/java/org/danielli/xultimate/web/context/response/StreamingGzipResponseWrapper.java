@@ -0,0 +1,326 @@
+package org.danielli.xultimate.web.context.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.danielli.xultimate.web.util.WebUtils;
+
+/**
+ * 流式Gzip响应包装器。响应内容先写入大小为minCompressSize的缓冲区，超过后根据状态码、Content-Type、Content-Length决定是否压缩，
+ * 之后边写边压缩直接输出到原始响应，不再缓存整个响应；响应结束时仍未超过minCompressSize的内容不压缩，原样输出。
+ * <p>
+ * 未超过minCompressSize前调用flush不会提交响应。
+ *
+ * @author Daniel Li
+ * @since 16 Oct 2026
+ */
+public class StreamingGzipResponseWrapper extends HttpServletResponseWrapper {
+	
+	private static final String CONTENT_LENGTH = "Content-Length";
+	
+	/** 最小压缩大小 */
+	private final int minCompressSize;
+	/** 压缩级别 */
+	private final int compressionLevel;
+	/** 压缩缓冲区大小 */
+	private final int bufferSize;
+	/** 是否设置Vary头 */
+	private final boolean setVaryHeader;
+	/** 不压缩的Content-Type前缀 */
+	private final String[] excludedContentTypes;
+	
+	private int statusCode = SC_OK;
+	/** 应用设置的Content-Length，-1表示未设置 */
+	private long contentLength = -1;
+	
+	private StreamingGzipResponseStream servletOutputStream;
+	private PrintWriter printWriter;
+
+	public StreamingGzipResponseWrapper(HttpServletResponse response, int minCompressSize, int compressionLevel, int bufferSize, boolean setVaryHeader, String[] excludedContentTypes) {
+		super(response);
+		this.minCompressSize = minCompressSize;
+		this.compressionLevel = compressionLevel;
+		this.bufferSize = bufferSize;
+		this.setVaryHeader = setVaryHeader;
+		this.excludedContentTypes = excludedContentTypes;
+	}
+	
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (servletOutputStream == null) {
+			servletOutputStream = new StreamingGzipResponseStream();
+		}
+		return servletOutputStream;
+	}
+	
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (printWriter == null) {
+			printWriter = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+		}
+		return printWriter;
+	}
+	
+	@Override
+	public void setContentLength(int len) {
+		setContentLengthLong(len);
+	}
+	
+	@Override
+	public void setContentLengthLong(long len) {
+		if (servletOutputStream != null && servletOutputStream.isDecided()) {
+			if (!servletOutputStream.isCompressing()) {
+				super.setContentLengthLong(len);
+			}
+		} else {
+			this.contentLength = len;
+		}
+	}
+	
+	@Override
+	public void setHeader(String name, String value) {
+		if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(Long.parseLong(value));
+		} else {
+			super.setHeader(name, value);
+		}
+	}
+	
+	@Override
+	public void addHeader(String name, String value) {
+		if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(Long.parseLong(value));
+		} else {
+			super.addHeader(name, value);
+		}
+	}
+	
+	@Override
+	public void setIntHeader(String name, int value) {
+		if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(value);
+		} else {
+			super.setIntHeader(name, value);
+		}
+	}
+	
+	@Override
+	public void addIntHeader(String name, int value) {
+		if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(value);
+		} else {
+			super.addIntHeader(name, value);
+		}
+	}
+	
+	@Override
+	public void setStatus(int code) {
+		statusCode = code;
+		super.setStatus(code);
+	}
+	
+	@Override
+	public int getStatus() {
+		return statusCode;
+	}
+	
+	@Override
+	public void sendError(int sc) throws IOException {
+		statusCode = sc;
+		super.sendError(sc);
+	}
+	
+	@Override
+	public void sendError(int sc, String msg) throws IOException {
+		statusCode = sc;
+		super.sendError(sc, msg);
+	}
+	
+	@Override
+	public void sendRedirect(String location) throws IOException {
+		statusCode = SC_MOVED_TEMPORARILY;
+		super.sendRedirect(location);
+	}
+	
+	@Override
+	public void reset() {
+		super.reset();
+		statusCode = SC_OK;
+		contentLength = -1;
+		if (servletOutputStream != null) {
+			servletOutputStream.resetBuffer();
+		}
+	}
+	
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		if (servletOutputStream != null) {
+			servletOutputStream.resetBuffer();
+		}
+	}
+	
+	@Override
+	public void flushBuffer() throws IOException {
+		if (printWriter != null) {
+			printWriter.flush();
+		}
+		if (servletOutputStream != null) {
+			servletOutputStream.flush();
+		}
+	}
+	
+	/**
+	 * 结束响应，输出缓冲区中剩余的内容并完成压缩。
+	 */
+	public void finish() throws IOException {
+		if (printWriter != null) {
+			printWriter.flush();
+		}
+		if (servletOutputStream != null) {
+			servletOutputStream.finish();
+		}
+	}
+	
+	/**
+	 * 是否压缩当前响应。
+	 */
+	protected boolean isCompressible() {
+		if (statusCode != SC_OK || (contentLength >= 0 && contentLength < minCompressSize) || containsHeader(WebUtils.CONTENT_ENCODING)) {
+			return false;
+		}
+		String contentType = getContentType();
+		if (contentType != null && excludedContentTypes != null) {
+			for (String excludedContentType : excludedContentTypes) {
+				if (contentType.regionMatches(true, 0, excludedContentType, 0, excludedContentType.length())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * 流式Gzip响应流。
+	 *
+	 * @author Daniel Li
+	 * @since 16 Oct 2026
+	 */
+	private class StreamingGzipResponseStream extends ServletOutputStream {
+		
+		/** 决定是否压缩前的缓冲区 */
+		private byte[] buffer = new byte[minCompressSize];
+		private int count = 0;
+		/** 决定是否压缩后的目标输出流 */
+		private OutputStream outputStream;
+		private boolean compressing;
+		private boolean finished;
+		
+		boolean isDecided() {
+			return outputStream != null;
+		}
+		
+		boolean isCompressing() {
+			return compressing;
+		}
+		
+		void resetBuffer() {
+			count = 0;
+		}
+		
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (finished) {
+				throw new IOException("Response has been finished");
+			}
+			if (outputStream == null) {
+				if (contentLength >= 0 && contentLength < minCompressSize) {
+					decide(false, false);
+				} else if (count + len <= buffer.length) {
+					System.arraycopy(b, off, buffer, count, len);
+					count += len;
+					return;
+				} else {
+					decide(isCompressible(), false);
+				}
+			}
+			outputStream.write(b, off, len);
+		}
+		
+		@Override
+		public void flush() throws IOException {
+			if (outputStream != null) {
+				outputStream.flush();
+			}
+		}
+		
+		@Override
+		public void close() throws IOException {
+			finish();
+		}
+		
+		void finish() throws IOException {
+			if (finished) {
+				return;
+			}
+			if (outputStream == null) {
+				decide(false, true);
+			}
+			finished = true;
+			if (compressing) {
+				((ConfigurableGZIPOutputStream) outputStream).finish();
+			}
+			outputStream.flush();
+		}
+		
+		/**
+		 * 决定是否压缩并输出缓冲区中的内容。
+		 * @param compress 是否压缩。
+		 * @param complete 缓冲区中是否为全部内容。
+		 */
+		private void decide(boolean compress, boolean complete) throws IOException {
+			HttpServletResponse response = (HttpServletResponse) getResponse();
+			if (compress) {
+				WebUtils.addHeader(response, WebUtils.CONTENT_ENCODING, "gzip");
+				if (setVaryHeader) {
+					WebUtils.addHeader(response, WebUtils.VARY, WebUtils.ACCEPT_ENCODING);
+				}
+				outputStream = new ConfigurableGZIPOutputStream(response.getOutputStream(), bufferSize, compressionLevel, true);
+			} else {
+				if (contentLength >= 0) {
+					response.setContentLengthLong(contentLength);
+				} else if (complete) {
+					response.setContentLength(count);
+				}
+				outputStream = response.getOutputStream();
+			}
+			compressing = compress;
+			if (count > 0) {
+				outputStream.write(buffer, 0, count);
+				count = 0;
+			}
+			buffer = null;
+		}
+		
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+		
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+	}
+}
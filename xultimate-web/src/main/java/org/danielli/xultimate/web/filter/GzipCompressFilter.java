@@ -3,6 +3,7 @@ package org.danielli.xultimate.web.filter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.FilterChain;
@@ -13,12 +14,15 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.danielli.xultimate.util.StringUtils;
+import org.danielli.xultimate.web.context.response.ConfigurableGZIPOutputStream;
 import org.danielli.xultimate.web.context.response.GzipResponseWrapper;
+import org.danielli.xultimate.web.context.response.StreamingGzipResponseWrapper;
 import org.danielli.xultimate.web.util.WebUtils;
 import org.springframework.web.filter.GenericFilterBean;
 
 /**
- * Gzip压缩过滤器。
+ * Gzip压缩过滤器。默认缓存整个响应后压缩输出；开启streaming后边写边压缩，
+ * 小于minCompressSize的响应和excludedContentTypes中的类型不压缩，见{@link StreamingGzipResponseWrapper}。
  * 
  * @author Daniel Li
  * @since 15 Jun 2013
@@ -30,6 +34,21 @@ public class GzipCompressFilter extends GenericFilterBean {
 	private Boolean isGzipEnabled = true;
 
     private boolean setVaryHeader;
+    
+    /** 是否流式压缩 */
+    private boolean streaming = false;
+    
+    /** 流式压缩时的最小压缩大小 */
+    private int minCompressSize = 1024;
+    
+    /** 压缩级别 */
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    
+    /** 压缩缓冲区大小 */
+    private int bufferSize = 8192;
+    
+    /** 流式压缩时不压缩的Content-Type前缀 */
+    private String[] excludedContentTypes = { "image/", "video/", "audio/", "application/zip", "application/gzip", "application/x-gzip", "application/x-compress", "application/x-rar-compressed", "application/x-7z-compressed", "application/pdf", "application/octet-stream" };
 
 	public void setIsGzipEnabled(Boolean isGzipEnabled) {
 		this.isGzipEnabled = isGzipEnabled;
@@ -39,12 +58,47 @@ public class GzipCompressFilter extends GenericFilterBean {
 		this.setVaryHeader = setVaryHeader;
 	}
 	
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+	
+	public void setMinCompressSize(int minCompressSize) {
+		this.minCompressSize = minCompressSize;
+	}
+	
+	/**
+	 * 设置压缩级别，取值范围0-9，-1为默认级别。
+	 */
+	public void setCompressionLevel(int compressionLevel) {
+		this.compressionLevel = compressionLevel;
+	}
+	
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+	
+	/**
+	 * 设置不压缩的Content-Type前缀，多个以逗号分隔。
+	 */
+	public void setExcludedContentTypes(String excludedContentTypes) {
+		String[] contentTypes = StringUtils.split(excludedContentTypes, ",");
+		for (int i = 0; i < contentTypes.length; i++) {
+			contentTypes[i] = StringUtils.trim(contentTypes[i]);
+		}
+		this.excludedContentTypes = contentTypes;
+	}
+	
 	public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain) throws IOException, ServletException {
 		HttpServletRequest request = (HttpServletRequest) servletRequest;
 		HttpServletResponse response = (HttpServletResponse) servletResponse;
-		if (isGzipEnabled && !isIncluded(request) && acceptsGzipEncoding(request) && !response.isCommitted()) {
+		boolean compressible = isGzipEnabled && !isIncluded(request) && acceptsGzipEncoding(request) && !response.isCommitted();
+		if (compressible && streaming) {
+			StreamingGzipResponseWrapper streamingGzipResponseWrapper = new StreamingGzipResponseWrapper(response, minCompressSize, compressionLevel, bufferSize, setVaryHeader, excludedContentTypes);
+			chain.doFilter(request, streamingGzipResponseWrapper);
+			streamingGzipResponseWrapper.finish();
+		} else if (compressible) {
 			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            GZIPOutputStream gZIPOutputStream = new GZIPOutputStream(byteArrayOutputStream);
+            GZIPOutputStream gZIPOutputStream = new ConfigurableGZIPOutputStream(byteArrayOutputStream, bufferSize, compressionLevel, false);
             GzipResponseWrapper gzipResponseWrapper = new GzipResponseWrapper(response, gZIPOutputStream);
             chain.doFilter(request, gzipResponseWrapper);
             gzipResponseWrapper.flush();
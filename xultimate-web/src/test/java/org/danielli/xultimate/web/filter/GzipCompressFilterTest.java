@@ -0,0 +1,137 @@
+package org.danielli.xultimate.web.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.danielli.xultimate.util.StringUtils;
+import org.danielli.xultimate.web.util.WebUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class GzipCompressFilterTest {
+
+	/**
+	 * 支持Servlet 3.1的{@code setContentLengthLong}。
+	 */
+	private static class LongContentLengthResponse extends MockHttpServletResponse {
+		@Override
+		public void setContentLengthLong(long len) {
+			setContentLength((int) len);
+		}
+	}
+
+	private static byte[] createContent(int length) {
+		byte[] source = StringUtils.getBytesUtf8("daniellitoc ");
+		byte[] content = new byte[length];
+		for (int i = 0; i < length; i++) {
+			content[i] = source[i % source.length];
+		}
+		return content;
+	}
+
+	private static byte[] gunzip(byte[] content) throws IOException {
+		GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(content));
+		try {
+			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int count;
+			while ((count = gzipInputStream.read(buffer)) != -1) {
+				byteArrayOutputStream.write(buffer, 0, count);
+			}
+			return byteArrayOutputStream.toByteArray();
+		} finally {
+			gzipInputStream.close();
+		}
+	}
+
+	private static GzipCompressFilter createFilter(boolean streaming) {
+		GzipCompressFilter filter = new GzipCompressFilter();
+		filter.setStreaming(streaming);
+		filter.setMinCompressSize(1024);
+		filter.setSetVaryHeader(true);
+		return filter;
+	}
+
+	/**
+	 * 以512字节为单位写入内容。
+	 */
+	private static MockHttpServletResponse doFilter(GzipCompressFilter filter, final String contentType, final byte[] content, final boolean setContentLength) throws IOException, ServletException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(WebUtils.ACCEPT_ENCODING, "gzip, deflate");
+		MockHttpServletResponse response = new LongContentLengthResponse();
+		filter.doFilter(request, response, new FilterChain() {
+			@Override
+			public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+				response.setContentType(contentType);
+				if (setContentLength) {
+					response.setContentLength(content.length);
+				}
+				ServletOutputStream outputStream = response.getOutputStream();
+				outputStream.setWriteListener(null);
+				for (int i = 0; i < content.length; i += 512) {
+					outputStream.write(content, i, Math.min(512, content.length - i));
+				}
+			}
+		});
+		return response;
+	}
+
+	@Test
+	public void testSmallResponse() throws Exception {
+		// 小于minCompressSize的响应原样输出，结束时设置Content-Length。
+		byte[] content = createContent(1000);
+		for (boolean setContentLength : new boolean[] { false, true }) {
+			MockHttpServletResponse response = doFilter(createFilter(true), "text/html", content, setContentLength);
+			Assert.assertNull(response.getHeader(WebUtils.CONTENT_ENCODING));
+			Assert.assertEquals(content.length, response.getContentLength());
+			Assert.assertArrayEquals(content, response.getContentAsByteArray());
+		}
+	}
+
+	@Test
+	public void testExcludedContentType() throws Exception {
+		byte[] content = createContent(4096);
+		for (boolean setContentLength : new boolean[] { false, true }) {
+			MockHttpServletResponse response = doFilter(createFilter(true), "image/png", content, setContentLength);
+			Assert.assertNull(response.getHeader(WebUtils.CONTENT_ENCODING));
+			Assert.assertEquals(setContentLength ? content.length : 0, response.getContentLength());
+			Assert.assertArrayEquals(content, response.getContentAsByteArray());
+		}
+	}
+
+	@Test
+	public void testCompress() throws Exception {
+		// 压缩时丢弃应用设置的Content-Length。
+		byte[] content = createContent(100000);
+		for (boolean setContentLength : new boolean[] { false, true }) {
+			MockHttpServletResponse response = doFilter(createFilter(true), "text/html;charset=UTF-8", content, setContentLength);
+			Assert.assertEquals("gzip", response.getHeader(WebUtils.CONTENT_ENCODING));
+			Assert.assertEquals(WebUtils.ACCEPT_ENCODING, response.getHeader(WebUtils.VARY));
+			Assert.assertNull(response.getHeader("Content-Length"));
+			byte[] compressedContent = response.getContentAsByteArray();
+			Assert.assertTrue(compressedContent.length < content.length);
+			Assert.assertArrayEquals(content, gunzip(compressedContent));
+		}
+	}
+
+	@Test
+	public void testStreamingAndBuffered() throws Exception {
+		byte[] content = createContent(100000);
+		MockHttpServletResponse bufferedResponse = doFilter(createFilter(false), "text/html", content, false);
+		Assert.assertEquals("gzip", bufferedResponse.getHeader(WebUtils.CONTENT_ENCODING));
+		Assert.assertEquals(bufferedResponse.getContentAsByteArray().length, bufferedResponse.getContentLength());
+		MockHttpServletResponse streamingResponse = doFilter(createFilter(true), "text/html", content, false);
+		Assert.assertEquals("gzip", streamingResponse.getHeader(WebUtils.CONTENT_ENCODING));
+		Assert.assertArrayEquals(gunzip(bufferedResponse.getContentAsByteArray()), gunzip(streamingResponse.getContentAsByteArray()));
+	}
+}